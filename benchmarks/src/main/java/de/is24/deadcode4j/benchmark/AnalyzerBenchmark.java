@@ -0,0 +1,80 @@
+package de.is24.deadcode4j.benchmark;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalyzedCode;
+import de.is24.deadcode4j.Analyzer;
+import de.is24.deadcode4j.IntermediateResult;
+import de.is24.deadcode4j.analyzer.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Measures how many times per second an analyzer processes all relevant files of a {@link SyntheticCorpus}.
+ * Each invocation uses a fresh <code>AnalysisContext</code>, i.e. it includes setting up the per-module caches, just
+ * like the analysis of a module does.
+ *
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+public class AnalyzerBenchmark {
+
+    @Param({"1000"})
+    public int numberOfClasses;
+    @Param({"ClassDependencyAnalyzer", "CustomAnnotationsAnalyzer", "ReferenceToConstantsAnalyzer",
+            "TypeErasureAnalyzer", "JavaFileDispatcher", "SpringXmlAnalyzer", "WebXmlAnalyzer"})
+    public String analyzerName;
+    private SyntheticCorpus corpus;
+    private Analyzer analyzer;
+    private List<File> files;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        corpus = SyntheticCorpus.create(numberOfClasses);
+        if ("ClassDependencyAnalyzer".equals(analyzerName)) {
+            analyzer = new ClassDependencyAnalyzer();
+            files = corpus.getClassFiles();
+        } else if ("CustomAnnotationsAnalyzer".equals(analyzerName)) {
+            analyzer = new CustomAnnotationsAnalyzer(asList(SyntheticCorpus.MARKER_ANNOTATION));
+            files = corpus.getClassFiles();
+        } else if ("ReferenceToConstantsAnalyzer".equals(analyzerName)) {
+            analyzer = new ReferenceToConstantsAnalyzer();
+            files = corpus.getJavaFiles();
+        } else if ("TypeErasureAnalyzer".equals(analyzerName)) {
+            analyzer = new TypeErasureAnalyzer();
+            files = corpus.getJavaFiles();
+        } else if ("JavaFileDispatcher".equals(analyzerName)) {
+            analyzer = new JavaFileDispatcher(asList(new ReferenceToConstantsAnalyzer(), new TypeErasureAnalyzer()));
+            files = corpus.getJavaFiles();
+        } else if ("SpringXmlAnalyzer".equals(analyzerName)) {
+            analyzer = new SpringXmlAnalyzer();
+            files = corpus.getXmlFiles();
+        } else if ("WebXmlAnalyzer".equals(analyzerName)) {
+            analyzer = new WebXmlAnalyzer();
+            files = corpus.getXmlFiles();
+        } else {
+            throw new IllegalArgumentException("Unknown analyzer [" + analyzerName + "]!");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        corpus.delete();
+    }
+
+    @Benchmark
+    public AnalyzedCode analyzeCorpus() {
+        AnalysisContext analysisContext = new AnalysisContext(corpus.getModule(),
+                Collections.<Object, IntermediateResult>emptyMap());
+        for (File file : files) {
+            analyzer.doAnalysis(analysisContext, file);
+        }
+        analyzer.finishAnalysis(analysisContext);
+        return analysisContext.getAnalyzedCode();
+    }
+
+}
@@ -0,0 +1,45 @@
+package de.is24.deadcode4j.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs all deadcode4j benchmarks, reporting the throughput (ops/s) as well as the allocation rate as measured by the
+ * GC profiler (<code>gc.alloc.rate</code> & <code>gc.alloc.rate.norm</code>).<br/>
+ * Any JMH command line option can be passed to override the defaults, e.g. <code>-p numberOfClasses=5000</code> or a
+ * regular expression selecting the benchmarks to run.
+ *
+ * @since 2.2.0
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            optionsBuilder.include(Benchmarks.class.getPackage().getName() + ".*");
+        }
+        Options options = optionsBuilder
+                .parent(commandLineOptions)
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,62 @@
+package de.is24.deadcode4j.benchmark;
+
+import de.is24.deadcode4j.AnalysisStage;
+import de.is24.deadcode4j.AnalyzedCode;
+import de.is24.deadcode4j.DeadCode;
+import de.is24.deadcode4j.DeadCodeComputer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * Measures the computation of dead code for a random dependency graph, both by reference counting and by
+ * reachability analysis.
+ *
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+public class DeadCodeComputerBenchmark {
+
+    @Param({"100000"})
+    public int numberOfClasses;
+    @Param({"5"})
+    public int dependenciesPerClass;
+    @Param({"false", "true"})
+    public boolean computeReachability;
+    private DeadCodeComputer deadCodeComputer;
+    private AnalyzedCode analyzedCode;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(numberOfClasses);
+        Set<String> analyzedClasses = newHashSet();
+        Map<String, Set<String>> codeDependencies = newHashMap();
+        for (int i = 0; i < numberOfClasses; i++) {
+            analyzedClasses.add("Class" + i);
+            Set<String> dependees = newHashSet();
+            for (int j = 0; j < dependenciesPerClass; j++) {
+                dependees.add("Class" + random.nextInt(numberOfClasses));
+            }
+            codeDependencies.put("Class" + i, dependees);
+        }
+        Set<String> roots = newHashSet();
+        for (int i = 0; i < numberOfClasses / 100; i++) {
+            roots.add("Class" + random.nextInt(numberOfClasses));
+        }
+        codeDependencies.put("_Spring-XML_", roots);
+        deadCodeComputer = new DeadCodeComputer(computeReachability);
+        analyzedCode = new AnalyzedCode(EnumSet.noneOf(AnalysisStage.class), analyzedClasses, codeDependencies);
+    }
+
+    @Benchmark
+    public DeadCode computeDeadCode() {
+        return deadCodeComputer.computeDeadCode(analyzedCode);
+    }
+
+}
@@ -0,0 +1,64 @@
+package de.is24.deadcode4j.benchmark;
+
+import de.is24.deadcode4j.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.IntermediateResults.resultSetFor;
+
+/**
+ * Measures the merging of intermediate results for a reactor shaped like a chain of diamonds: each level consists of
+ * two modules depending on both modules of the previous level.
+ *
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+public class IntermediateResultsBenchmark {
+    private static final String KEY = "benchmark";
+
+    @Param({"16", "64"})
+    public int numberOfLevels;
+    @Param({"100"})
+    public int resultsPerModule;
+    private List<Module> modules;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        modules = newArrayList();
+        List<Resource> previousLevel = Collections.emptyList();
+        for (int level = 0; level < numberOfLevels; level++) {
+            List<Resource> currentLevel = newArrayList();
+            for (String side : new String[]{"left", "right"}) {
+                Module module = new Module("level" + level + "-" + side, "UTF-8", previousLevel, null,
+                        Collections.<Repository>emptyList());
+                modules.add(module);
+                currentLevel.add(Resource.of(module));
+            }
+            previousLevel = currentLevel;
+        }
+    }
+
+    @Benchmark
+    public IntermediateResults addAndCalculateResults() {
+        IntermediateResults intermediateResults = new IntermediateResults();
+        int moduleNumber = 0;
+        for (Module module : modules) {
+            AnalysisContext analysisContext =
+                    new AnalysisContext(module, intermediateResults.calculateIntermediateResultsFor(module));
+            Set<String> results = newHashSet();
+            for (int i = 0; i < resultsPerModule; i++) {
+                results.add("result" + (moduleNumber * resultsPerModule / 2 + i));
+            }
+            analysisContext.getCache().put(KEY, resultSetFor(results));
+            intermediateResults.add(analysisContext);
+            moduleNumber++;
+        }
+        return intermediateResults;
+    }
+
+}
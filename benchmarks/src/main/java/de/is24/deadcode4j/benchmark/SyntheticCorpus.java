@@ -0,0 +1,223 @@
+package de.is24.deadcode4j.benchmark;
+
+import de.is24.deadcode4j.Module;
+import de.is24.deadcode4j.Repository;
+import de.is24.deadcode4j.Resource;
+import javassist.*;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.annotation.Annotation;
+import org.apache.commons.io.FileUtils;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
+
+/**
+ * A <code>SyntheticCorpus</code> is a generated module consisting of class files, Java sources and Spring & web.xml
+ * files referencing each other. The corpus is deterministic, i.e. the same size yields the same files.
+ *
+ * @since 2.2.0
+ */
+public final class SyntheticCorpus {
+    /**
+     * The fully qualified name of the annotation that every third class is annotated with.
+     */
+    public static final String MARKER_ANNOTATION = "bench.Marker";
+    private static final int BEANS_PER_SPRING_XML = 25;
+    @Nonnull
+    private final File directory;
+    @Nonnull
+    private final Module module;
+    @Nonnull
+    private final List<File> classFiles = newArrayList();
+    @Nonnull
+    private final List<File> javaFiles = newArrayList();
+    @Nonnull
+    private final List<File> xmlFiles = newArrayList();
+
+    private SyntheticCorpus(@Nonnull File directory) {
+        this.directory = directory;
+        File classesDirectory = new File(directory, "classes");
+        File sourcesDirectory = new File(directory, "sources");
+        this.module = new Module("de.is24:deadcode4j-benchmark", "UTF-8", Collections.<Resource>emptyList(),
+                new Repository(classesDirectory), asList(new Repository(sourcesDirectory)));
+    }
+
+    /**
+     * Creates a corpus of the given size in a temporary directory.
+     *
+     * @param numberOfClasses the number of classes, Java files & Spring beans to generate
+     */
+    @Nonnull
+    public static SyntheticCorpus create(int numberOfClasses) throws IOException, CannotCompileException,
+            NotFoundException {
+        File directory = File.createTempFile("deadcode4j-benchmark", "");
+        if (!directory.delete() || !directory.mkdirs()
+                || !new File(directory, "classes").mkdir() || !new File(directory, "sources").mkdir()) {
+            throw new IOException("Failed to create corpus directory [" + directory + "]!");
+        }
+        SyntheticCorpus corpus = new SyntheticCorpus(directory);
+        Random random = new Random(numberOfClasses);
+        corpus.generateClassFiles(numberOfClasses, random);
+        corpus.generateJavaFiles(numberOfClasses, random);
+        corpus.generateXmlFiles(numberOfClasses, random);
+        return corpus;
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticCorpus at [" + this.directory + "] with " + this.classFiles.size() + " class files, "
+                + this.javaFiles.size() + " Java files & " + this.xmlFiles.size() + " XML files";
+    }
+
+    /**
+     * Returns the module comprising the corpus; its output repository contains the class files.
+     */
+    @Nonnull
+    public Module getModule() {
+        return this.module;
+    }
+
+    @Nonnull
+    public List<File> getClassFiles() {
+        return this.classFiles;
+    }
+
+    @Nonnull
+    public List<File> getJavaFiles() {
+        return this.javaFiles;
+    }
+
+    @Nonnull
+    public List<File> getXmlFiles() {
+        return this.xmlFiles;
+    }
+
+    /**
+     * Deletes all generated files.
+     */
+    public void delete() {
+        FileUtils.deleteQuietly(this.directory);
+    }
+
+    private void generateClassFiles(int numberOfClasses, Random random) throws IOException, CannotCompileException,
+            NotFoundException {
+        String classesDirectory = new File(this.directory, "classes").getPath();
+        ClassPool classPool = new ClassPool(true);
+        CtClass marker = classPool.makeAnnotation(MARKER_ANNOTATION);
+        marker.writeFile(classesDirectory);
+        this.classFiles.add(classFileOf(MARKER_ANNOTATION));
+
+        for (int i = 0; i < numberOfClasses; i++) {
+            CtClass clazz = classPool.makeClass(className(i));
+            CtField constant = new CtField(CtClass.intType, "CONSTANT", clazz);
+            constant.setModifiers(Modifier.PUBLIC | Modifier.STATIC | Modifier.FINAL);
+            clazz.addField(constant, CtField.Initializer.constant(i));
+            if (i > 0) {
+                for (int j = 0; j < 3; j++) {
+                    CtField reference = new CtField(classPool.get(className(random.nextInt(i))), "reference" + j, clazz);
+                    reference.setModifiers(Modifier.PRIVATE);
+                    clazz.addField(reference);
+                }
+            }
+            if (i % 3 == 0) {
+                ClassFile classFile = clazz.getClassFile();
+                ConstPool constPool = classFile.getConstPool();
+                AnnotationsAttribute annotations = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+                annotations.addAnnotation(new Annotation(MARKER_ANNOTATION, constPool));
+                classFile.addAttribute(annotations);
+            }
+            clazz.writeFile(classesDirectory);
+            this.classFiles.add(classFileOf(className(i)));
+        }
+    }
+
+    private void generateJavaFiles(int numberOfClasses, Random random) throws IOException {
+        File packageDirectory = new File(this.directory, "sources/bench");
+        for (int i = 0; i < numberOfClasses; i++) {
+            String simpleName = "User" + i;
+            String code = "package bench;\n\n"
+                    + "import java.util.List;\n"
+                    + "import java.util.Map;\n\n"
+                    + "import static " + className(random.nextInt(numberOfClasses)) + ".CONSTANT;\n\n"
+                    + "public class " + simpleName + " {\n"
+                    + "    private List<" + simpleClassName(random.nextInt(numberOfClasses)) + "> items;\n"
+                    + "    private Map<String, " + simpleClassName(random.nextInt(numberOfClasses)) + "> index;\n\n"
+                    + "    public int value(int factor) {\n"
+                    + "        int local = " + simpleClassName(random.nextInt(numberOfClasses)) + ".CONSTANT;\n"
+                    + "        return CONSTANT + local * factor + "
+                    + className(random.nextInt(numberOfClasses)) + ".CONSTANT;\n"
+                    + "    }\n\n"
+                    + "}\n";
+            File javaFile = new File(packageDirectory, simpleName + ".java");
+            FileUtils.write(javaFile, code, "UTF-8");
+            this.javaFiles.add(javaFile);
+        }
+    }
+
+    private void generateXmlFiles(int numberOfClasses, Random random) throws IOException {
+        File resourcesDirectory = new File(this.directory, "sources");
+        for (int i = 0; i * BEANS_PER_SPRING_XML < numberOfClasses; i++) {
+            StringBuilder buffy = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                    .append("<beans xmlns=\"http://www.springframework.org/schema/beans\">\n");
+            for (int j = 0; j < BEANS_PER_SPRING_XML; j++) {
+                buffy.append("    <bean id=\"bean").append(j).append("\" class=\"")
+                        .append(className(random.nextInt(numberOfClasses))).append("\">\n")
+                        .append("        <property name=\"value\" value=\"").append(j).append("\"/>\n")
+                        .append("        <property name=\"description\">\n")
+                        .append("            <value>\n                Bean number ").append(j)
+                        .append(" of a generated context, described by some text that is of no interest\n")
+                        .append("            </value>\n")
+                        .append("        </property>\n")
+                        .append("        <property name=\"viewClass\">\n")
+                        .append("            <value>\n                ").append(className(random.nextInt(numberOfClasses)))
+                        .append("\n            </value>\n")
+                        .append("        </property>\n")
+                        .append("    </bean>\n");
+            }
+            buffy.append("</beans>\n");
+            File springXml = new File(resourcesDirectory, "spring-" + i + ".xml");
+            FileUtils.write(springXml, buffy, "UTF-8");
+            this.xmlFiles.add(springXml);
+        }
+
+        StringBuilder buffy = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<web-app xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"3.0\">\n");
+        for (int i = 0; i < numberOfClasses / 10; i++) {
+            buffy.append("    <listener><listener-class>").append(className(random.nextInt(numberOfClasses)))
+                    .append("</listener-class></listener>\n")
+                    .append("    <filter><filter-name>filter").append(i).append("</filter-name><filter-class>")
+                    .append(className(random.nextInt(numberOfClasses))).append("</filter-class></filter>\n")
+                    .append("    <servlet><servlet-name>servlet").append(i).append("</servlet-name><servlet-class>")
+                    .append(className(random.nextInt(numberOfClasses))).append("</servlet-class></servlet>\n");
+        }
+        buffy.append("</web-app>\n");
+        File webXml = new File(resourcesDirectory, "WEB-INF/web.xml");
+        FileUtils.write(webXml, buffy, "UTF-8");
+        this.xmlFiles.add(webXml);
+    }
+
+    @Nonnull
+    private static String className(int i) {
+        return "bench." + simpleClassName(i);
+    }
+
+    @Nonnull
+    private static String simpleClassName(int i) {
+        return "Class" + i;
+    }
+
+    @Nonnull
+    private File classFileOf(@Nonnull String className) {
+        return new File(this.directory, "classes/" + className.replace('.', '/') + ".class");
+    }
+
+}
@@ -0,0 +1,62 @@
+package de.is24.deadcode4j.benchmark;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalyzedCode;
+import de.is24.deadcode4j.IntermediateResult;
+import de.is24.deadcode4j.analyzer.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Measures the XML stage as set up by the plugin: all XML analyzers are fed by a single {@link XmlDispatcher}.
+ * Run with the GC profiler (the default of {@link Benchmarks}) to see the allocation rate per analyzed corpus.
+ *
+ * @since 2.2.0
+ */
+@State(Scope.Benchmark)
+public class XmlStageBenchmark {
+
+    @Param({"1000"})
+    public int numberOfClasses;
+    private SyntheticCorpus corpus;
+    private XmlDispatcher xmlDispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        corpus = SyntheticCorpus.create(numberOfClasses);
+        xmlDispatcher = new XmlDispatcher(asList(
+                new AopXmlAnalyzer(),
+                new ApacheTilesAnalyzer(),
+                new FacesConfigXmlAnalyzer(),
+                new JerseyWebXmlAnalyzer(),
+                new JettyXmlAnalyzer(),
+                new LogbackXmlAnalyzer(),
+                new SpringWebFlowAnalyzer(),
+                new SpringWebXmlAnalyzer(),
+                new SpringXmlAnalyzer(),
+                new TldAnalyzer(),
+                new WebXmlAnalyzer(),
+                new WsddAnalyzer()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        corpus.delete();
+    }
+
+    @Benchmark
+    public AnalyzedCode analyzeXmlFiles() {
+        AnalysisContext analysisContext = new AnalysisContext(corpus.getModule(),
+                Collections.<Object, IntermediateResult>emptyMap());
+        for (File file : corpus.getXmlFiles()) {
+            xmlDispatcher.doAnalysis(analysisContext, file);
+        }
+        xmlDispatcher.finishAnalysis(analysisContext);
+        return analysisContext.getAnalyzedCode();
+    }
+
+}
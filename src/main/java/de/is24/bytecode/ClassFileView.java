@@ -0,0 +1,457 @@
+package de.is24.bytecode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * A <code>ClassFileView</code> provides those parts of a class file simple analyses are interested in: the name, super
+ * types, annotations & methods of a class as well as all the classes it refers to. The view is created by scanning
+ * the class file straight from a buffer in one pass, i.e. without materializing a {@link javassist.CtClass} or adding
+ * anything to a {@link javassist.ClassPool}.
+ * <p/>
+ * The {@link #getReferencedClasses() referenced classes} are collected just like {@link javassist.CtClass#getRefClasses()}
+ * does: from the constant pool, the descriptors of fields & methods and all (parameter &amp; type) annotations.
+ *
+ * @since 2.2.0
+ */
+public final class ClassFileView {
+
+    @Nonnull
+    private final String name;
+    private final int accessFlags;
+    @Nullable
+    private final String superclassName;
+    @Nonnull
+    private final List<String> interfaceNames;
+    @Nonnull
+    private final Set<String> annotationTypes;
+    @Nonnull
+    private final List<Method> methods;
+    @Nonnull
+    private final Set<String> referencedClasses;
+
+    private ClassFileView(@Nonnull Scanner scanner) {
+        this.name = scanner.name;
+        this.accessFlags = scanner.accessFlags;
+        this.superclassName = scanner.superclassName;
+        this.interfaceNames = Collections.unmodifiableList(scanner.interfaceNames);
+        this.annotationTypes = Collections.unmodifiableSet(scanner.annotationTypes);
+        this.methods = Collections.unmodifiableList(scanner.methods);
+        this.referencedClasses = Collections.unmodifiableSet(scanner.referencedClasses);
+    }
+
+    /**
+     * Scans the class file contained by the given buffer, starting at its current position. The buffer's position is
+     * not modified.
+     *
+     * @throws IllegalArgumentException if the buffer does not contain a valid class file
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static ClassFileView of(@Nonnull ByteBuffer classFile) {
+        return of(ConstantPool.of(classFile));
+    }
+
+    /**
+     * Scans the class file the given constant pool belongs to, reusing the already scanned constant pool.
+     *
+     * @throws IllegalArgumentException if the class file is invalid
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static ClassFileView of(@Nonnull ConstantPool constantPool) {
+        try {
+            return new ClassFileView(new Scanner(constantPool).scan());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file!", e);
+        }
+    }
+
+    @Nonnull
+    private static String toJavaName(@Nonnull String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    @Override
+    public String toString() {
+        return "ClassFileView of [" + name + "]";
+    }
+
+    /**
+     * Returns the fully qualified name of the class, e.g. <code>java.util.Map$Entry</code>.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the access flags of the class as defined by {@link javassist.bytecode.AccessFlag}.
+     *
+     * @since 2.2.0
+     */
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    /**
+     * Returns the name of the superclass or <code>null</code> if this is <code>java.lang.Object</code>.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    public String getSuperclassName() {
+        return superclassName;
+    }
+
+    /**
+     * Returns the names of the interfaces the class implements directly.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Returns the types of the annotations the class itself is annotated with, regardless of their retention.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getAnnotationTypes() {
+        return annotationTypes;
+    }
+
+    /**
+     * Returns the methods, constructors and static initializer declared by the class.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<Method> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns the names of all classes the class refers to - including itself.
+     *
+     * @see javassist.CtClass#getRefClasses()
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getReferencedClasses() {
+        return referencedClasses;
+    }
+
+    /**
+     * Represents a method declared by a class.
+     *
+     * @since 2.2.0
+     */
+    public static final class Method {
+        private final int accessFlags;
+        @Nonnull
+        private final String name;
+        @Nonnull
+        private final String descriptor;
+
+        private Method(int accessFlags, @Nonnull String name, @Nonnull String descriptor) {
+            this.accessFlags = accessFlags;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public String toString() {
+            return name + descriptor;
+        }
+
+        /**
+         * Returns the access flags of the method as defined by {@link javassist.bytecode.AccessFlag}.
+         *
+         * @since 2.2.0
+         */
+        public int getAccessFlags() {
+            return accessFlags;
+        }
+
+        /**
+         * Returns the name of the method, e.g. <code>main</code> or <code>&lt;init&gt;</code>.
+         *
+         * @since 2.2.0
+         */
+        @Nonnull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the descriptor of the method, e.g. <code>([Ljava/lang/String;)V</code>.
+         *
+         * @since 2.2.0
+         */
+        @Nonnull
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * Indicates if this is a regular method, i.e. neither a constructor nor a static initializer.
+         *
+         * @see javassist.bytecode.MethodInfo#isMethod()
+         * @since 2.2.0
+         */
+        public boolean isMethod() {
+            return !"<init>".equals(name) && !"<clinit>".equals(name);
+        }
+    }
+
+    /**
+     * Scans a class file; all offsets are relative to the start of the class file.
+     */
+    private static final class Scanner {
+        private final ConstantPool constantPool;
+        private final String[] utf8Cache;
+
+        String name;
+        int accessFlags;
+        String superclassName;
+        final List<String> interfaceNames = newArrayListWithCapacity(4);
+        final Set<String> annotationTypes = newHashSet();
+        List<Method> methods;
+        final Set<String> referencedClasses = newHashSet();
+
+        Scanner(@Nonnull ConstantPool constantPool) {
+            this.constantPool = constantPool;
+            this.utf8Cache = new String[constantPool.size()];
+        }
+
+        Scanner scan() {
+            scanConstantPool();
+            int offset = constantPool.getEndOffset();
+            this.accessFlags = u2(offset);
+            this.name = toJavaName(className(u2(offset + 2)));
+            int superclassIndex = u2(offset + 4);
+            this.superclassName = superclassIndex == 0 ? null : toJavaName(className(superclassIndex));
+            int numberOfInterfaces = u2(offset + 6);
+            offset += 8;
+            for (int i = 0; i < numberOfInterfaces; i++, offset += 2) {
+                this.interfaceNames.add(toJavaName(className(u2(offset))));
+            }
+            offset = scanMembers(offset, false);
+            offset = scanMembers(offset, true);
+            scanAttributes(offset, true);
+            return this;
+        }
+
+        private void scanConstantPool() {
+            for (int i = 1; i < constantPool.size(); i++) {
+                int tag = constantPool.getTag(i);
+                if (tag == ConstantPool.CONSTANT_CLASS) {
+                    String className = utf8(u2(constantPool.getOffset(i)));
+                    if (className.charAt(0) == '[') {
+                        addClassesOfDescriptor(className);
+                    } else {
+                        referencedClasses.add(toJavaName(className));
+                    }
+                } else if (tag == ConstantPool.CONSTANT_NAME_AND_TYPE) {
+                    addClassesOfDescriptor(utf8(u2(constantPool.getOffset(i) + 2)));
+                } else if (tag == ConstantPool.CONSTANT_METHOD_TYPE) {
+                    addClassesOfDescriptor(utf8(u2(constantPool.getOffset(i))));
+                }
+            }
+        }
+
+        private int scanMembers(int offset, boolean areMethods) {
+            int numberOfMembers = u2(offset);
+            if (areMethods) {
+                this.methods = newArrayListWithCapacity(numberOfMembers);
+            }
+            offset += 2;
+            for (int i = 0; i < numberOfMembers; i++) {
+                String descriptor = utf8(u2(offset + 4));
+                addClassesOfDescriptor(descriptor);
+                if (areMethods) {
+                    this.methods.add(new Method(u2(offset), utf8(u2(offset + 2)), descriptor));
+                }
+                offset = scanAttributes(offset + 6, false);
+            }
+            return offset;
+        }
+
+        private int scanAttributes(int offset, boolean ofClass) {
+            int numberOfAttributes = u2(offset);
+            offset += 2;
+            for (int i = 0; i < numberOfAttributes; i++) {
+                String attributeName = utf8(u2(offset));
+                int body = offset + 6;
+                offset = body + u4(offset + 2);
+                if ("Code".equals(attributeName)) {
+                    int exceptionTable = body + 8 + u4(body + 4);
+                    scanAttributes(exceptionTable + 2 + 8 * u2(exceptionTable), false);
+                } else if ("RuntimeVisibleAnnotations".equals(attributeName)
+                        || "RuntimeInvisibleAnnotations".equals(attributeName)) {
+                    scanAnnotations(body, ofClass);
+                } else if ("RuntimeVisibleParameterAnnotations".equals(attributeName)
+                        || "RuntimeInvisibleParameterAnnotations".equals(attributeName)) {
+                    int numberOfParameters = u1(body);
+                    for (int j = 0, annotations = body + 1; j < numberOfParameters; j++) {
+                        annotations = scanAnnotations(annotations, false);
+                    }
+                } else if ("RuntimeVisibleTypeAnnotations".equals(attributeName)
+                        || "RuntimeInvisibleTypeAnnotations".equals(attributeName)) {
+                    scanTypeAnnotations(body);
+                }
+            }
+            return offset;
+        }
+
+        private int scanAnnotations(int offset, boolean ofClass) {
+            int numberOfAnnotations = u2(offset);
+            offset += 2;
+            for (int i = 0; i < numberOfAnnotations; i++) {
+                if (ofClass) {
+                    String type = utf8(u2(offset));
+                    if (type.length() > 2 && type.charAt(0) == 'L') {
+                        annotationTypes.add(toJavaName(type.substring(1, type.length() - 1)));
+                    }
+                }
+                offset = scanAnnotation(offset);
+            }
+            return offset;
+        }
+
+        private void scanTypeAnnotations(int offset) {
+            int numberOfAnnotations = u2(offset);
+            offset += 2;
+            for (int i = 0; i < numberOfAnnotations; i++) {
+                offset = skipTargetInfo(offset + 1, u1(offset));
+                offset += 1 + 2 * u1(offset); // type_path
+                offset = scanAnnotation(offset);
+            }
+        }
+
+        private int skipTargetInfo(int offset, int targetType) {
+            switch (targetType) {
+                case 0x13:
+                case 0x14:
+                case 0x15:
+                    return offset;
+                case 0x00:
+                case 0x01:
+                case 0x16:
+                    return offset + 1;
+                case 0x10:
+                case 0x11:
+                case 0x12:
+                case 0x17:
+                case 0x42:
+                case 0x43:
+                case 0x44:
+                case 0x45:
+                case 0x46:
+                    return offset + 2;
+                case 0x47:
+                case 0x48:
+                case 0x49:
+                case 0x4A:
+                case 0x4B:
+                    return offset + 3;
+                case 0x40:
+                case 0x41:
+                    return offset + 2 + 6 * u2(offset);
+                default:
+                    throw new IllegalArgumentException("Unknown target type [" + targetType + "]!");
+            }
+        }
+
+        private int scanAnnotation(int offset) {
+            addClassesOfDescriptor(utf8(u2(offset)));
+            int numberOfPairs = u2(offset + 2);
+            offset += 4;
+            for (int i = 0; i < numberOfPairs; i++) {
+                offset = scanElementValue(offset + 2);
+            }
+            return offset;
+        }
+
+        private int scanElementValue(int offset) {
+            switch (u1(offset)) {
+                case 'e':
+                    addClassesOfDescriptor(utf8(u2(offset + 1)));
+                    return offset + 5;
+                case 'c':
+                    addClassesOfDescriptor(utf8(u2(offset + 1)));
+                    return offset + 3;
+                case '@':
+                    return scanAnnotation(offset + 1);
+                case '[':
+                    int numberOfValues = u2(offset + 1);
+                    offset += 3;
+                    for (int i = 0; i < numberOfValues; i++) {
+                        offset = scanElementValue(offset);
+                    }
+                    return offset;
+                default:
+                    return offset + 3;
+            }
+        }
+
+        /**
+         * Mimics {@link javassist.bytecode.Descriptor#rename(String, java.util.Map)}.
+         */
+        private void addClassesOfDescriptor(@Nonnull String descriptor) {
+            for (int i = 0; ; ) {
+                int nameStart = descriptor.indexOf('L', i);
+                if (nameStart < 0) {
+                    return;
+                }
+                int nameEnd = descriptor.indexOf(';', nameStart);
+                if (nameEnd < 0) {
+                    return;
+                }
+                referencedClasses.add(toJavaName(descriptor.substring(nameStart + 1, nameEnd)));
+                i = nameEnd + 1;
+            }
+        }
+
+        @Nonnull
+        private String className(int classIndex) {
+            return utf8(u2(constantPool.getOffset(classIndex)));
+        }
+
+        @Nonnull
+        private String utf8(int index) {
+            String utf8 = utf8Cache[index];
+            if (utf8 == null) {
+                utf8 = constantPool.utf8(index);
+                utf8Cache[index] = utf8;
+            }
+            return utf8;
+        }
+
+        private int u1(int offset) {
+            return constantPool.u1(offset);
+        }
+
+        private int u2(int offset) {
+            return constantPool.u2(offset);
+        }
+
+        private int u4(int offset) {
+            return constantPool.u4(offset);
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+package de.is24.bytecode;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A <code>ConstantPool</code> provides fast access to the <code>UTF8</code> constants of a class file - which contain
+ * the names of all classes, members & descriptors a class refers to, including the types of all of its annotations.
+ * The constant pool is walked only once to locate the constants, which can then be compared as raw bytes, i.e.
+ * without decoding them. A {@link ClassFileView} can be {@link ClassFileView#of(ConstantPool) created} from an
+ * already scanned constant pool.
+ *
+ * @see ClassFileView
+ * @since 2.2.0
+ */
+public final class ConstantPool {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    @Nonnull
+    private final ByteBuffer buffer;
+    private final int start;
+    /**
+     * the offsets of all constants, each pointing right behind the constant's tag
+     */
+    private final int[] constantOffsets;
+    private final int[] utf8Offsets;
+    private final int numberOfUtf8Constants;
+    private final int endOffset;
+
+    private ConstantPool(@Nonnull ByteBuffer classFile) {
+        this.buffer = classFile.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.start = classFile.position();
+        if (u4(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a class file!");
+        }
+        int numberOfConstants = u2(8);
+        this.constantOffsets = new int[numberOfConstants];
+        this.utf8Offsets = new int[numberOfConstants];
+        int utf8Constants = 0;
+        int offset = 10;
+        for (int i = 1; i < numberOfConstants; i++) {
+            int tag = u1(offset);
+            constantOffsets[i] = offset + 1;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8Offsets[utf8Constants++] = offset + 1;
+                    offset += 3 + u2(offset + 1);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    offset += 3;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    offset += 4;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    offset += 5;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    offset += 9;
+                    i++; // takes up two entries
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag [" + tag + "]!");
+            }
+        }
+        this.numberOfUtf8Constants = utf8Constants;
+        this.endOffset = offset;
+    }
+
+    /**
+     * Scans the constant pool of the class file contained by the given buffer, starting at its current position.
+     * The buffer's position is not modified; its content must not be modified as long as the returned instance is in
+     * use.
+     *
+     * @throws IllegalArgumentException if the buffer does not contain a valid class file
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static ConstantPool of(@Nonnull ByteBuffer classFile) {
+        try {
+            return new ConstantPool(classFile);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file!", e);
+        }
+    }
+
+    /**
+     * Encodes the given string as <i>modified UTF-8</i>, which is the encoding used by class files.
+     *
+     * @see java.io.DataOutput#writeUTF(String)
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static byte[] toModifiedUtf8(@Nonnull String string) {
+        ByteBuffer bytes = ByteBuffer.allocate(3 * string.length());
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c > 0 && c < 0x80) {
+                bytes.put((byte) c);
+            } else if (c < 0x800) {
+                bytes.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else {
+                bytes.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        byte[] encoded = new byte[bytes.position()];
+        bytes.flip();
+        bytes.get(encoded);
+        return encoded;
+    }
+
+    @Override
+    public String toString() {
+        return "ConstantPool of [" + getClassName() + "] with " + numberOfUtf8Constants + " UTF8 constants";
+    }
+
+    /**
+     * Returns the fully qualified name of the class, e.g. <code>java.util.Map$Entry</code>.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public String getClassName() {
+        return utf8(u2(getOffset(u2(endOffset + 2)))).replace('/', '.');
+    }
+
+    /**
+     * Indicates if any <code>UTF8</code> constant starts with any of the given prefixes.
+     *
+     * @param prefixes the prefixes to look for, encoded as {@link #toModifiedUtf8(String) modified UTF-8}
+     * @since 2.2.0
+     */
+    public boolean containsUtf8StartingWithAnyOf(@Nonnull byte[]... prefixes) {
+        for (int i = 0; i < numberOfUtf8Constants; i++) {
+            int offset = utf8Offsets[i];
+            int length = u2(offset);
+            for (byte[] prefix : prefixes) {
+                if (prefix.length <= length && startsWith(offset + 2, prefix)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of entries of the constant pool; index <code>0</code> and the second entry taken up by a
+     * <code>long</code> or <code>double</code> constant are not used.
+     */
+    int size() {
+        return constantOffsets.length;
+    }
+
+    /**
+     * Returns the tag of the specified constant or <code>0</code> if the index is not used.
+     */
+    int getTag(int index) {
+        int offset = constantOffsets[index];
+        return offset == 0 ? 0 : u1(offset - 1);
+    }
+
+    /**
+     * Returns the offset of the specified constant's info, i.e. the offset right behind its tag.
+     */
+    int getOffset(int index) {
+        return constantOffsets[index];
+    }
+
+    /**
+     * Returns the offset right behind the constant pool, i.e. the offset of the class' access flags.
+     */
+    int getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Decodes the specified <i>modified UTF-8</i> constant as defined by {@link java.io.DataInput#readUTF()}.
+     */
+    @Nonnull
+    String utf8(int index) {
+        int offset = constantOffsets[index];
+        int length = u2(offset);
+        char[] chars = new char[length];
+        int numberOfChars = 0;
+        for (int i = offset + 2, end = i + length; i < end; ) {
+            int b = u1(i++);
+            if (b < 0x80) {
+                chars[numberOfChars++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[numberOfChars++] = (char) (((b & 0x1F) << 6) | (u1(i++) & 0x3F));
+            } else {
+                chars[numberOfChars++] = (char) (((b & 0x0F) << 12) | ((u1(i++) & 0x3F) << 6) | (u1(i++) & 0x3F));
+            }
+        }
+        return new String(chars, 0, numberOfChars);
+    }
+
+    private boolean startsWith(int offset, @Nonnull byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(start + offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads an unsigned byte; all offsets are relative to the start of the class file.
+     */
+    int u1(int offset) {
+        return buffer.get(start + offset) & 0xFF;
+    }
+
+    int u2(int offset) {
+        return buffer.getShort(start + offset) & 0xFFFF;
+    }
+
+    int u4(int offset) {
+        return buffer.getInt(start + offset);
+    }
+
+}
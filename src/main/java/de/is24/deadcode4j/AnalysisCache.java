@@ -0,0 +1,364 @@
+package de.is24.deadcode4j;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.base.Optional.of;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static java.util.Collections.emptyMap;
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+/**
+ * The <code>AnalysisCache</code> persists what {@link ReplayableAnalysis replayable analyzers} reported for each file,
+ * so that files that haven't changed since the last run don't have to be analyzed again: instead, the reported
+ * classes, dependencies & exceptions are replayed into the {@link AnalysisContext}.
+ * <p/>
+ * The contributions are keyed by module, analyzer & file path. A file is considered to be unchanged if it has the
+ * same size and modification time as before; if only the modification time differs (e.g. due to a clean build), the
+ * file's content hash is compared.<br/>
+ * Only the contributions of the current run are {@link #store() stored}, i.e. entries of deleted files are dropped.
+ * Analyses throwing an exception are not cached at all.
+ *
+ * @since 2.2.0
+ */
+public final class AnalysisCache {
+    private static final int FORMAT_VERSION = 1;
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    @Nonnull
+    private final File file;
+    @Nonnull
+    private final Map<Analyzer, Optional<String>> analyzerKeys = new ConcurrentHashMap<Analyzer, Optional<String>>();
+    @Nonnull
+    private final Map<File, String> contentHashes = new ConcurrentHashMap<File, String>();
+    @Nonnull
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<String, Entry>();
+    @Nonnull
+    private final AtomicInteger numberOfReplays = new AtomicInteger();
+    @Nonnull
+    private Map<String, Entry> previousEntries = emptyMap();
+
+    /**
+     * Creates a new <code>AnalysisCache</code> persisted to the given file.
+     *
+     * @since 2.2.0
+     */
+    public AnalysisCache(@Nonnull File file) {
+        this.file = file;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisCache at [" + this.file + "]";
+    }
+
+    /**
+     * Loads the contributions stored by the previous run. If the file cannot be read, the cache starts empty.
+     */
+    synchronized void load() {
+        this.analyzerKeys.clear();
+        this.contentHashes.clear();
+        this.currentEntries.clear();
+        this.numberOfReplays.set(0);
+        this.previousEntries = emptyMap();
+        if (!this.file.exists()) {
+            logger.debug("There's no {} yet.", this);
+            return;
+        }
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(this.file))));
+            int formatVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                logger.info("Ignoring {} as it was written in format version [{}].", this, formatVersion);
+                return;
+            }
+            int numberOfEntries = in.readInt();
+            Map<String, Entry> entries = newHashMap();
+            for (int i = 0; i < numberOfEntries; i++) {
+                entries.put(in.readUTF(), Entry.readFrom(in));
+            }
+            this.previousEntries = entries;
+            logger.debug("Loaded {} entries from {}.", numberOfEntries, this);
+        } catch (IOException e) {
+            logger.warn("Failed to read {}; starting from scratch.", this, e);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Failed to read {}; starting from scratch.", this, e);
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    /**
+     * Stores the contributions of the current run. Failing to do so is logged, but won't fail the analysis.
+     */
+    synchronized void store() {
+        logger.debug("Replayed {} of {} cached analyses.", this.numberOfReplays.get(), this.currentEntries.size());
+        File tempFile = new File(this.file.getPath() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            File directory = this.file.getAbsoluteFile().getParentFile();
+            if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Failed to create directory [" + directory + "]!");
+            }
+            out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(this.currentEntries.size());
+            for (Map.Entry<String, Entry> entry : this.currentEntries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+            out.close();
+            out = null;
+            if (this.file.exists() && !this.file.delete() || !tempFile.renameTo(this.file)) {
+                throw new IOException("Failed to replace [" + this.file + "] with [" + tempFile + "]!");
+            }
+            logger.debug("Stored {} entries to {}.", this.currentEntries.size(), this);
+        } catch (IOException e) {
+            logger.warn("Failed to write {}!", this, e);
+        } finally {
+            closeQuietly(out);
+        }
+    }
+
+    /**
+     * Calls the analyzer for the given file - unless the analyzer is {@link ReplayableAnalysis replayable} and the
+     * file is unchanged, in which case the cached contribution is replayed.
+     */
+    void analyze(@Nonnull Analyzer analyzer, @Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        Optional<String> analyzerKey = getKeyOf(analyzer);
+        if (!analyzerKey.isPresent()) {
+            analyzer.doAnalysis(analysisContext, file);
+            return;
+        }
+        String key =
+                analysisContext.getModule().getModuleId() + "|" + analyzerKey.get() + "|" + file.getAbsolutePath();
+        long size = file.length();
+        long lastModified = file.lastModified();
+        Entry entry = this.previousEntries.get(key);
+        if (entry != null && entry.size == size
+                && (entry.lastModified == lastModified || entry.contentHash.equals(getContentHashOf(file)))) {
+            entry.contribution.replayTo(analysisContext);
+            this.currentEntries.put(key, new Entry(size, lastModified, entry.contentHash, entry.contribution));
+            this.numberOfReplays.incrementAndGet();
+            return;
+        }
+        RecordingContext recordingContext = new RecordingContext(analysisContext);
+        analyzer.doAnalysis(recordingContext, file);
+        this.currentEntries.put(key,
+                new Entry(size, lastModified, getContentHashOf(file), recordingContext.getContribution()));
+    }
+
+    @Nonnull
+    private Optional<String> getKeyOf(@Nonnull Analyzer analyzer) {
+        Optional<String> key = this.analyzerKeys.get(analyzer);
+        if (key == null) {
+            key = analyzer.getClass().isAnnotationPresent(ReplayableAnalysis.class)
+                    ? of(analyzer + "@" + getLocationOf(analyzer.getClass()))
+                    : Optional.<String>absent();
+            this.analyzerKeys.put(analyzer, key);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the location of the given class along with its implementation version and the size & modification
+     * time of the jar (or class file) it is loaded from, so that a rebuilt analyzer (e.g. of a <tt>SNAPSHOT</tt>
+     * version) invalidates its cached contributions.
+     */
+    @Nonnull
+    private String getLocationOf(@Nonnull Class<?> clazz) {
+        CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        Package classPackage = clazz.getPackage();
+        String version = classPackage == null ? null : classPackage.getImplementationVersion();
+        StringBuilder buffy = new StringBuilder(String.valueOf(location)).append("|").append(version);
+        File artifact = location == null ? null : toFile(location);
+        if (artifact != null && artifact.isDirectory()) {
+            artifact = new File(artifact, clazz.getName().replace('.', '/') + ".class");
+        }
+        if (artifact != null && artifact.exists()) {
+            buffy.append("|").append(artifact.length()).append("|").append(artifact.lastModified());
+        }
+        return buffy.toString();
+    }
+
+    @Nonnull
+    private String getContentHashOf(@Nonnull File file) {
+        String contentHash = this.contentHashes.get(file);
+        if (contentHash == null) {
+            try {
+                contentHash = Files.hash(file, Hashing.md5()).toString();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to compute content hash of [" + file + "]!", e);
+            }
+            this.contentHashes.put(file, contentHash);
+        }
+        return contentHash;
+    }
+
+    /**
+     * An <code>Entry</code> is the contribution of an analyzer for a file in a specific state.
+     *
+     * @since 2.2.0
+     */
+    private static final class Entry {
+        private final long size;
+        private final long lastModified;
+        @Nonnull
+        private final String contentHash;
+        @Nonnull
+        private final Contribution contribution;
+
+        public Entry(long size, long lastModified, @Nonnull String contentHash, @Nonnull Contribution contribution) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.contribution = contribution;
+        }
+
+        @Nonnull
+        public static Entry readFrom(@Nonnull DataInput in) throws IOException {
+            return new Entry(in.readLong(), in.readLong(), in.readUTF(), Contribution.readFrom(in));
+        }
+
+        public void writeTo(@Nonnull DataOutput out) throws IOException {
+            out.writeLong(this.size);
+            out.writeLong(this.lastModified);
+            out.writeUTF(this.contentHash);
+            this.contribution.writeTo(out);
+        }
+
+    }
+
+    /**
+     * A <code>Contribution</code> comprises everything an analyzer reported for a file.
+     *
+     * @since 2.2.0
+     */
+    private static final class Contribution {
+        @Nonnull
+        private final List<String> analyzedClasses = newArrayList();
+        @Nonnull
+        private final Map<String, List<String>> dependencies = newLinkedHashMap();
+        @Nonnull
+        private final EnumSet<AnalysisStage> stagesWithExceptions = EnumSet.noneOf(AnalysisStage.class);
+
+        @Nonnull
+        public static Contribution readFrom(@Nonnull DataInput in) throws IOException {
+            Contribution contribution = new Contribution();
+            for (int i = in.readInt(); i > 0; i--) {
+                contribution.analyzedClasses.add(in.readUTF());
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                String depender = in.readUTF();
+                List<String> dependees = newArrayList();
+                for (int j = in.readInt(); j > 0; j--) {
+                    dependees.add(in.readUTF());
+                }
+                contribution.dependencies.put(depender, dependees);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                contribution.stagesWithExceptions.add(AnalysisStage.valueOf(in.readUTF()));
+            }
+            return contribution;
+        }
+
+        public void writeTo(@Nonnull DataOutput out) throws IOException {
+            out.writeInt(this.analyzedClasses.size());
+            for (String analyzedClass : this.analyzedClasses) {
+                out.writeUTF(analyzedClass);
+            }
+            out.writeInt(this.dependencies.size());
+            for (Map.Entry<String, List<String>> dependency : this.dependencies.entrySet()) {
+                out.writeUTF(dependency.getKey());
+                out.writeInt(dependency.getValue().size());
+                for (String dependee : dependency.getValue()) {
+                    out.writeUTF(dependee);
+                }
+            }
+            out.writeInt(this.stagesWithExceptions.size());
+            for (AnalysisStage stage : this.stagesWithExceptions) {
+                out.writeUTF(stage.name());
+            }
+        }
+
+        public void replayTo(@Nonnull AnalysisContext analysisContext) {
+            for (String analyzedClass : this.analyzedClasses) {
+                analysisContext.addAnalyzedClass(analyzedClass);
+            }
+            for (Map.Entry<String, List<String>> dependency : this.dependencies.entrySet()) {
+                analysisContext.addDependencies(dependency.getKey(), dependency.getValue());
+            }
+            for (AnalysisStage stage : this.stagesWithExceptions) {
+                analysisContext.addException(stage);
+            }
+        }
+
+    }
+
+    /**
+     * The <code>RecordingContext</code> passes everything on to the original context, recording the reports being
+     * made.
+     *
+     * @since 2.2.0
+     */
+    private static final class RecordingContext extends AnalysisContext {
+        @Nonnull
+        private final AnalysisContext originalContext;
+        @Nonnull
+        private final Contribution contribution = new Contribution();
+
+        public RecordingContext(@Nonnull AnalysisContext originalContext) {
+            super(originalContext);
+            this.originalContext = originalContext;
+        }
+
+        @Override
+        public synchronized void addAnalyzedClass(@Nonnull String clazz) {
+            this.contribution.analyzedClasses.add(clazz);
+            this.originalContext.addAnalyzedClass(clazz);
+        }
+
+        @Override
+        public synchronized void addDependencies(@Nonnull String depender, @Nonnull Iterable<String> dependees) {
+            List<String> recordedDependees = this.contribution.dependencies.get(depender);
+            if (recordedDependees == null) {
+                recordedDependees = newArrayList();
+                this.contribution.dependencies.put(depender, recordedDependees);
+            }
+            for (String dependee : dependees) {
+                recordedDependees.add(dependee);
+            }
+            this.originalContext.addDependencies(depender, dependees);
+        }
+
+        @Override
+        public synchronized void addException(@Nonnull AnalysisStage stage) {
+            this.contribution.stagesWithExceptions.add(stage);
+            this.originalContext.addException(stage);
+        }
+
+        @Nonnull
+        public synchronized Contribution getContribution() {
+            return this.contribution;
+        }
+
+    }
+
+}
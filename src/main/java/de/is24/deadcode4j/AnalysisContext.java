@@ -1,10 +1,14 @@
 package de.is24.deadcode4j;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 import de.is24.guava.NonNullFunction;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.google.common.collect.Maps.newHashMap;
 
@@ -12,17 +16,28 @@ import static com.google.common.collect.Maps.newHashMap;
  * The <code>AnalysisContext</code> extends {@link de.is24.deadcode4j.AnalysisSink} by providing access to the
  * {@link #getModule() analyzed module} and {@link #getIntermediateResult(Object) the intermediate results} of the
  * modules it depends on. Additionally, it provides a {@link #getCache() <em>cache</em>} to use for caching calculated
- * data relevant for one context.
+ * data relevant for one context and a {@link #getReactorCache() <em>reactor cache</em>} to use for caching data
+ * relevant for all modules.
  *
  * @since 1.1.0
  */
 public class AnalysisContext extends AnalysisSink {
+    /**
+     * The default maximum number of classes kept by the <code>ClassPool</code> of a module.
+     *
+     * @see #getClassPoolSize()
+     * @since 2.2.0
+     */
+    public static final int DEFAULT_CLASS_POOL_SIZE = 4096;
     @Nonnull
-    private final Map<Object, Object> cache = newHashMap();
+    private final ConcurrentMap<Object, Object> cache;
     @Nonnull
     private final Module module;
     @Nonnull
     private final Map<Object, IntermediateResult> intermediateResults;
+    @Nonnull
+    private final ConcurrentMap<Object, Object> reactorCache;
+    private final int classPoolSize;
 
     /**
      * Creates a new instance of <code>AnalysisContext</code> for the specified module.
@@ -30,8 +45,45 @@ public class AnalysisContext extends AnalysisSink {
      * @since 2.0.0
      */
     public AnalysisContext(@Nonnull Module module, @Nonnull Map<Object, IntermediateResult> intermediateResults) {
+        this(module, intermediateResults, new SymbolTable(), new ConcurrentHashMap<Object, Object>(),
+                DEFAULT_CLASS_POOL_SIZE);
+    }
+
+    /**
+     * Creates a new instance of <code>AnalysisContext</code> for the specified module using the given symbol table
+     * and reactor cache.
+     *
+     * @param reactorCache  a <code>ConcurrentMap</code> shared by the contexts of all modules
+     * @param classPoolSize the maximum number of classes to keep in the module's <code>ClassPool</code>
+     * @since 2.2.0
+     */
+    AnalysisContext(@Nonnull Module module,
+                    @Nonnull Map<Object, IntermediateResult> intermediateResults,
+                    @Nonnull SymbolTable symbolTable,
+                    @Nonnull ConcurrentMap<Object, Object> reactorCache,
+                    int classPoolSize) {
+        super(symbolTable);
+        this.cache = new ConcurrentHashMap<Object, Object>();
         this.module = module;
         this.intermediateResults = newHashMap(intermediateResults);
+        this.reactorCache = reactorCache;
+        this.classPoolSize = classPoolSize;
+    }
+
+    /**
+     * Creates a new instance of <code>AnalysisContext</code> decorating the given context: the module, the
+     * intermediate results, the caches & the symbol table are shared with the given context, i.e. nothing but the
+     * reported analysis results is allocated. Subclasses are supposed to pass those on to the given context.
+     *
+     * @since 2.2.0
+     */
+    protected AnalysisContext(@Nonnull AnalysisContext decoratedContext) {
+        super(decoratedContext.getSymbolTable());
+        this.cache = decoratedContext.getCache();
+        this.module = decoratedContext.getModule();
+        this.intermediateResults = decoratedContext.intermediateResults;
+        this.reactorCache = decoratedContext.getReactorCache();
+        this.classPoolSize = decoratedContext.getClassPoolSize();
     }
 
     @Override
@@ -50,29 +102,121 @@ public class AnalysisContext extends AnalysisSink {
     }
 
     /**
-     * Returns a <code>Map</code> that can be used to cache things or pass along between analyzers.
+     * Returns a <code>Map</code> that can be used to cache things or pass along between analyzers. Cached values
+     * implementing {@link java.io.Closeable} are closed when the analysis of the module is finished.
      *
-     * @return a simple {@link java.util.Map}
+     * @return a {@link java.util.concurrent.ConcurrentMap}
      */
     @Nonnull
-    public Map<Object, Object> getCache() {
+    public ConcurrentMap<Object, Object> getCache() {
         return cache;
     }
 
+    /**
+     * Returns the cached entry for the given key; if there is no such entry, it is created by means of the given
+     * supplier. Creating & storing an entry is an atomic operation, i.e. the supplier is called only once per key;
+     * concurrent requests for the same key wait for the entry to be created, while existing entries are retrieved
+     * without locking.
+     *
+     * @since 2.0.0
+     */
     @Nonnull
     public <T> T getOrCreateCacheEntry(Object key, NonNullFunction<AnalysisContext, T> supplier) {
-        @SuppressWarnings("unchecked")
-        T entry = (T) getCache().get(key);
+        return getOrCreateEntry(getCache(), key, supplier);
+    }
+
+    /**
+     * Returns a <code>Map</code> that can be used to cache things for the whole reactor, i.e. it is shared by the
+     * contexts of all analyzed modules. Cached values implementing {@link java.io.Closeable} are closed when the
+     * analysis is finished.
+     *
+     * @return a {@link java.util.concurrent.ConcurrentMap}
+     * @since 2.2.0
+     */
+    @Nonnull
+    public ConcurrentMap<Object, Object> getReactorCache() {
+        return reactorCache;
+    }
+
+    /**
+     * Returns the reactor-wide cached entry for the given key; if there is no such entry, it is created by means of
+     * the given supplier. Creating & storing an entry is an atomic operation, i.e. the supplier is called only once
+     * per key.
+     *
+     * @see #getReactorCache()
+     * @since 2.2.0
+     */
+    @Nonnull
+    public <T> T getOrCreateReactorCacheEntry(Object key, NonNullFunction<AnalysisContext, T> supplier) {
+        return getOrCreateEntry(getReactorCache(), key, supplier);
+    }
+
+    /**
+     * Returns the maximum number of classes the <code>ClassPool</code> used to examine the module's classes should
+     * keep.
+     *
+     * @since 2.2.0
+     */
+    public int getClassPoolSize() {
+        return classPoolSize;
+    }
+
+    @Nullable
+    public IntermediateResult getIntermediateResult(@Nonnull Object key) {
+        return this.intermediateResults.get(key);
+    }
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private <T> T getOrCreateEntry(ConcurrentMap<Object, Object> cache,
+                                   Object key,
+                                   NonNullFunction<AnalysisContext, T> supplier) {
+        Object entry = cache.get(key);
+        if (entry != null && !(entry instanceof PendingEntry)) {
+            return (T) entry;
+        }
         if (entry == null) {
+            PendingEntry pendingEntry = new PendingEntry();
+            entry = cache.putIfAbsent(key, pendingEntry);
+            if (entry == null) {
+                return createEntry(cache, key, pendingEntry, supplier);
+            }
+        }
+        return (T) (entry instanceof PendingEntry ? ((PendingEntry) entry).await() : entry);
+    }
+
+    @Nonnull
+    private <T> T createEntry(ConcurrentMap<Object, Object> cache,
+                              Object key,
+                              PendingEntry pendingEntry,
+                              NonNullFunction<AnalysisContext, T> supplier) {
+        T entry;
+        try {
             entry = supplier.apply(this);
-            getCache().put(key, entry);
+        } catch (RuntimeException e) {
+            cache.remove(key, pendingEntry);
+            pendingEntry.value.setException(e);
+            throw e;
+        } catch (Error e) {
+            cache.remove(key, pendingEntry);
+            pendingEntry.value.setException(e);
+            throw e;
         }
+        cache.replace(key, pendingEntry, entry);
+        pendingEntry.value.set(entry);
         return entry;
     }
 
-    @Nullable
-    public IntermediateResult getIntermediateResult(@Nonnull Object key) {
-        return this.intermediateResults.get(key);
+    /**
+     * Takes the place of a cache entry while it is being created, so that concurrent requests for the same key can
+     * wait for it.
+     */
+    private static final class PendingEntry {
+        private final SettableFuture<Object> value = SettableFuture.create();
+
+        public Object await() {
+            return Futures.getUnchecked(value);
+        }
     }
 
 }
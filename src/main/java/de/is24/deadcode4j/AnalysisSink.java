@@ -3,17 +3,13 @@ package de.is24.deadcode4j;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.EnumSet;
-import java.util.Map;
-import java.util.Set;
 
 import static com.google.common.base.Predicates.equalTo;
 import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Iterables.size;
-import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Sets.newHashSet;
-import static de.is24.deadcode4j.Utils.getOrAddMappedSet;
 import static java.util.Arrays.asList;
 
 /**
@@ -21,6 +17,10 @@ import static java.util.Arrays.asList;
  * {@link #addAnalyzedClass(String) report the existence of code} and
  * {@link #addDependencies(String, Iterable) the dependencies of it}.
  * It also allows to notify of {@link #addException(AnalysisStage) exceptions that occurred}.
+ * <p/>
+ * Instances are thread-safe, i.e. several files may be analyzed concurrently.
+ * <p/>
+ * The reported class names are stored as ids of a {@link SymbolTable} which may be shared by several sinks.
  *
  * @since 2.0.0
  */
@@ -28,12 +28,31 @@ public class AnalysisSink {
     @Nonnull
     protected final org.slf4j.Logger logger = LoggerFactory.getLogger(getClass());
     @Nonnull
-    private final Set<String> analyzedClasses = newHashSet();
-    @Nonnull
-    private final Map<String, Set<String>> dependencyMap = newHashMap();
+    private final SymbolTable symbolTable;
+    // created lazily, as decorating sinks typically pass on everything being reported
+    @Nullable
+    private IntSet analyzedClasses;
+    @Nullable
+    private IntMultimap dependencyMap;
     @Nonnull
     private final EnumSet<AnalysisStage> stagesWithExceptions = EnumSet.noneOf(AnalysisStage.class);
 
+    /**
+     * Creates a new <code>AnalysisSink</code> using the given symbol table.
+     *
+     * @since 2.2.0
+     */
+    AnalysisSink(@Nonnull SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    /**
+     * Creates a new <code>AnalysisSink</code> having its own symbol table.
+     */
+    public AnalysisSink() {
+        this(new SymbolTable());
+    }
+
     @Override
     public String toString() {
         return "AnalysisSink";
@@ -44,8 +63,8 @@ public class AnalysisSink {
      *
      * @since 1.1.0
      */
-    public void addAnalyzedClass(@Nonnull String clazz) {
-        this.analyzedClasses.add(clazz);
+    public synchronized void addAnalyzedClass(@Nonnull String clazz) {
+        getAnalyzedClassIds().add(this.symbolTable.idOf(clazz));
     }
 
     /**
@@ -57,14 +76,14 @@ public class AnalysisSink {
      * @see #addDependencies(String, String...)
      * @since 1.1.0
      */
-    public void addDependencies(@Nonnull String depender, @Nonnull Iterable<String> dependees) {
+    public synchronized void addDependencies(@Nonnull String depender, @Nonnull Iterable<String> dependees) {
         dependees = filter(dependees, not(equalTo(depender))); // this would be cheating
         if (size(dependees) == 0) {
             return;
         }
-        Set<String> existingDependees = getOrAddMappedSet(this.dependencyMap, depender);
+        IntSet existingDependees = getDependencyIds().getOrAdd(this.symbolTable.idOf(depender));
         for (String aDependee : dependees) {
-            existingDependees.add(aDependee);
+            existingDependees.add(this.symbolTable.idOf(aDependee));
         }
         logger.debug("Added dependencies from [{}] to {}.", depender, dependees);
     }
@@ -87,7 +106,7 @@ public class AnalysisSink {
      *
      * @since 2.0.0
      */
-    public void addException(@Nonnull AnalysisStage stage) {
+    public synchronized void addException(@Nonnull AnalysisStage stage) {
         this.stagesWithExceptions.add(stage);
     }
 
@@ -98,8 +117,29 @@ public class AnalysisSink {
      * @since 1.1.0
      */
     @Nonnull
-    public AnalyzedCode getAnalyzedCode() {
-        return new AnalyzedCode(this.stagesWithExceptions, this.analyzedClasses, this.dependencyMap);
+    public synchronized AnalyzedCode getAnalyzedCode() {
+        return new AnalyzedCode(this.symbolTable, this.stagesWithExceptions, getAnalyzedClassIds(), getDependencyIds());
+    }
+
+    @Nonnull
+    SymbolTable getSymbolTable() {
+        return this.symbolTable;
+    }
+
+    @Nonnull
+    private IntSet getAnalyzedClassIds() {
+        if (this.analyzedClasses == null) {
+            this.analyzedClasses = new IntSet();
+        }
+        return this.analyzedClasses;
+    }
+
+    @Nonnull
+    private IntMultimap getDependencyIds() {
+        if (this.dependencyMap == null) {
+            this.dependencyMap = new IntMultimap();
+        }
+        return this.dependencyMap;
     }
 
 }
@@ -1,12 +1,20 @@
 package de.is24.deadcode4j;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 /**
  * <code>AnalyzedCode</code> comprises the classes being analyzed as well as the code dependencies.
+ * <p/>
+ * Internally, the class names are stored as ids of a {@link SymbolTable}; the <code>String</code> based accessors
+ * provide read-only views of them.
  *
  * @since 1.0.0
  */
@@ -14,29 +22,59 @@ public class AnalyzedCode {
     @Nonnull
     private final EnumSet<AnalysisStage> stagesWithExceptions;
     @Nonnull
-    private final Set<String> analyzedClasses;
+    private final SymbolTable symbolTable;
     @Nonnull
-    private final Map<String, Set<String>> codeDependencies;
+    private final IntSet analyzedClasses;
+    @Nonnull
+    private final IntMultimap codeDependencies;
 
     public AnalyzedCode(@Nonnull EnumSet<AnalysisStage> stagesWithExceptions,
                         @Nonnull Set<String> analyzedClasses,
                         @Nonnull Map<String, Set<String>> codeDependencies) {
         this.stagesWithExceptions = stagesWithExceptions;
+        this.symbolTable = new SymbolTable();
+        this.analyzedClasses = new IntSet();
+        for (String analyzedClass : analyzedClasses) {
+            this.analyzedClasses.add(this.symbolTable.idOf(analyzedClass));
+        }
+        this.codeDependencies = new IntMultimap();
+        for (Map.Entry<String, Set<String>> dependencies : codeDependencies.entrySet()) {
+            IntSet dependees = this.codeDependencies.getOrAdd(this.symbolTable.idOf(dependencies.getKey()));
+            for (String dependee : dependencies.getValue()) {
+                dependees.add(this.symbolTable.idOf(dependee));
+            }
+        }
+    }
+
+    /**
+     * Creates an <code>AnalyzedCode</code> backed by the given structures, i.e. they are not copied.
+     *
+     * @since 2.2.0
+     */
+    AnalyzedCode(@Nonnull SymbolTable symbolTable,
+                 @Nonnull EnumSet<AnalysisStage> stagesWithExceptions,
+                 @Nonnull IntSet analyzedClasses,
+                 @Nonnull IntMultimap codeDependencies) {
+        this.stagesWithExceptions = stagesWithExceptions;
+        this.symbolTable = symbolTable;
         this.analyzedClasses = analyzedClasses;
         this.codeDependencies = codeDependencies;
     }
 
+    /**
+     * Returns a read-only view of the analyzed classes.
+     */
     @Nonnull
     public Set<String> getAnalyzedClasses() {
-        return analyzedClasses;
+        return new SymbolSet(analyzedClasses);
     }
 
     /**
-     * Returns a map consisting of code artifacts (typically classes) pointing to their dependencies.
+     * Returns a read-only map consisting of code artifacts (typically classes) pointing to their dependencies.
      */
     @Nonnull
     public Map<String, Set<String>> getCodeDependencies() {
-        return codeDependencies;
+        return new DependencyMap();
     }
 
     /**
@@ -49,4 +87,150 @@ public class AnalyzedCode {
         return stagesWithExceptions;
     }
 
+    @Nonnull
+    SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    @Nonnull
+    IntSet getAnalyzedClassIds() {
+        return analyzedClasses;
+    }
+
+    @Nonnull
+    IntMultimap getCodeDependencyIds() {
+        return codeDependencies;
+    }
+
+    /**
+     * Provides a read-only view of an <code>IntSet</code> by resolving the ids via the symbol table.
+     *
+     * @since 2.2.0
+     */
+    private class SymbolSet extends AbstractSet<String> {
+        @Nonnull
+        private final IntSet ids;
+
+        SymbolSet(@Nonnull IntSet ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return String.class.isInstance(o) && ids.contains(symbolTable.lookUp(String.class.cast(o)));
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<String> iterator() {
+            return new SymbolIterator(ids.iterator());
+        }
+
+        @Override
+        public int size() {
+            return ids.size();
+        }
+
+    }
+
+    /**
+     * Provides a read-only view of the code dependencies by resolving the ids via the symbol table.
+     *
+     * @since 2.2.0
+     */
+    private class DependencyMap extends AbstractMap<String, Set<String>> {
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Nullable
+        @Override
+        public Set<String> get(Object key) {
+            if (!String.class.isInstance(key)) {
+                return null;
+            }
+            IntSet dependees = codeDependencies.get(symbolTable.lookUp(String.class.cast(key)));
+            return dependees == null ? null : new SymbolSet(dependees);
+        }
+
+        @Override
+        public int size() {
+            return codeDependencies.size();
+        }
+
+        @Nonnull
+        @Override
+        public Set<Entry<String, Set<String>>> entrySet() {
+            return new AbstractSet<Entry<String, Set<String>>>() {
+                @Nonnull
+                @Override
+                public Iterator<Entry<String, Set<String>>> iterator() {
+                    final IntSet.IntIterator dependers = codeDependencies.keys();
+                    return new Iterator<Entry<String, Set<String>>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return dependers.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Set<String>> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int depender = dependers.next();
+                            return new SimpleImmutableEntry<String, Set<String>>(
+                                    symbolTable.symbolOf(depender), new SymbolSet(codeDependencies.get(depender)));
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return codeDependencies.size();
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Iterates over ids, returning the associated symbols.
+     *
+     * @since 2.2.0
+     */
+    private class SymbolIterator implements Iterator<String> {
+        @Nonnull
+        private final IntSet.IntIterator ids;
+
+        SymbolIterator(@Nonnull IntSet.IntIterator ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return ids.hasNext();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return symbolTable.symbolOf(ids.next());
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
 }
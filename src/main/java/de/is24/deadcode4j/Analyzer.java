@@ -5,6 +5,9 @@ import java.io.File;
 
 /**
  * An <code>Analyzer</code> analyzes code of all flavours: java classes, spring XML files, <tt>web.xml</tt> etc.
+ * <p/>
+ * Files may be analyzed concurrently, i.e. {@link #doAnalysis(AnalysisContext, java.io.File)} may be called by
+ * several threads at once, unless the analyzer is marked as {@link NotThreadSafe}.
  *
  * @since 1.1.0
  */
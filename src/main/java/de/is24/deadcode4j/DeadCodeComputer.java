@@ -1,38 +1,172 @@
 package de.is24.deadcode4j;
 
 import javax.annotation.Nonnull;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * The <code>DeadCodeComputer</code> computes the {@link DeadCode} based on {@link AnalyzedCode}.
+ * <p/>
+ * By default, a class is considered to be dead if no other entity depends on it. If the computer is set up to compute
+ * reachability, a class is considered to be dead if it cannot be reached from a <i>root</i>, i.e. from a depender
+ * which is not an analyzed class itself (like <code>_Spring-XML_</code> or <code>_Main-Class_</code>). That way,
+ * clusters of dead classes referencing each other are recognized as well.
  *
  * @since 2.0.0
  */
 public class DeadCodeComputer {
 
+    private final boolean computeReachability;
+
+    /**
+     * Creates a new <code>DeadCodeComputer</code>.
+     *
+     * @param computeReachability if <code>true</code>, a class is considered to be dead if it cannot be reached from
+     *                            a depender that is not an analyzed class; otherwise, a class is considered to be dead
+     *                            if nothing depends on it
+     * @since 2.2.0
+     */
+    public DeadCodeComputer(boolean computeReachability) {
+        this.computeReachability = computeReachability;
+    }
+
+    /**
+     * Creates a new <code>DeadCodeComputer</code> that considers a class to be dead if nothing depends on it.
+     *
+     * @since 2.0.0
+     */
+    public DeadCodeComputer() {
+        this(false);
+    }
+
+    /**
+     * Indicates if this computer considers a class to be dead if it cannot be reached from a root.
+     *
+     * @since 2.2.0
+     */
+    public boolean computesReachability() {
+        return computeReachability;
+    }
+
     @Nonnull
     public DeadCode computeDeadCode(@Nonnull AnalyzedCode analyzedCode) {
-        Collection<String> deadClasses = determineDeadClasses(analyzedCode);
+        Collection<String> deadClasses = computeReachability
+                ? determineUnreachableClasses(analyzedCode)
+                : determineDeadClasses(analyzedCode);
         return new DeadCode(analyzedCode.getStagesWithExceptions(), analyzedCode.getAnalyzedClasses(), deadClasses);
     }
 
     @Nonnull
     private Collection<String> determineDeadClasses(@Nonnull AnalyzedCode analyzedCode) {
-        Set<String> classesInUse = newHashSet();
-        for (Iterable<String> usedClasses : analyzedCode.getCodeDependencies().values()) {
-            for (String clazz : usedClasses) {
-                classesInUse.add(clazz);
+        SymbolTable symbolTable = analyzedCode.getSymbolTable();
+        IntMultimap codeDependencies = analyzedCode.getCodeDependencyIds();
+        BitSet classesInUse = new BitSet(symbolTable.size());
+        for (IntSet.IntIterator dependers = codeDependencies.keys(); dependers.hasNext(); ) {
+            IntSet usedClasses = codeDependencies.get(dependers.next());
+            for (IntSet.IntIterator usedClass = usedClasses.iterator(); usedClass.hasNext(); ) {
+                classesInUse.set(usedClass.next());
             }
         }
+        return collectClassesNotIn(classesInUse, analyzedCode);
+    }
 
-        List<String> deadClasses = newArrayList(analyzedCode.getAnalyzedClasses());
-        deadClasses.removeAll(classesInUse);
+    @Nonnull
+    private Collection<String> determineUnreachableClasses(@Nonnull AnalyzedCode analyzedCode) {
+        IntSet analyzedClasses = analyzedCode.getAnalyzedClassIds();
+        IntMultimap codeDependencies = analyzedCode.getCodeDependencyIds();
+        IntSet roots = new IntSet();
+        for (IntSet.IntIterator dependers = codeDependencies.keys(); dependers.hasNext(); ) {
+            int depender = dependers.next();
+            if (!analyzedClasses.contains(depender)) {
+                roots.add(depender);
+            }
+        }
+        BitSet reachedClasses = new DependencyGraph(analyzedCode.getSymbolTable().size(), codeDependencies)
+                .computeNodesReachableFrom(roots);
+        return collectClassesNotIn(reachedClasses, analyzedCode);
+    }
+
+    @Nonnull
+    private Collection<String> collectClassesNotIn(@Nonnull BitSet classes, @Nonnull AnalyzedCode analyzedCode) {
+        SymbolTable symbolTable = analyzedCode.getSymbolTable();
+        List<String> deadClasses = newArrayList();
+        for (IntSet.IntIterator analyzedClasses = analyzedCode.getAnalyzedClassIds().iterator();
+             analyzedClasses.hasNext(); ) {
+            int analyzedClass = analyzedClasses.next();
+            if (!classes.get(analyzedClass)) {
+                deadClasses.add(symbolTable.symbolOf(analyzedClass));
+            }
+        }
+        // symbol ids depend on the order in which (concurrently analyzed) modules reported their classes
+        Collections.sort(deadClasses);
         return deadClasses;
     }
 
+    /**
+     * Represents the dependencies in compressed sparse row format: the dependees of node <i>n</i> are stored in
+     * <code>dependees</code> from index <code>offsets[n]</code> (inclusive) to <code>offsets[n + 1]</code> (exclusive).
+     * The nodes are the ids of the {@link SymbolTable}.
+     *
+     * @since 2.2.0
+     */
+    private static final class DependencyGraph {
+        @Nonnull
+        private final int[] offsets;
+        @Nonnull
+        private final int[] dependees;
+
+        DependencyGraph(int numberOfNodes, @Nonnull IntMultimap codeDependencies) {
+            offsets = new int[numberOfNodes + 1];
+            for (IntSet.IntIterator dependers = codeDependencies.keys(); dependers.hasNext(); ) {
+                int depender = dependers.next();
+                offsets[depender + 1] = codeDependencies.get(depender).size();
+            }
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] += offsets[i - 1];
+            }
+
+            dependees = new int[offsets[numberOfNodes]];
+            for (IntSet.IntIterator dependers = codeDependencies.keys(); dependers.hasNext(); ) {
+                int depender = dependers.next();
+                int position = offsets[depender];
+                for (IntSet.IntIterator dependee = codeDependencies.get(depender).iterator(); dependee.hasNext(); ) {
+                    dependees[position++] = dependee.next();
+                }
+            }
+        }
+
+        /**
+         * Performs a breadth-first search starting with the given roots.
+         */
+        @Nonnull
+        BitSet computeNodesReachableFrom(@Nonnull IntSet roots) {
+            int numberOfNodes = offsets.length - 1;
+            BitSet reachedNodes = new BitSet(numberOfNodes);
+            int[] queue = new int[numberOfNodes];
+            int head = 0;
+            int tail = 0;
+            for (IntSet.IntIterator root = roots.iterator(); root.hasNext(); ) {
+                int node = root.next();
+                reachedNodes.set(node);
+                queue[tail++] = node;
+            }
+            while (head < tail) {
+                int node = queue[head++];
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    int dependee = dependees[i];
+                    if (!reachedNodes.get(dependee)) {
+                        reachedNodes.set(dependee);
+                        queue[tail++] = dependee;
+                    }
+                }
+            }
+            return reachedNodes;
+        }
+
+    }
+
 }
@@ -1,20 +1,33 @@
 package de.is24.deadcode4j;
 
+import com.google.common.base.Predicate;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
 import org.apache.commons.io.DirectoryWalker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Predicates.not;
+import static com.google.common.collect.Iterables.filter;
+import static com.google.common.collect.Iterables.isEmpty;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.Module.sort;
-import static de.is24.deadcode4j.Utils.getOrAddMappedSet;
+import static de.is24.deadcode4j.Utils.emptyIfNull;
 import static java.util.Arrays.asList;
+import static org.apache.commons.io.IOUtils.closeQuietly;
 
 /**
  * The <code>DeadCodeFinder</code> ties everything together in order to ultimately find dead code.
@@ -23,44 +36,181 @@ import static java.util.Arrays.asList;
  */
 public class DeadCodeFinder {
 
+    private static final Predicate<Analyzer> IS_NOT_THREAD_SAFE = new Predicate<Analyzer>() {
+        @Override
+        public boolean apply(@Nullable Analyzer analyzer) {
+            return analyzer != null && analyzer.getClass().isAnnotationPresent(NotThreadSafe.class);
+        }
+    };
+    private static final Predicate<Analyzer> IS_DEFERRABLE = new Predicate<Analyzer>() {
+        @Override
+        public boolean apply(@Nullable Analyzer analyzer) {
+            return analyzer != null && analyzer.getClass().isAnnotationPresent(DeferrableAnalysis.class);
+        }
+    };
     private final Logger logger = LoggerFactory.getLogger(getClass());
     @Nonnull
     private final DeadCodeComputer deadCodeComputer;
     @Nonnull
     private final Iterable<? extends Analyzer> analyzers;
+    @Nonnull
+    private final Iterable<? extends Analyzer> firstPhaseAnalyzers;
+    @Nonnull
+    private final Iterable<? extends Analyzer> secondPhaseAnalyzers;
+    private final int numberOfThreads;
+    @Nonnull
+    private final SymbolTable symbolTable = new SymbolTable(); // shared by all modules
+    @Nonnull
+    private final ConcurrentMap<Object, Object> reactorCache = new ConcurrentHashMap<Object, Object>();
+    @Nullable
+    private final AnalysisCache analysisCache;
+    private final int classPoolSize;
 
     public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer, @Nonnull Set<? extends Analyzer> analyzers) {
+        this(deadCodeComputer, analyzers, 1);
+    }
+
+    /**
+     * Creates a new <code>DeadCodeFinder</code> analyzing up to <code>numberOfThreads</code> modules concurrently.
+     * A module is analyzed as soon as all of the modules it depends on are analyzed; the results are the same as
+     * those of a sequential analysis.<br/>
+     * The files of a repository are analyzed concurrently as well; analyzers marked as {@link NotThreadSafe} are
+     * called for one file after another afterwards.
+     *
+     * @param numberOfThreads the number of modules & files to analyze concurrently; <code>1</code> means everything
+     *                        is analyzed one after another
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads) {
+        this(deadCodeComputer, analyzers, numberOfThreads, null);
+    }
+
+    /**
+     * Creates a new <code>DeadCodeFinder</code> analyzing up to <code>numberOfThreads</code> modules concurrently.
+     * If an <code>AnalysisCache</code> is given, the analysis of files that haven't changed since the last run is
+     * replayed for all {@link ReplayableAnalysis replayable analyzers}.
+     *
+     * @param analysisCache the cache to use or <code>null</code> if every file should be analyzed
+     * @see #DeadCodeFinder(DeadCodeComputer, Set, int)
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads,
+                          @Nullable AnalysisCache analysisCache) {
+        this(deadCodeComputer, analyzers, numberOfThreads, analysisCache, false);
+    }
+
+    /**
+     * Creates a new <code>DeadCodeFinder</code> analyzing up to <code>numberOfThreads</code> modules concurrently.
+     * If a two-phase analysis is requested, all modules are analyzed by those analyzers not marked as
+     * {@link DeferrableAnalysis deferrable} first; the deferrable analyzers are then called only for those classes
+     * which aren't in use according to the first phase. The results are the same as those of a single-phase analysis.
+     *
+     * @param twoPhaseAnalysis indicates if a two-phase analysis should be performed; this is possible only if the
+     *                         <code>DeadCodeComputer</code> does not compute reachability, as in that case a class
+     *                         being in use may still turn out to be dead
+     * @throws IllegalArgumentException if a two-phase analysis is requested along with a computation of reachability
+     * @see #DeadCodeFinder(DeadCodeComputer, Set, int, AnalysisCache)
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads,
+                          @Nullable AnalysisCache analysisCache,
+                          boolean twoPhaseAnalysis) {
+        this(deadCodeComputer, analyzers, numberOfThreads, analysisCache, twoPhaseAnalysis,
+                AnalysisContext.DEFAULT_CLASS_POOL_SIZE);
+    }
+
+    /**
+     * Creates a new <code>DeadCodeFinder</code> analyzing up to <code>numberOfThreads</code> modules concurrently.
+     * The <code>ClassPool</code> used to examine the classes of a module keeps up to <code>classPoolSize</code>
+     * classes; its cache statistics are logged when the analysis of the module is finished.
+     *
+     * @param classPoolSize the maximum number of classes to keep per module
+     * @see #DeadCodeFinder(DeadCodeComputer, Set, int, AnalysisCache, boolean)
+     * @see AnalysisContext#getClassPoolSize()
+     * @since 2.2.0
+     */
+    public DeadCodeFinder(@Nonnull DeadCodeComputer deadCodeComputer,
+                          @Nonnull Set<? extends Analyzer> analyzers,
+                          int numberOfThreads,
+                          @Nullable AnalysisCache analysisCache,
+                          boolean twoPhaseAnalysis,
+                          int classPoolSize) {
+        checkArgument(numberOfThreads > 0, "[numberOfThreads] must be greater than 0!");
+        checkArgument(classPoolSize > 0, "[classPoolSize] must be greater than 0!");
+        checkArgument(!twoPhaseAnalysis || !deadCodeComputer.computesReachability(),
+                "A two-phase analysis cannot be combined with a reachability analysis!");
         this.deadCodeComputer = deadCodeComputer;
         this.analyzers = newArrayList(analyzers);
+        if (twoPhaseAnalysis) {
+            this.firstPhaseAnalyzers = newArrayList(filter(analyzers, not(IS_DEFERRABLE)));
+            this.secondPhaseAnalyzers = newArrayList(filter(analyzers, IS_DEFERRABLE));
+        } else {
+            this.firstPhaseAnalyzers = this.analyzers;
+            this.secondPhaseAnalyzers = Collections.emptyList();
+        }
+        this.numberOfThreads = numberOfThreads;
+        this.analysisCache = analysisCache;
+        this.classPoolSize = classPoolSize;
     }
 
     @Nonnull
     public DeadCode findDeadCode(@Nonnull Iterable<Module> modules) {
-        AnalyzedCode analyzedCode = analyzeCode(modules);
+        if (this.analysisCache != null) {
+            this.analysisCache.load();
+        }
+        AnalyzedCode analyzedCode;
+        try {
+            analyzedCode = analyzeCode(modules);
+        } finally {
+            clearReactorCache();
+        }
+        if (this.analysisCache != null) {
+            this.analysisCache.store();
+        }
         return computeDeadCode(analyzedCode);
     }
 
+    private void clearReactorCache() {
+        closeCachedValues(this.reactorCache);
+        this.reactorCache.clear();
+    }
+
+    private void closeCachedValues(@Nonnull Map<Object, Object> cache) {
+        for (Object cachedValue : cache.values()) {
+            if (cachedValue instanceof Closeable) {
+                closeQuietly((Closeable) cachedValue);
+            }
+        }
+    }
+
     @Nonnull
     private AnalyzedCode analyzeCode(@Nonnull Iterable<Module> modules) {
+        Iterable<Module> sortedModules = sort(modules);
         List<AnalyzedCode> analyzedCode = newArrayList();
-        IntermediateResults intermediateResults = new IntermediateResults();
-        for (Module module : sort(modules)) {
-            AnalysisContext analysisContext = new AnalysisContext(module, intermediateResults.calculateIntermediateResultsFor(module));
-            for (Repository repository : module.getAllRepositories()) {
-                analyzeRepository(analysisContext, repository);
-            }
-            logger.debug("Finishing analysis of [{}]...", analysisContext);
-            for (Analyzer analyzer : this.analyzers) {
-                analyzer.finishAnalysis(analysisContext);
+        Map<Module, AnalyzedCode> analyzedCodeOfModules =
+                analyzeModules(sortedModules, new Phase(this.firstPhaseAnalyzers, null));
+        for (Module module : sortedModules) {
+            analyzedCode.add(analyzedCodeOfModules.get(module));
+        }
+        if (!isEmpty(this.secondPhaseAnalyzers)) {
+            Set<String> classesInUse = determineClassesInUse(merge(analyzedCode));
+            logger.debug("Analyzing classes not being in use yet with deferred analyzers {}...",
+                    this.secondPhaseAnalyzers);
+            analyzedCodeOfModules = analyzeModules(sortedModules, new Phase(this.secondPhaseAnalyzers, classesInUse));
+            for (Module module : sortedModules) {
+                analyzedCode.add(analyzedCodeOfModules.get(module));
             }
-            logger.debug("Finished analysis of [{}].", analysisContext);
-            intermediateResults.add(analysisContext);
-            analyzedCode.add(analysisContext.getAnalyzedCode());
         }
         logger.debug("Finishing analysis of whole project...");
         AnalyzedCode combinedAnalysis = merge(analyzedCode);
         for (Analyzer analyzer : this.analyzers) {
-            AnalysisSink analysisSink = new AnalysisSink();
+            AnalysisSink analysisSink = new AnalysisSink(this.symbolTable);
             analyzer.finishAnalysis(analysisSink, combinedAnalysis);
             combinedAnalysis = merge(combinedAnalysis, analysisSink);
         }
@@ -68,15 +218,184 @@ public class DeadCodeFinder {
         return combinedAnalysis;
     }
 
+    /**
+     * Determines the analyzed classes something depends on; none of those can be dead no matter what else is
+     * reported.
+     */
+    @Nonnull
+    private Set<String> determineClassesInUse(@Nonnull AnalyzedCode analyzedCode) {
+        DeadCode deadCode = this.deadCodeComputer.computeDeadCode(analyzedCode);
+        Set<String> classesInUse = newHashSet(deadCode.getAnalyzedClasses());
+        classesInUse.removeAll(deadCode.getDeadClasses());
+        logger.debug("{} of {} analyzed classes are in use.", classesInUse.size(), deadCode.getAnalyzedClasses().size());
+        return classesInUse;
+    }
+
+    @Nonnull
+    private Map<Module, AnalyzedCode> analyzeModules(@Nonnull Iterable<Module> sortedModules, @Nonnull Phase phase) {
+        IntermediateResults intermediateResults = new IntermediateResults();
+        if (this.numberOfThreads <= 1) {
+            return analyzeModulesSequentially(sortedModules, phase, intermediateResults);
+        }
+        ExecutorService fileAnalysisExecutor = Executors.newFixedThreadPool(this.numberOfThreads,
+                new ThreadFactoryBuilder().setNameFormat("deadcode4j-file-%d").setDaemon(true).build());
+        try {
+            return analyzeModulesConcurrently(sortedModules, phase, intermediateResults, fileAnalysisExecutor);
+        } finally {
+            fileAnalysisExecutor.shutdownNow();
+        }
+    }
+
+    @Nonnull
+    private Map<Module, AnalyzedCode> analyzeModulesSequentially(@Nonnull Iterable<Module> sortedModules,
+                                                                 @Nonnull Phase phase,
+                                                                 @Nonnull IntermediateResults intermediateResults) {
+        Map<Module, AnalyzedCode> analyzedCode = newHashMap();
+        for (Module module : sortedModules) {
+            analyzedCode.put(module, analyzeModule(module, phase, intermediateResults, null));
+        }
+        return analyzedCode;
+    }
+
+    @Nonnull
+    private Map<Module, AnalyzedCode> analyzeModulesConcurrently(@Nonnull Iterable<Module> sortedModules,
+                                                                 @Nonnull Phase phase,
+                                                                 @Nonnull IntermediateResults intermediateResults,
+                                                                 @Nonnull ExecutorService fileAnalysisExecutor) {
+        Map<Module, Integer> numberOfUnfinishedRequirements = newHashMap();
+        Map<Module, List<Module>> dependentModules = newHashMap();
+        List<Module> modulesToSchedule = newArrayList();
+        for (Module module : sortedModules) {
+            Set<Module> requiredModules = newHashSet(module.getRequiredModules());
+            numberOfUnfinishedRequirements.put(module, requiredModules.size());
+            for (Module requiredModule : requiredModules) {
+                List<Module> modules = dependentModules.get(requiredModule);
+                if (modules == null) {
+                    modules = newArrayList();
+                    dependentModules.put(requiredModule, modules);
+                }
+                modules.add(module);
+            }
+            if (requiredModules.isEmpty()) {
+                modulesToSchedule.add(module);
+            }
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(this.numberOfThreads,
+                new ThreadFactoryBuilder().setNameFormat("deadcode4j-module-%d").setDaemon(true).build());
+        CompletionService<AnalyzedCode> completionService =
+                new ExecutorCompletionService<AnalyzedCode>(executorService);
+        Map<Future<AnalyzedCode>, Module> scheduledModules = newHashMap();
+        Map<Module, AnalyzedCode> analyzedCode = newHashMap();
+        try {
+            scheduleModules(modulesToSchedule, phase, intermediateResults, fileAnalysisExecutor,
+                    completionService, scheduledModules);
+            while (!scheduledModules.isEmpty()) {
+                Future<AnalyzedCode> finishedAnalysis = completionService.take();
+                Module module = scheduledModules.remove(finishedAnalysis);
+                analyzedCode.put(module, getResultOf(finishedAnalysis));
+                modulesToSchedule.clear();
+                for (Module dependentModule : emptyIfNull(dependentModules.get(module))) {
+                    int unfinishedRequirements = numberOfUnfinishedRequirements.get(dependentModule) - 1;
+                    numberOfUnfinishedRequirements.put(dependentModule, unfinishedRequirements);
+                    if (unfinishedRequirements == 0) {
+                        modulesToSchedule.add(dependentModule);
+                    }
+                }
+                scheduleModules(modulesToSchedule, phase, intermediateResults, fileAnalysisExecutor,
+                        completionService, scheduledModules);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the analysis of modules!", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        return analyzedCode;
+    }
+
+    private void scheduleModules(@Nonnull Iterable<Module> modules,
+                                 @Nonnull final Phase phase,
+                                 @Nonnull final IntermediateResults intermediateResults,
+                                 @Nonnull final ExecutorService fileAnalysisExecutor,
+                                 @Nonnull CompletionService<AnalyzedCode> completionService,
+                                 @Nonnull Map<Future<AnalyzedCode>, Module> scheduledModules) {
+        for (final Module module : modules) {
+            logger.debug("Scheduling analysis of [{}].", module);
+            Future<AnalyzedCode> analysis = completionService.submit(new Callable<AnalyzedCode>() {
+                @Override
+                public AnalyzedCode call() {
+                    return analyzeModule(module, phase, intermediateResults, fileAnalysisExecutor);
+                }
+            });
+            scheduledModules.put(analysis, module);
+        }
+    }
+
+    @Nonnull
+    private AnalyzedCode getResultOf(@Nonnull Future<AnalyzedCode> analysis) throws InterruptedException {
+        try {
+            return analysis.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Failed to analyze module!", cause);
+        }
+    }
+
+    @Nonnull
+    private AnalyzedCode analyzeModule(@Nonnull Module module,
+                                       @Nonnull Phase phase,
+                                       @Nonnull IntermediateResults intermediateResults,
+                                       @Nullable ExecutorService fileAnalysisExecutor) {
+        AnalysisContext analysisContext = new AnalysisContext(module,
+                intermediateResults.calculateIntermediateResultsFor(module), this.symbolTable, this.reactorCache,
+                this.classPoolSize);
+        for (Repository repository : module.getAllRepositories()) {
+            analyzeRepository(analysisContext, repository, phase, fileAnalysisExecutor);
+        }
+        logger.debug("Finishing analysis of [{}]...", analysisContext);
+        for (Analyzer analyzer : phase.analyzers) {
+            analyzer.finishAnalysis(analysisContext);
+        }
+        logger.debug("Finished analysis of [{}].", analysisContext);
+        logClassPoolStatistics(analysisContext);
+        intermediateResults.add(analysisContext);
+        closeCachedValues(analysisContext.getCache());
+        return analysisContext.getAnalyzedCode();
+    }
+
+    private void logClassPoolStatistics(@Nonnull AnalysisContext analysisContext) {
+        Object classPoolAccessor = analysisContext.getCache().get(ClassPoolAccessor.class);
+        if (classPoolAccessor != null) {
+            logger.debug("Used [{}] to analyze [{}].",
+                    ((ClassPoolAccessor) classPoolAccessor).getClassPool(), analysisContext.getModule());
+        }
+    }
+
     @Nonnull
     private DeadCode computeDeadCode(@Nonnull AnalyzedCode analyzedCode) {
         return this.deadCodeComputer.computeDeadCode(analyzedCode);
     }
 
-    private void analyzeRepository(@Nonnull AnalysisContext analysisContext, @Nonnull Repository repository) {
-        RepositoryAnalyzer repositoryAnalyzer = new RepositoryAnalyzer(analysisContext, repository, this.analyzers);
+    private void analyzeRepository(@Nonnull AnalysisContext analysisContext,
+                                   @Nonnull Repository repository,
+                                   @Nonnull Phase phase,
+                                   @Nullable ExecutorService fileAnalysisExecutor) {
+        RepositoryAnalyzer repositoryAnalyzer =
+                new RepositoryAnalyzer(analysisContext, repository, this.analysisCache, phase.classesToSkip);
         try {
-            repositoryAnalyzer.analyze();
+            if (fileAnalysisExecutor == null) {
+                repositoryAnalyzer.analyze(phase.analyzers);
+            } else {
+                repositoryAnalyzer.analyzeConcurrently(
+                        phase.threadSafeAnalyzers, phase.notThreadSafeAnalyzers, fileAnalysisExecutor);
+            }
         } catch (IOException e) {
             throw new RuntimeException("This was unexpected; failed to parse files of " + repository + "!", e);
         }
@@ -85,55 +404,160 @@ public class DeadCodeFinder {
     @Nonnull
     private AnalyzedCode merge(@Nonnull List<AnalyzedCode> analyzedCode) {
         EnumSet<AnalysisStage> stagesWithExceptions = EnumSet.noneOf(AnalysisStage.class);
-        Set<String> analyzedClasses = newHashSet();
-        Map<String, Set<String>> dependencies = newHashMap();
+        IntSet analyzedClasses = new IntSet();
+        IntMultimap dependencies = new IntMultimap();
         for (AnalyzedCode code : analyzedCode) {
+            checkState(code.getSymbolTable() == this.symbolTable, "Analyzed code must use the shared symbol table!");
             stagesWithExceptions.addAll(code.getStagesWithExceptions());
-            analyzedClasses.addAll(code.getAnalyzedClasses());
-            for (Map.Entry<String, Set<String>> dependencyEntry : code.getCodeDependencies().entrySet()) {
-                Set<String> knownDependencies = getOrAddMappedSet(dependencies, dependencyEntry.getKey());
-                knownDependencies.addAll(dependencyEntry.getValue());
-            }
+            analyzedClasses.addAll(code.getAnalyzedClassIds());
+            dependencies.putAll(code.getCodeDependencyIds());
         }
-        return new AnalyzedCode(stagesWithExceptions, analyzedClasses, dependencies);
+        return new AnalyzedCode(this.symbolTable, stagesWithExceptions, analyzedClasses, dependencies);
     }
 
     @Nonnull
     private AnalyzedCode merge(@Nonnull AnalyzedCode analyzedCode, @Nonnull AnalysisSink analysisSink) {
         AnalyzedCode analysisToAdd = analysisSink.getAnalyzedCode();
         if (analysisToAdd.getStagesWithExceptions().isEmpty()
-                && analysisToAdd.getAnalyzedClasses().isEmpty()
-                && analysisToAdd.getCodeDependencies().isEmpty()) {
+                && analysisToAdd.getAnalyzedClassIds().isEmpty()
+                && analysisToAdd.getCodeDependencyIds().isEmpty()) {
             return analyzedCode;
         }
         return merge(asList(analyzedCode, analysisToAdd));
     }
 
-    private static class RepositoryAnalyzer extends DirectoryWalker<Void> {
+    /**
+     * Groups the analyzers to call during one phase of the analysis.
+     */
+    private static final class Phase {
+        @Nonnull
+        final Iterable<? extends Analyzer> analyzers;
+        @Nonnull
+        final Iterable<? extends Analyzer> threadSafeAnalyzers;
+        @Nonnull
+        final Iterable<? extends Analyzer> notThreadSafeAnalyzers;
+        /**
+         * the classes whose class files are not to be analyzed; if <code>null</code>, all files are analyzed
+         */
+        @Nullable
+        final Set<String> classesToSkip;
+
+        Phase(@Nonnull Iterable<? extends Analyzer> analyzers, @Nullable Set<String> classesToSkip) {
+            this.analyzers = analyzers;
+            this.threadSafeAnalyzers = newArrayList(filter(analyzers, not(IS_NOT_THREAD_SAFE)));
+            this.notThreadSafeAnalyzers = newArrayList(filter(analyzers, IS_NOT_THREAD_SAFE));
+            this.classesToSkip = classesToSkip;
+        }
+    }
+
+    private static class RepositoryAnalyzer extends DirectoryWalker<File> {
 
         private final Logger logger = LoggerFactory.getLogger(getClass());
         private final AnalysisContext analysisContext;
         private final Repository repository;
-        private final Iterable<? extends Analyzer> analyzers;
+        @Nullable
+        private final AnalysisCache analysisCache;
+        @Nullable
+        private final Set<String> classesToSkip;
+        private Iterable<? extends Analyzer> analyzers;
 
-        public RepositoryAnalyzer(@Nonnull AnalysisContext analysisContext, @Nonnull Repository repository, @Nonnull Iterable<? extends Analyzer> analyzers) {
+        public RepositoryAnalyzer(@Nonnull AnalysisContext analysisContext,
+                                  @Nonnull Repository repository,
+                                  @Nullable AnalysisCache analysisCache,
+                                  @Nullable Set<String> classesToSkip) {
             super(repository.getFileFilter(), -1);
             this.repository = repository;
             this.analysisContext = analysisContext;
-            this.analyzers = analyzers;
+            this.analysisCache = analysisCache;
+            this.classesToSkip = classesToSkip;
         }
 
-        public void analyze() throws IOException {
+        public void analyze(@Nonnull Iterable<? extends Analyzer> analyzers) throws IOException {
             logger.debug("Starting analysis of [{}]...", this.repository);
+            this.analyzers = analyzers;
             super.walk(this.repository.getDirectory(), null);
         }
 
+        public void analyzeConcurrently(@Nonnull final Iterable<? extends Analyzer> threadSafeAnalyzers,
+                                        @Nonnull Iterable<? extends Analyzer> notThreadSafeAnalyzers,
+                                        @Nonnull ExecutorService executorService) throws IOException {
+            logger.debug("Starting concurrent analysis of [{}]...", this.repository);
+            List<File> files = newArrayList();
+            super.walk(this.repository.getDirectory(), files);
+
+            List<Future<?>> analyses = newArrayListWithCapacity(files.size());
+            for (final File file : files) {
+                analyses.add(executorService.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        analyzeFile(file, threadSafeAnalyzers);
+                    }
+                }));
+            }
+            try {
+                for (Future<?> analysis : analyses) {
+                    waitFor(analysis);
+                }
+            } finally {
+                for (Future<?> analysis : analyses) {
+                    analysis.cancel(true);
+                }
+            }
+
+            if (!isEmpty(notThreadSafeAnalyzers)) {
+                for (File file : files) {
+                    analyzeFile(file, notThreadSafeAnalyzers);
+                }
+            }
+            logger.debug("Analysis of [{}] is done.", this.repository);
+        }
+
         @Override
-        protected void handleFile(File file, int depth, Collection results) {
+        protected void handleFile(File file, int depth, Collection<File> results) {
+            if (!isToBeAnalyzed(file)) {
+                return;
+            }
+            if (results != null) {
+                results.add(file);
+            } else {
+                analyzeFile(file, this.analyzers);
+            }
+        }
+
+        @Override
+        protected void handleEnd(Collection<File> results) {
+            if (results == null) {
+                logger.debug("Analysis of [{}] is done.", this.repository);
+            }
+        }
+
+        /**
+         * Indicates if the given file is to be analyzed: if classes are to be skipped, only the class files of the
+         * other classes are analyzed.
+         */
+        private boolean isToBeAnalyzed(@Nonnull File file) {
+            if (this.classesToSkip == null) {
+                return true;
+            }
+            String fileName = file.getAbsolutePath();
+            if (!fileName.endsWith(".class")) {
+                return false;
+            }
+            String className = fileName.substring(
+                    this.repository.getDirectory().getAbsolutePath().length() + 1, fileName.length() - ".class".length())
+                    .replace(File.separatorChar, '.');
+            return !this.classesToSkip.contains(className);
+        }
+
+        private void analyzeFile(@Nonnull File file, @Nonnull Iterable<? extends Analyzer> analyzers) {
             logger.debug("Analyzing file [{}]...", file);
-            for (Analyzer analyzer : this.analyzers) {
+            for (Analyzer analyzer : analyzers) {
                 try {
-                    analyzer.doAnalysis(this.analysisContext, file);
+                    if (this.analysisCache == null) {
+                        analyzer.doAnalysis(this.analysisContext, file);
+                    } else {
+                        this.analysisCache.analyze(analyzer, this.analysisContext, file);
+                    }
                 } catch (RuntimeException rE) {
                     logger.warn("Analyzer [{}] failed to analyze file [{}]!", analyzer, file, rE);
                     analysisContext.addException(AnalysisStage.FILE_ANALYSIS);
@@ -141,9 +565,19 @@ public class DeadCodeFinder {
             }
         }
 
-        @Override
-        protected void handleEnd(Collection<Void> results) {
-            logger.debug("Analysis of [{}] is done.", this.repository);
+        private void waitFor(@Nonnull Future<?> analysis) {
+            try {
+                analysis.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the analysis of " + this.repository + "!", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException("Failed to analyze files of " + this.repository + "!", cause);
+            }
         }
 
     }
@@ -0,0 +1,26 @@
+package de.is24.deadcode4j;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an {@link Analyzer} that does nothing but mark the classes it analyzes as being in use, i.e.
+ * <ul>
+ * <li>for a class file, it reports at most the class itself as being analyzed and dependencies on that very
+ * class</li>
+ * <li>it reports nothing for any other file</li>
+ * <li>it keeps no state other analyzers or modules depend on</li>
+ * </ul>
+ * If the {@link DeadCodeFinder} performs a two-phase analysis, such an analyzer is deferred to the second phase and
+ * called only for those classes no other analyzer reported to be in use - for any other class, it could not change
+ * the result.
+ * <p/>
+ * This annotation is retained at runtime.
+ *
+ * @since 2.2.0
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DeferrableAnalysis {
+}
@@ -0,0 +1,115 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static de.is24.deadcode4j.IntSet.FREE;
+import static de.is24.deadcode4j.IntSet.newSlots;
+import static de.is24.deadcode4j.IntSet.slotFor;
+
+/**
+ * An <code>IntMultimap</code> maps non-negative <code>int</code> keys to {@link IntSet}s using open addressing, i.e.
+ * it stores the keys without boxing them.<br/>
+ * Instances are <b>not</b> thread-safe.
+ *
+ * @since 2.2.0
+ */
+final class IntMultimap {
+    private int[] keys;
+    private IntSet[] values;
+    private int size;
+
+    IntMultimap() {
+        this.keys = newSlots(16);
+        this.values = new IntSet[16];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffy = new StringBuilder("{");
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                if (buffy.length() > 1) {
+                    buffy.append(", ");
+                }
+                buffy.append(keys[slot]).append('=').append(values[slot]);
+            }
+        }
+        return buffy.append('}').toString();
+    }
+
+    /**
+     * Returns the values mapped to the given key or <code>null</code> if there are none.
+     */
+    @Nullable
+    IntSet get(int key) {
+        if (key < 0) {
+            return null;
+        }
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : null;
+    }
+
+    /**
+     * Returns the values mapped to the given key; if there are none, an empty set is mapped and returned.
+     */
+    @Nonnull
+    IntSet getOrAdd(int key) {
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            return values[slot];
+        }
+        IntSet value = new IntSet();
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+        return value;
+    }
+
+    void putAll(@Nonnull IntMultimap other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != FREE) {
+                getOrAdd(other.keys[slot]).addAll(other.values[slot]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Nonnull
+    IntSet.IntIterator keys() {
+        return new IntSet.SlotIterator(keys);
+    }
+
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys;
+        IntSet[] oldValues = values;
+        keys = newSlots(oldKeys.length * 2);
+        values = new IntSet[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+}
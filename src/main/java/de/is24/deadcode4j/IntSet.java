@@ -0,0 +1,158 @@
+package de.is24.deadcode4j;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An <code>IntSet</code> is a set of non-negative <code>int</code> values using open addressing, i.e. it stores the
+ * values without boxing them.<br/>
+ * Instances are <b>not</b> thread-safe.
+ *
+ * @since 2.2.0
+ */
+final class IntSet {
+    static final int FREE = -1;
+    private int[] slots;
+    private int size;
+
+    IntSet() {
+        this.slots = newSlots(8);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buffy = new StringBuilder("[");
+        for (IntIterator iterator = iterator(); iterator.hasNext(); ) {
+            buffy.append(iterator.next());
+            if (iterator.hasNext()) {
+                buffy.append(", ");
+            }
+        }
+        return buffy.append(']').toString();
+    }
+
+    /**
+     * Returns the slot for the given hash code, spreading sequential values among the slots.
+     */
+    static int slotFor(int hashCode, int mask) {
+        int hash = hashCode * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, FREE);
+        return slots;
+    }
+
+    /**
+     * Adds the given value.
+     *
+     * @return <code>true</code> if the value was not contained before
+     */
+    boolean add(int value) {
+        int slot = slotOf(value);
+        if (slots[slot] == value) {
+            return false;
+        }
+        slots[slot] = value;
+        if (++size * 2 > slots.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    void addAll(IntSet other) {
+        for (int value : other.slots) {
+            if (value != FREE) {
+                add(value);
+            }
+        }
+    }
+
+    boolean contains(int value) {
+        return value >= 0 && slots[slotOf(value)] == value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    IntIterator iterator() {
+        return new SlotIterator(slots);
+    }
+
+    private int slotOf(int value) {
+        int mask = slots.length - 1;
+        int slot = slotFor(value, mask);
+        while (slots[slot] != FREE && slots[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        int[] oldSlots = slots;
+        slots = newSlots(oldSlots.length * 2);
+        for (int value : oldSlots) {
+            if (value != FREE) {
+                slots[slotOf(value)] = value;
+            }
+        }
+    }
+
+    /**
+     * Iterates over <code>int</code> values without boxing them.
+     *
+     * @since 2.2.0
+     */
+    interface IntIterator {
+
+        boolean hasNext();
+
+        int next();
+
+    }
+
+    /**
+     * Iterates over the occupied slots of an open addressing table.
+     *
+     * @since 2.2.0
+     */
+    static final class SlotIterator implements IntIterator {
+        private final int[] slots;
+        private int nextSlot = -1;
+
+        SlotIterator(int[] slots) {
+            this.slots = slots;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextSlot < slots.length;
+        }
+
+        @Override
+        public int next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int value = slots[nextSlot];
+            advance();
+            return value;
+        }
+
+        private void advance() {
+            do {
+                nextSlot++;
+            } while (nextSlot < slots.length && slots[nextSlot] == FREE);
+        }
+
+    }
+
+}
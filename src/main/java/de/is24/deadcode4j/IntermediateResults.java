@@ -7,15 +7,23 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 
 /**
  * Instances of <code>IntermediateResults</code> are used to keep track of and calculate the {@link IntermediateResult}s
- * produced by and being made available to {@link AnalysisContext} instances, respectively.
+ * produced by and being made available to {@link AnalysisContext} instances, respectively.<br/>
+ * Instances are thread-safe, i.e. modules may be analyzed concurrently.<br/>
+ * The intermediate results calculated for a module are memoized until the results of the module itself or one of
+ * the modules it requires are {@link #add(AnalysisContext) added}, so each module's results are merged only once even
+ * if it is required by many modules.
  *
  * @since 2.0.0
  */
@@ -24,6 +32,8 @@ public final class IntermediateResults {
     private final Logger logger = LoggerFactory.getLogger(getClass());
     @Nonnull
     private final Map<Module, Map<Object, IntermediateResult>> intermediateResults = newHashMap();
+    @Nonnull
+    private final Map<Module, Map<Object, IntermediateResult>> calculatedResults = newHashMap();
 
     /**
      * Returns an <code>IntermediateResultSet</code> for the given <code>Set</code>.<br/>
@@ -78,18 +88,21 @@ public final class IntermediateResults {
      *
      * @since 2.0.0
      */
-    public void add(@Nonnull AnalysisContext analysisContext) {
-        intermediateResults.put(analysisContext.getModule(), getIntermediateResultsOf(analysisContext));
+    public synchronized void add(@Nonnull AnalysisContext analysisContext) {
+        Module module = analysisContext.getModule();
+        intermediateResults.put(module, getIntermediateResultsOf(analysisContext));
+        discardCalculatedResultsDependingOn(module);
     }
 
     /**
      * Calculates the intermediate results being available for the specified module.
+     * The returned <code>Map</code> is read-only.
      *
      * @since 2.0.0
      */
     @Nonnull
-    public Map<Object, IntermediateResult> calculateIntermediateResultsFor(@Nonnull Module module) {
-        return calculateIntermediateResults(module);
+    public synchronized Map<Object, IntermediateResult> calculateIntermediateResultsFor(@Nonnull Module module) {
+        return Collections.unmodifiableMap(calculateIntermediateResults(module));
     }
 
     @Nonnull
@@ -105,10 +118,46 @@ public final class IntermediateResults {
         return intermediateResults;
     }
 
+    private void discardCalculatedResultsDependingOn(@Nonnull Module addedModule) {
+        if (calculatedResults.isEmpty()) {
+            return;
+        }
+        Map<Module, Boolean> knownDependencies = newHashMap();
+        for (Iterator<Module> iterator = calculatedResults.keySet().iterator(); iterator.hasNext(); ) {
+            if (dependsOn(iterator.next(), addedModule, knownDependencies)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean dependsOn(@Nonnull Module module,
+                              @Nonnull Module addedModule,
+                              @Nonnull Map<Module, Boolean> knownDependencies) {
+        if (module.equals(addedModule)) {
+            return true;
+        }
+        Boolean dependsOn = knownDependencies.get(module);
+        if (dependsOn == null) {
+            dependsOn = false;
+            for (Module requiredModule : module.getRequiredModules()) {
+                if (dependsOn(requiredModule, addedModule, knownDependencies)) {
+                    dependsOn = true;
+                    break;
+                }
+            }
+            knownDependencies.put(module, dependsOn);
+        }
+        return dependsOn;
+    }
+
     @Nonnull
     private Map<Object, IntermediateResult> calculateIntermediateResults(@Nonnull Module module) {
-        Map<Object, IntermediateResult> results = calculateResultsOfParentsFor(module);
-        mergeWithResultsOf(module, results);
+        Map<Object, IntermediateResult> results = calculatedResults.get(module);
+        if (results == null) {
+            results = calculateResultsOfParentsFor(module);
+            mergeWithResultsOf(module, results);
+            calculatedResults.put(module, results);
+        }
         return results;
     }
 
@@ -149,6 +198,7 @@ public final class IntermediateResults {
     /**
      * An <code>IntermediateResultSet</code> is an implementation of {@link de.is24.deadcode4j.IntermediateResult} using
      * a <code>Set</code> to store the results. Concerning merging with siblings & parents, it simply adds both sets.
+     * As the results are read-only, merging returns the instance itself if it already contains all results.
      *
      * @since 2.0.0
      */
@@ -163,7 +213,12 @@ public final class IntermediateResults {
          * @since 2.0.0
          */
         public IntermediateResultSet(@Nonnull Collection<E> results) {
-            this.results = Collections.unmodifiableSet(newHashSet(results));
+            this(newHashSet(results));
+        }
+
+        // takes ownership of the given set
+        private IntermediateResultSet(@Nonnull HashSet<E> results) {
+            this.results = Collections.unmodifiableSet(results);
         }
 
         @Override
@@ -195,8 +250,12 @@ public final class IntermediateResults {
 
         @Nonnull
         private IntermediateResult merge(@Nonnull IntermediateResult result) {
-            Set<E> mergedResults = newHashSet(this.results);
-            mergedResults.addAll(getResults(result));
+            Set<E> otherResults = getResults(result);
+            if (otherResults == this.results || this.results.containsAll(otherResults)) {
+                return this;
+            }
+            HashSet<E> mergedResults = newHashSet(this.results);
+            mergedResults.addAll(otherResults);
             return new IntermediateResultSet<E>(mergedResults);
         }
 
@@ -220,6 +279,7 @@ public final class IntermediateResults {
      * </ul>
      * </li>
      * </ul>
+     * As the results are read-only, merging returns the instance itself if it already contains all results.
      *
      * @since 2.0.0
      */
@@ -235,7 +295,12 @@ public final class IntermediateResults {
          * @since 2.0.0
          */
         public IntermediateResultMap(@Nonnull Map<K, V> results) {
-            this.results = Collections.unmodifiableMap(newHashMap(results));
+            this(newHashMap(results));
+        }
+
+        // takes ownership of the given map
+        private IntermediateResultMap(@Nonnull HashMap<K, V> results) {
+            this.results = Collections.unmodifiableMap(results);
         }
 
         @Nonnull
@@ -269,20 +334,50 @@ public final class IntermediateResults {
         @Nonnull
         @SuppressWarnings("unchecked")
         private IntermediateResult merge(@Nonnull IntermediateResult result) {
-            Map<K, V> mergedResults = newHashMap(getResults());
-            for (Map.Entry<K, V> resultEntry : getResults(result).entrySet()) {
+            Map<K, V> otherResults = getResults(result);
+            if (otherResults == this.results) {
+                return this;
+            }
+            HashMap<K, V> mergedResults = null; // copied on first modification
+            for (Map.Entry<K, V> resultEntry : otherResults.entrySet()) {
                 K key = resultEntry.getKey();
                 V value = resultEntry.getValue();
-                V existingResult = mergedResults.get(key);
+                V existingResult = mergedResults == null ? this.results.get(key) : mergedResults.get(key);
+                V mergedValue = null;
                 if (existingResult == null) {
-                    mergedResults.put(key, value);
+                    mergedValue = value;
                 } else if (Collection.class.isInstance(existingResult)) {
-                    Collection.class.cast(existingResult).addAll(Collection.class.cast(value));
+                    if (!containsAll((Collection) existingResult, (Collection) value)) {
+                        mergedValue = (V) mergeCollections((Collection) existingResult, (Collection) value);
+                    }
                 } else if (!existingResult.equals(value)) {
                     logger.debug("Intermediate result [{}] refers to [{}] and [{}] defined by different modules, keeping the former.", key, existingResult, value);
                 }
+                if (mergedValue != null) {
+                    if (mergedResults == null) {
+                        mergedResults = newHashMap(this.results);
+                    }
+                    mergedResults.put(key, mergedValue);
+                }
             }
-            return new IntermediateResultMap<K, V>(mergedResults);
+            return mergedResults == null ? this : new IntermediateResultMap<K, V>(mergedResults);
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean containsAll(@Nonnull Collection existingResult, @Nonnull Collection value) {
+            // merging lists keeps duplicates, so only sets can be shared
+            return Set.class.isInstance(existingResult)
+                    && (existingResult == value || existingResult.containsAll(value));
+        }
+
+        @Nonnull
+        @SuppressWarnings("unchecked")
+        private Collection mergeCollections(@Nonnull Collection existingResult, @Nonnull Collection value) {
+            // the stored collections are shared with other results, so they must not be modified
+            Collection mergedCollection = Set.class.isInstance(existingResult)
+                    ? newHashSet(existingResult) : newArrayList(existingResult);
+            mergedCollection.addAll(value);
+            return mergedCollection;
         }
 
         @Nonnull
@@ -0,0 +1,20 @@
+package de.is24.deadcode4j;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an {@link Analyzer} that must not analyze several files concurrently, e.g. because it keeps state that
+ * depends on the order in which files are processed.<br/>
+ * If files are analyzed concurrently, such an analyzer is called for one file after another, in the order in which
+ * they were found.
+ * <p/>
+ * Contrary to <code>javax.annotation.concurrent.NotThreadSafe</code>, this annotation is retained at runtime.
+ *
+ * @since 2.2.0
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface NotThreadSafe {
+}
@@ -0,0 +1,25 @@
+package de.is24.deadcode4j;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an {@link Analyzer} whose analysis of a file can be replayed from an {@link AnalysisCache}, i.e.
+ * <ul>
+ * <li>what it reports for a file depends on nothing but the file's content and the analyzer's configuration, which
+ * must be reflected by its <code>toString()</code> representation</li>
+ * <li>it keeps no per-module state besides what it reports to the {@link AnalysisContext}, so its
+ * <code>finishAnalysis</code> hooks see the same data regardless of whether a file was analyzed or replayed</li>
+ * </ul>
+ * If an analysis cache is used, such an analyzer is not called for files that haven't changed since the last run;
+ * instead, the classes, dependencies & exceptions it reported back then are reported again.
+ * <p/>
+ * This annotation is retained at runtime.
+ *
+ * @since 2.2.0
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ReplayableAnalysis {
+}
@@ -0,0 +1,78 @@
+package de.is24.deadcode4j;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static de.is24.deadcode4j.IntSet.FREE;
+
+/**
+ * A <code>SymbolTable</code> maps each symbol (i.e. a class name or a conceptual depender like <tt>_Spring-XML_</tt>)
+ * to a dense <code>int</code> id, so that the analysis results of all modules can be stored as primitive ids while
+ * each name is stored only once.<br/>
+ * Instances are thread-safe: known symbols and ids are resolved without locking, only assigning a new id is
+ * serialized.
+ *
+ * @since 2.2.0
+ */
+final class SymbolTable {
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>(1024);
+    private final Object newSymbolLock = new Object();
+    // append-only; a symbol is written before the (volatile) size is increased, thus reading size first is safe
+    private volatile String[] symbols = new String[512];
+    private volatile int size;
+
+    @Override
+    public String toString() {
+        return "SymbolTable with " + size() + " symbols";
+    }
+
+    /**
+     * Returns the id of the given symbol; if the symbol is unknown, a new id is assigned.
+     */
+    int idOf(@Nonnull String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : addSymbol(symbol);
+    }
+
+    /**
+     * Returns the id of the given symbol or <code>-1</code> if the symbol is unknown.
+     */
+    int lookUp(@Nonnull String symbol) {
+        Integer id = ids.get(symbol);
+        return id != null ? id : FREE;
+    }
+
+    @Nonnull
+    String symbolOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("There's no symbol with id [" + id + "]!");
+        }
+        return symbols[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int addSymbol(String symbol) {
+        synchronized (newSymbolLock) {
+            Integer existingId = ids.get(symbol);
+            if (existingId != null) {
+                return existingId;
+            }
+            int id = size;
+            String[] currentSymbols = symbols;
+            if (id == currentSymbols.length) {
+                currentSymbols = Arrays.copyOf(currentSymbols, id * 2);
+            }
+            currentSymbols[id] = symbol;
+            symbols = currentSymbols;
+            size = id + 1;
+            ids.put(symbol, id);
+            return id;
+        }
+    }
+
+}
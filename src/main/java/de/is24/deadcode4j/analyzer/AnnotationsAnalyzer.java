@@ -11,15 +11,17 @@ import javax.annotation.Nonnull;
 import java.lang.annotation.Inherited;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newConcurrentMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
-import static de.is24.javassist.CtClasses.*;
+import static de.is24.deadcode4j.analyzer.javassist.TypeHierarchy.typeHierarchyFor;
+import static de.is24.javassist.CtClasses.getCtClass;
 import static java.lang.annotation.ElementType.PACKAGE;
 import static java.lang.annotation.ElementType.TYPE;
-import static java.util.Collections.disjoint;
 import static java.util.Collections.emptySet;
 
 /**
@@ -27,12 +29,22 @@ import static java.util.Collections.emptySet;
  *
  * @since 1.3
  */
-public abstract class AnnotationsAnalyzer extends ByteCodeAnalyzer {
+public abstract class AnnotationsAnalyzer extends MarkerAnalyzer {
     private static final Set<String> DEAD_ENDS = newHashSet(
             "java.lang.annotation.Documented",
             "java.lang.annotation.Inherited",
             "java.lang.annotation.Retention",
             "java.lang.annotation.Target");
+    private static final String META_ANNOTATIONS_KEY = AnnotationsAnalyzer.class.getName() + "|metaAnnotations";
+    private static final String SUPERCLASS_ANNOTATIONS_KEY = AnnotationsAnalyzer.class.getName() + "|superclassAnnotations";
+    private static final NonNullFunction<AnalysisContext, ConcurrentMap<String, Set<String>>> ANNOTATIONS_CACHE_SUPPLIER =
+            new NonNullFunction<AnalysisContext, ConcurrentMap<String, Set<String>>>() {
+                @Nonnull
+                @Override
+                public ConcurrentMap<String, Set<String>> apply(@Nonnull AnalysisContext input) {
+                    return newConcurrentMap();
+                }
+            };
     private final String dependerId;
     private final NonNullFunction<AnalysisContext, Set<String>> supplyAnnotationsFoundInClassPath;
     private final NonNullFunction<AnalysisContext, List<String>> supplyAnnotationsMarkedAsInherited = new NonNullFunction<AnalysisContext, List<String>>() {
@@ -90,56 +102,103 @@ public abstract class AnnotationsAnalyzer extends ByteCodeAnalyzer {
         this(dependerId, newHashSet(annotations));
     }
 
-    @Override
-    protected final void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        Set<String> availableAnnotations = getAnnotationsFoundInClassPath(analysisContext);
-        if (availableAnnotations.isEmpty()) {
-            return;
+    /**
+     * Retrieves the annotations of a package/class along with all of their (transitive) meta annotations.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static Set<String> getAllAnnotationsOf(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        Set<String> allAnnotations = newHashSet();
+        ConcurrentMap<String, Set<String>> metaAnnotations =
+                analysisContext.getOrCreateCacheEntry(META_ANNOTATIONS_KEY, ANNOTATIONS_CACHE_SUPPLIER);
+        for (Annotation annotation : getAnnotations(clazz, PACKAGE, TYPE)) {
+            allAnnotations.addAll(getAnnotationClosure(metaAnnotations, clazz.getClassPool(), annotation.getTypeName()));
         }
+        return allAnnotations;
+    }
 
-        String className = clazz.getName();
-        analysisContext.addAnalyzedClass(className);
+    /**
+     * Retrieves the annotations of all superclasses of a class.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static Set<String> getAnnotationsOfSuperclassesOf(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        Set<String> inheritedAnnotations = newHashSet();
+        ConcurrentMap<String, Set<String>> annotationsOfSuperclasses =
+                analysisContext.getOrCreateCacheEntry(SUPERCLASS_ANNOTATIONS_KEY, ANNOTATIONS_CACHE_SUPPLIER);
+        for (String superclass : typeHierarchyFor(analysisContext).getSuperclassesOf(clazz)) {
+            Set<String> annotations = annotationsOfSuperclasses.get(superclass);
+            if (annotations == null) {
+                annotations = getAnnotationsOfSuperclass(clazz.getClassPool(), superclass);
+                annotationsOfSuperclasses.putIfAbsent(superclass, annotations);
+            }
+            inheritedAnnotations.addAll(annotations);
+        }
+        return inheritedAnnotations;
+    }
 
-        Set<String> allAnnotations = newHashSet();
-        addAnnotations(clazz, allAnnotations);
-        allAnnotations.addAll(getInheritedAnnotations(analysisContext, clazz));
+    @Override
+    void registerMarkers(@Nonnull AnalysisContext analysisContext, @Nonnull MarkerIndex markerIndex) {
+        Set<String> availableAnnotations = getAnnotationsFoundInClassPath(analysisContext);
+        if (!availableAnnotations.isEmpty()) {
+            markerIndex.addAnnotations(this.dependerId, availableAnnotations,
+                    !getAnnotationsMarkedAsInherited(analysisContext).isEmpty());
+        }
+    }
 
-        if (!disjoint(availableAnnotations, allAnnotations)) {
-            analysisContext.addDependencies(this.dependerId, className);
+    /**
+     * Returns the given annotation along with all of its (transitive) meta annotations. The closure is computed once
+     * per annotation and module; an annotation missing from the class path is cached as having no meta annotations.
+     */
+    @Nonnull
+    private static Set<String> getAnnotationClosure(@Nonnull ConcurrentMap<String, Set<String>> metaAnnotations,
+                                                    @Nonnull ClassPool classPool,
+                                                    @Nonnull String annotationClassName) {
+        Set<String> closure = metaAnnotations.get(annotationClassName);
+        if (closure == null) {
+            closure = newHashSet();
+            addAnnotationClosure(metaAnnotations, classPool, annotationClassName, closure);
+            metaAnnotations.putIfAbsent(annotationClassName, closure);
         }
+        return closure;
     }
 
-    private void addAnnotations(@Nonnull CtClass clazz, Set<String> knownAnnotations) {
-        for (Annotation annotation : getAnnotations(clazz, PACKAGE, TYPE)) {
-            String annotationClassName = annotation.getTypeName();
-            if (!knownAnnotations.add(annotationClassName)) {
-                continue;
-            }
-            if (DEAD_ENDS.contains(annotationClassName)) {
-                continue;
-            }
-            CtClass annotationClazz = getCtClass(clazz.getClassPool(), annotationClassName);
-            if (annotationClazz != null) {
-                addAnnotations(annotationClazz, knownAnnotations);
+    private static void addAnnotationClosure(@Nonnull ConcurrentMap<String, Set<String>> metaAnnotations,
+                                             @Nonnull ClassPool classPool,
+                                             @Nonnull String annotationClassName,
+                                             @Nonnull Set<String> knownAnnotations) {
+        if (!knownAnnotations.add(annotationClassName)) {
+            return;
+        }
+        Set<String> closure = metaAnnotations.get(annotationClassName);
+        if (closure != null) {
+            knownAnnotations.addAll(closure);
+            return;
+        }
+        if (DEAD_ENDS.contains(annotationClassName)) {
+            return;
+        }
+        CtClass annotationClazz = getCtClass(classPool, annotationClassName);
+        if (annotationClazz != null) {
+            for (Annotation annotation : getAnnotations(annotationClazz, PACKAGE, TYPE)) {
+                addAnnotationClosure(metaAnnotations, classPool, annotation.getTypeName(), knownAnnotations);
             }
         }
     }
 
     @Nonnull
-    private Set<String> getInheritedAnnotations(@Nonnull final AnalysisContext analysisContext, @Nonnull final CtClass clazz) {
-        List<String> annotationsMarkedAsInherited = getAnnotationsMarkedAsInherited(analysisContext);
-        if (annotationsMarkedAsInherited.isEmpty()) {
+    private static Set<String> getAnnotationsOfSuperclass(@Nonnull ClassPool classPool, @Nonnull String superclassName) {
+        CtClass superclass = "java.lang.Object".equals(superclassName) ? null : classPool.getOrNull(superclassName);
+        if (superclass == null) {
             return emptySet();
         }
-        Set<String> inheritedAnnotations = newHashSet();
-        CtClass loopClass = getSuperclassOf(clazz);
-        while (loopClass != null && !isJavaLangObject(loopClass)) {
-            for (Annotation annotation : getAnnotations(loopClass, PACKAGE, TYPE)) {
-                inheritedAnnotations.add(annotation.getTypeName());
-            }
-            loopClass = getSuperclassOf(loopClass);
+        Set<String> annotations = newHashSet();
+        for (Annotation annotation : getAnnotations(superclass, PACKAGE, TYPE)) {
+            annotations.add(annotation.getTypeName());
         }
-        return inheritedAnnotations;
+        return annotations;
     }
 
     @Nonnull
@@ -1,11 +1,14 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
+
 /**
  * Analyzes <a href="http://tiles.apache.org/">Apache Tiles</a> definition XML files: lists the preparer, bean & item
  * classes being referenced.
  *
  * @since 1.5
  */
+@ReplayableAnalysis
 public final class ApacheTilesAnalyzer extends SimpleXmlAnalyzer {
 
     public ApacheTilesAnalyzer() {
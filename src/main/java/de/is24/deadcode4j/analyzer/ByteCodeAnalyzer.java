@@ -1,7 +1,10 @@
 package de.is24.deadcode4j.analyzer;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.cache.LoadingCache;
+import de.is24.bytecode.ConstantPool;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.guava.NonNullFunction;
 import de.is24.guava.SequentialLoadingCache;
@@ -11,18 +14,20 @@ import javassist.CtMethod;
 import javassist.bytecode.AnnotationsAttribute;
 import javassist.bytecode.AttributeInfo;
 import javassist.bytecode.annotation.Annotation;
-import org.apache.commons.io.IOUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.lang.annotation.ElementType;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.base.Optional.of;
 import static com.google.common.collect.Lists.newArrayList;
+import static de.is24.deadcode4j.analyzer.FileContents.contentOf;
+import static de.is24.deadcode4j.analyzer.FileContents.openStream;
 import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
 import static de.is24.guava.NonNullFunctions.toFunction;
 import static java.lang.annotation.ElementType.FIELD;
@@ -42,23 +47,49 @@ public abstract class ByteCodeAnalyzer extends AnalyzerAdapter {
                 @Nonnull
                 @Override
                 public LoadingCache<File, Optional<CtClass>> apply(@Nonnull final AnalysisContext analysisContext) {
-                    return SequentialLoadingCache.createSingleValueCache(toFunction(new NonNullFunction<File, Optional<CtClass>>() {
+                    return SequentialLoadingCache.createThreadConfinedSingleValueCache(toFunction(new NonNullFunction<File, Optional<CtClass>>() {
                         @Nonnull
                         @Override
                         public Optional<CtClass> apply(@Nonnull File file) {
-                            FileInputStream in = null;
                             try {
-                                in = new FileInputStream(file);
-                                return of(classPoolAccessorFor(analysisContext).getClassPool().makeClass(in));
+                                return of(classPoolAccessorFor(analysisContext).getClassPool()
+                                        .makeClass(openStream(analysisContext, file)));
                             } catch (IOException e) {
                                 throw new RuntimeException("Could not load class from [" + file + "]!", e);
-                            } finally {
-                                IOUtils.closeQuietly(in);
                             }
                         }
                     }));
                 }
             };
+    private static final NonNullFunction<AnalysisContext, LoadingCache<File, Optional<ConstantPool>>> CONSTANT_POOL_SUPPLIER =
+            new NonNullFunction<AnalysisContext, LoadingCache<File, Optional<ConstantPool>>>() {
+                @Nonnull
+                @Override
+                public LoadingCache<File, Optional<ConstantPool>> apply(@Nonnull final AnalysisContext analysisContext) {
+                    return SequentialLoadingCache.createThreadConfinedSingleValueCache(toFunction(new NonNullFunction<File, Optional<ConstantPool>>() {
+                        @Nonnull
+                        @Override
+                        public Optional<ConstantPool> apply(@Nonnull File file) {
+                            return of(ConstantPool.of(contentOf(analysisContext, file)));
+                        }
+                    }));
+                }
+            };
+    private final Supplier<byte[][]> requiredConstantPrefixes = Suppliers.memoize(new Supplier<byte[][]>() {
+        @Override
+        public byte[][] get() {
+            Collection<String> prefixes = getRequiredConstantPrefixes();
+            if (prefixes == null) {
+                return null;
+            }
+            byte[][] encodedPrefixes = new byte[prefixes.size()][];
+            int i = 0;
+            for (String prefix : prefixes) {
+                encodedPrefixes[i++] = ConstantPool.toModifiedUtf8(prefix);
+            }
+            return encodedPrefixes;
+        }
+    });
 
     /**
      * Retrieves all annotations of a package/class and its members (if requested).
@@ -102,13 +133,60 @@ public abstract class ByteCodeAnalyzer extends AnalyzerAdapter {
         return analysisContext.getOrCreateCacheEntry(ByteCodeAnalyzer.class, SUPPLIER);
     }
 
+    /**
+     * Returns the scanned constant pool of the given class file; the last one scanned by the current thread is cached,
+     * so that pre-screening & analyzing a class file requires only one scan of its constant pool.
+     */
+    @Nonnull
+    static ConstantPool constantPoolOf(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        return analysisContext.getOrCreateCacheEntry(ConstantPool.class, CONSTANT_POOL_SUPPLIER).getUnchecked(file).get();
+    }
+
     @Override
     public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        if (file.getName().endsWith(".class")) {
-            CtClass ctClass = getClassLoader(analysisContext).getUnchecked(file).get();
-            logger.debug("Analyzing class [{}]...", ctClass.getName());
-            analyzeClass(analysisContext, ctClass);
+        if (file.getName().endsWith(".class") && isOfInterest(analysisContext, file)) {
+            analyzeClassFile(analysisContext, file);
+        }
+    }
+
+    /**
+     * Returns the prefixes of the constants a class must refer to in order to be of interest for this analyzer:
+     * a class is analyzed only if at least one <code>UTF8</code> constant of its constant pool starts with one of
+     * these prefixes, e.g. <code>Lorg/hibernate/annotations/</code> for the descriptors of Hibernate's annotations.
+     * Any other class is only reported as being analyzed - without being materialized at all.<br/>
+     * The prefixes are requested only once. The default implementation returns <code>null</code>, i.e. every class is
+     * analyzed.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    protected Collection<String> getRequiredConstantPrefixes() {
+        return null;
+    }
+
+    private boolean isOfInterest(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        byte[][] prefixes = requiredConstantPrefixes.get();
+        if (prefixes == null) {
+            return true;
         }
+        ConstantPool constantPool = constantPoolOf(analysisContext, file);
+        if (constantPool.containsUtf8StartingWithAnyOf(prefixes)) {
+            return true;
+        }
+        String className = constantPool.getClassName();
+        logger.debug("Skipping class [{}] as it refers to none of the required constants.", className);
+        analysisContext.addAnalyzedClass(className);
+        return false;
+    }
+
+    /**
+     * Materializes the <code>CtClass</code> of the given class file and analyzes it; a {@link ClassFileAnalyzer}
+     * skips that step.
+     */
+    void analyzeClassFile(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        CtClass ctClass = getClassLoader(analysisContext).getUnchecked(file).get();
+        logger.debug("Analyzing class [{}]...", ctClass.getName());
+        analyzeClass(analysisContext, ctClass);
     }
 
     /**
@@ -1,27 +1,24 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.bytecode.ClassFileView;
 import de.is24.deadcode4j.AnalysisContext;
-import javassist.CtClass;
+import de.is24.deadcode4j.ReplayableAnalysis;
 
 import javax.annotation.Nonnull;
-import java.util.Collection;
 
 /**
  * Analyzes class files: lists the classes a class is depending on.
  *
  * @since 1.0.0
  */
-public class ClassDependencyAnalyzer extends ByteCodeAnalyzer {
+@ReplayableAnalysis
+public class ClassDependencyAnalyzer extends ClassFileAnalyzer {
 
     @Override
-    protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        String className = clazz.getName();
-
-        @SuppressWarnings("unchecked")
-        Collection<String> refClasses = clazz.getRefClasses();
-
+    protected void analyzeClassFile(@Nonnull AnalysisContext analysisContext, @Nonnull ClassFileView classFile) {
+        String className = classFile.getName();
         analysisContext.addAnalyzedClass(className);
-        analysisContext.addDependencies(className, refClasses);
+        analysisContext.addDependencies(className, classFile.getReferencedClasses());
     }
 
 }
@@ -0,0 +1,80 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.LoadingCache;
+import de.is24.bytecode.ClassFileView;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.guava.NonNullFunction;
+import de.is24.guava.SequentialLoadingCache;
+import javassist.CtClass;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Optional.of;
+import static de.is24.guava.NonNullFunctions.toFunction;
+
+/**
+ * Serves as a base class with which to analyze byte code by means of a {@link ClassFileView}, i.e. without
+ * materializing a <code>CtClass</code>. This is the way to go for analyzers that are interested only in the class
+ * references, super types, annotations or method signatures of a class.
+ *
+ * @since 2.2.0
+ */
+public abstract class ClassFileAnalyzer extends ByteCodeAnalyzer {
+
+    private static final NonNullFunction<AnalysisContext, LoadingCache<File, Optional<ClassFileView>>> SUPPLIER =
+            new NonNullFunction<AnalysisContext, LoadingCache<File, Optional<ClassFileView>>>() {
+                @Nonnull
+                @Override
+                public LoadingCache<File, Optional<ClassFileView>> apply(@Nonnull final AnalysisContext analysisContext) {
+                    return SequentialLoadingCache.createThreadConfinedSingleValueCache(toFunction(new NonNullFunction<File, Optional<ClassFileView>>() {
+                        @Nonnull
+                        @Override
+                        public Optional<ClassFileView> apply(@Nonnull File file) {
+                            return of(ClassFileView.of(constantPoolOf(analysisContext, file)));
+                        }
+                    }));
+                }
+            };
+
+    private static LoadingCache<File, Optional<ClassFileView>> getClassFileScanner(AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(ClassFileAnalyzer.class, SUPPLIER);
+    }
+
+    @Override
+    final void analyzeClassFile(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        ClassFileView classFile = getClassFileScanner(analysisContext).getUnchecked(file).get();
+        logger.debug("Analyzing class [{}]...", classFile.getName());
+        analyzeClassFile(analysisContext, classFile);
+    }
+
+    /**
+     * Scans the class file of the given <code>CtClass</code> in order to
+     * {@link #analyzeClassFile(AnalysisContext, ClassFileView) analyze} it.
+     */
+    @Override
+    protected final void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            clazz.getClassFile2().write(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write class file of [" + clazz.getName() + "]!", e);
+        }
+        analyzeClassFile(analysisContext, ClassFileView.of(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+    /**
+     * Perform an analysis for the specified class file.
+     * Results must be reported via the capabilities of the {@link de.is24.deadcode4j.AnalysisContext}.
+     *
+     * @since 2.2.0
+     */
+    protected abstract void analyzeClassFile(@Nonnull AnalysisContext analysisContext,
+                                             @Nonnull ClassFileView classFile);
+
+}
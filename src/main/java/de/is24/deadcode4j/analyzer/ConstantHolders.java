@@ -0,0 +1,196 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.Set;
+
+import static de.is24.deadcode4j.IntermediateResults.IntermediateResultSet;
+import static de.is24.deadcode4j.IntermediateResults.resultSetFrom;
+
+/**
+ * Provides the simple names of the constant holders indexed by the {@link ConstantHoldersAnalyzer} for the analyzed
+ * module and the modules it depends on.
+ *
+ * @since 2.2.0
+ */
+final class ConstantHolders {
+
+    @Nonnull
+    private final Set<String> moduleHolders;
+    @Nonnull
+    private final Set<String> upstreamHolders;
+
+    private ConstantHolders(@Nonnull Set<String> moduleHolders, @Nonnull Set<String> upstreamHolders) {
+        this.moduleHolders = moduleHolders;
+        this.upstreamHolders = upstreamHolders;
+    }
+
+    /**
+     * Returns the simple name of the given class as it is indexed, i.e. without the names of the package and the
+     * declaring classes and without the leading digits of a local class.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static String simpleNameOf(@Nonnull String className) {
+        int start = Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1;
+        while (start < className.length() - 1 && Character.isDigit(className.charAt(start))) {
+            start++; // local classes are named like Outer$1Local
+        }
+        return className.substring(start);
+    }
+
+    /**
+     * Returns the constant holders of the given context or <code>null</code> if the byte code of the analyzed module
+     * has not been indexed, in which case each Java file must be considered to refer to a constant.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    static ConstantHolders of(@Nonnull AnalysisContext analysisContext) {
+        Set<String> moduleHolders = ConstantHoldersAnalyzer.getConstantHolders(analysisContext);
+        if (moduleHolders == null) {
+            return null;
+        }
+        IntermediateResultSet<String> upstreamResults = resultSetFrom(analysisContext, ConstantHoldersAnalyzer.class);
+        return new ConstantHolders(moduleHolders,
+                upstreamResults == null ? Collections.<String>emptySet() : upstreamResults.getResults());
+    }
+
+    /**
+     * Indicates if the given name is the simple name of a constant holder.
+     *
+     * @since 2.2.0
+     */
+    boolean contains(@Nonnull String simpleName) {
+        return moduleHolders.contains(simpleName) || upstreamHolders.contains(simpleName);
+    }
+
+    /**
+     * Indicates if the specified type or one of its declaring types is a constant holder, i.e. if code within that
+     * type may refer to an inherited constant by its simple name.
+     * Anonymous & local classes are always considered to be constant holders, as their names differ between the
+     * byte code and the source code.
+     *
+     * @param typeName the fully qualified name of a type, using <code>$</code> to separate nested types
+     * @since 2.2.0
+     */
+    boolean mayBeInheritedBy(@Nonnull String typeName) {
+        int start = typeName.lastIndexOf('.') + 1;
+        while (start < typeName.length()) {
+            int end = typeName.indexOf('$', start);
+            if (end < 0) {
+                end = typeName.length();
+            }
+            if (start == end || Character.isDigit(typeName.charAt(start)) || contains(typeName.substring(start, end))) {
+                return true;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Indicates if any identifier of the given source code is the simple name of a constant holder. Comments, string
+     * &amp; character literals are skipped. As unicode escapes are not decoded, code containing them is always
+     * considered to name a constant holder, i.e. this may yield false positives - but no false negatives.
+     *
+     * @since 2.2.0
+     */
+    boolean areNamedIn(@Nonnull CharSequence code) {
+        final int length = code.length();
+        int i = 0;
+        while (i < length) {
+            if (isUnicodeEscape(code, i)) {
+                return true;
+            }
+            char c = code.charAt(i);
+            char next = i + 1 < length ? code.charAt(i + 1) : 0;
+            if (c == '/' && next == '/') {
+                i = skipLineComment(code, i + 2);
+            } else if (c == '/' && next == '*') {
+                i = skipBlockComment(code, i + 2);
+            } else if (c == '"' || c == '\'') {
+                i = skipLiteral(code, i + 1, c);
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i++;
+                while (i < length && Character.isJavaIdentifierPart(code.charAt(i))) {
+                    i++;
+                }
+                if (contains(code.subSequence(start, i).toString())) {
+                    return true;
+                }
+            } else {
+                i++;
+            }
+            if (i < 0) {
+                return true; // a comment or literal contains a unicode escape
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the line break ending the comment or <code>-1</code> if the comment contains a unicode
+     * escape.
+     */
+    private static int skipLineComment(@Nonnull CharSequence code, int i) {
+        for (; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+            if (isUnicodeEscape(code, i)) {
+                return -1;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index right behind the comment or <code>-1</code> if the comment contains a unicode escape.
+     */
+    private static int skipBlockComment(@Nonnull CharSequence code, int i) {
+        for (; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '*' && i + 1 < code.length() && code.charAt(i + 1) == '/') {
+                return i + 2;
+            }
+            if (isUnicodeEscape(code, i)) {
+                return -1;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index right behind the literal or <code>-1</code> if the literal contains a unicode escape. An
+     * unterminated literal ends with the line.
+     */
+    private static int skipLiteral(@Nonnull CharSequence code, int i, char delimiter) {
+        for (; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == delimiter) {
+                return i + 1;
+            }
+            if (c == '\n' || c == '\r') {
+                return i;
+            }
+            if (c == '\\') {
+                if (isUnicodeEscape(code, i)) {
+                    return -1;
+                }
+                i++; // skip the escaped character
+            }
+        }
+        return i;
+    }
+
+    private static boolean isUnicodeEscape(@Nonnull CharSequence code, int i) {
+        return code.charAt(i) == '\\' && i + 1 < code.length() && code.charAt(i + 1) == 'u';
+    }
+
+}
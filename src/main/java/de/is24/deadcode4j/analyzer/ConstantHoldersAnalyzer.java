@@ -0,0 +1,132 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.google.common.collect.Sets;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.guava.NonNullFunction;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.Modifier;
+import javassist.bytecode.ClassFile;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static de.is24.deadcode4j.IntermediateResults.resultSetFor;
+import static de.is24.deadcode4j.analyzer.ConstantHolders.simpleNameOf;
+import static de.is24.javassist.CtClasses.getCtClass;
+import static de.is24.javassist.CtClasses.isJavaLangObject;
+
+/**
+ * Analyzes class files: indexes the simple names of all classes that declare or inherit a compile-time constant or
+ * that are enums, i.e. of all classes a reference may point to without leaving a trace in the byte code.
+ * The index is used by the {@link JavaFileDispatcher} to skip the parsing of Java files that cannot contain such a
+ * reference and by the {@link ReferenceToConstantsAnalyzer} to resolve only those references that may point to a
+ * constant holder, see {@link ConstantHolders}.
+ * <p/>
+ * Apart from the analyzed classes, this analyzer reports nothing.
+ *
+ * @since 2.2.0
+ */
+public class ConstantHoldersAnalyzer extends ByteCodeAnalyzer {
+
+    private static final String CONSTANT_HOLDERS_KEY = ConstantHoldersAnalyzer.class.getName() + "|constantHolders";
+
+    private static final NonNullFunction<AnalysisContext, Set<String>> SUPPLIER =
+            new NonNullFunction<AnalysisContext, Set<String>>() {
+                @Nonnull
+                @Override
+                public Set<String> apply(@Nonnull AnalysisContext input) {
+                    return Sets.newConcurrentHashSet();
+                }
+            };
+    private static final NonNullFunction<AnalysisContext, ConcurrentMap<String, Boolean>> HOLDERS_SUPPLIER =
+            new NonNullFunction<AnalysisContext, ConcurrentMap<String, Boolean>>() {
+                @Nonnull
+                @Override
+                public ConcurrentMap<String, Boolean> apply(@Nonnull AnalysisContext input) {
+                    return newConcurrentMap();
+                }
+            };
+
+    /**
+     * Returns the simple names of the constant holders found so far within the analyzed module or <code>null</code>
+     * if no class has been analyzed by a <code>ConstantHoldersAnalyzer</code> (yet).
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    static Set<String> getConstantHolders(@Nonnull AnalysisContext analysisContext) {
+        @SuppressWarnings("unchecked")
+        Set<String> constantHolders = (Set<String>) analysisContext.getCache().get(CONSTANT_HOLDERS_KEY);
+        return constantHolders;
+    }
+
+    private static boolean isCompileTimeConstant(@Nonnull CtField field) {
+        int modifiers = field.getModifiers();
+        return Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && field.getConstantValue() != null;
+    }
+
+    @Override
+    protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        analysisContext.addAnalyzedClass(clazz.getName());
+        Set<String> constantHolders = analysisContext.getOrCreateCacheEntry(CONSTANT_HOLDERS_KEY, SUPPLIER);
+        if (clazz.isEnum() || isConstantHolder(getKnownHolders(analysisContext), clazz)) {
+            constantHolders.add(simpleNameOf(clazz.getName()));
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+        Set<String> constantHolders = getConstantHolders(analysisContext);
+        if (constantHolders != null) {
+            analysisContext.getCache().put(getClass(), resultSetFor(constantHolders));
+        }
+    }
+
+    @Nonnull
+    private ConcurrentMap<String, Boolean> getKnownHolders(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(getClass().getName() + "|knownHolders", HOLDERS_SUPPLIER);
+    }
+
+    private boolean isConstantHolder(@Nonnull ConcurrentMap<String, Boolean> knownHolders, @Nonnull CtClass clazz) {
+        if (isJavaLangObject(clazz)) {
+            return false;
+        }
+        Boolean knownHolder = knownHolders.get(clazz.getName());
+        if (knownHolder != null) {
+            return knownHolder;
+        }
+        boolean isConstantHolder = declaresConstant(clazz);
+        ClassFile classFile = clazz.getClassFile2();
+        if (!isConstantHolder && classFile.getSuperclass() != null) {
+            isConstantHolder = isConstantHolder(knownHolders, clazz.getClassPool(), classFile.getSuperclass());
+        }
+        for (int i = 0; !isConstantHolder && i < classFile.getInterfaces().length; i++) {
+            isConstantHolder = isConstantHolder(knownHolders, clazz.getClassPool(), classFile.getInterfaces()[i]);
+        }
+        knownHolders.put(clazz.getName(), isConstantHolder);
+        return isConstantHolder;
+    }
+
+    private boolean isConstantHolder(@Nonnull ConcurrentMap<String, Boolean> knownHolders,
+                                     @Nonnull ClassPool classPool,
+                                     @Nonnull String supertype) {
+        CtClass clazz = getCtClass(classPool, supertype);
+        return clazz == null // the supertype is unknown, so it may well declare constants
+                || isConstantHolder(knownHolders, clazz);
+    }
+
+    private boolean declaresConstant(@Nonnull CtClass clazz) {
+        for (CtField field : clazz.getDeclaredFields()) {
+            if (isCompileTimeConstant(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.synchronizedSet;
 
 /**
  * Analyzes class files: marks a class as being in use if it is annotated with one of the specified annotations.
@@ -27,7 +28,7 @@ public final class CustomAnnotationsAnalyzer extends AnnotationsAnalyzer {
      */
     public CustomAnnotationsAnalyzer(@Nonnull Iterable<String> customAnnotations) {
         super("_custom-annotations_", customAnnotations);
-        annotationsNotFoundInClassPath = newHashSet(customAnnotations);
+        annotationsNotFoundInClassPath = synchronizedSet(newHashSet(customAnnotations));
     }
 
     @Override
@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.synchronizedSet;
 
 /**
  * Analyzes class files: marks a class as being in use if it explicitly implements one of the specified interfaces.
@@ -27,7 +28,7 @@ public final class CustomInterfacesAnalyzer extends InterfacesAnalyzer {
      */
     public CustomInterfacesAnalyzer(@Nonnull Iterable<String> customInterfaces) {
         super("_custom-interfaces_", customInterfaces);
-        interfacesNotFoundInClassPath = newHashSet(customInterfaces);
+        interfacesNotFoundInClassPath = synchronizedSet(newHashSet(customInterfaces));
     }
 
     @Override
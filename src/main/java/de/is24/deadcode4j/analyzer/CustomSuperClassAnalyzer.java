@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.synchronizedSet;
 
 /**
  * Analyzes class files: marks a class as being in use if it is a direct subclass of one of the specified classes.
@@ -27,7 +28,7 @@ public final class CustomSuperClassAnalyzer extends SuperClassAnalyzer {
      */
     public CustomSuperClassAnalyzer(@Nonnull Iterable<String> customSuperClasses) {
         super("_custom-superclass_", customSuperClasses);
-        superClassesNotFoundInClassPath = newHashSet(customSuperClasses);
+        superClassesNotFoundInClassPath = synchronizedSet(newHashSet(customSuperClasses));
     }
 
     @Override
@@ -1,7 +1,6 @@
 package de.is24.deadcode4j.analyzer;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Iterables;
 import de.is24.deadcode4j.AnalysisContext;
 import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
@@ -14,6 +13,8 @@ import java.util.*;
 import static com.google.common.base.Optional.fromNullable;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Iterables.getLast;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static de.is24.deadcode4j.Utils.checkNotNull;
 import static de.is24.deadcode4j.Utils.isNotBlank;
@@ -29,10 +30,10 @@ import static java.util.Collections.emptyMap;
 public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
     @Nonnull
     protected final String dependerId;
-    @Nullable
-    private final String rootElement;
     @Nonnull
     private final Collection<XPath> pathsToMatch = new ArrayList<XPath>();
+    @Nullable
+    private volatile PathNode compiledPaths;
 
     /**
      * Creates a new <code>ExtendedXmlAnalyzer</code>.
@@ -47,9 +48,8 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
      * @since 2.1.0
      */
     protected ExtendedXmlAnalyzer(@Nonnull String dependerId, @Nonnull String endOfFileName, @Nullable String rootElement) {
-        super(endOfFileName);
+        super(endOfFileName, rootElement);
         this.dependerId = checkNotNull(dependerId);
-        this.rootElement = rootElement;
     }
 
     /**
@@ -65,6 +65,7 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
     @Override
     public String toString() {
         StringBuilder buffy = new StringBuilder(1024).append(super.toString()).append("; registered XPaths are:");
+        String rootElement = getRootElement();
         for (XPath xPath : pathsToMatch) {
             buffy.append('\n');
             if (rootElement != null) {
@@ -100,7 +101,34 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
     @Nonnull
     @Override
     protected final DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext) {
-        return new XmlHandler(analysisContext);
+        PathNode root = this.compiledPaths;
+        if (root == null) {
+            root = compilePaths();
+            this.compiledPaths = root;
+        }
+        return new XmlHandler(analysisContext, root);
+    }
+
+    private void registerXPath(@Nonnull XPath xPath) {
+        pathsToMatch.add(xPath);
+        this.compiledPaths = null;
+    }
+
+    /**
+     * Merges all registered paths into a trie of path prefixes, which is then run as a state machine while parsing.
+     */
+    @Nonnull
+    private PathNode compilePaths() {
+        PathNode root = new PathNode(null, 0);
+        for (XPath xPath : pathsToMatch) {
+            PathNode node = root;
+            for (Element element : xPath.path.pathElements) {
+                node = node.getOrCreateChild(element);
+            }
+            node.xPaths.add(xPath);
+            node.recordsText |= xPath.needsText;
+        }
+        return root;
     }
 
     /**
@@ -179,6 +207,7 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
         private final Path path;
         @Nonnull
         private final DependeeExtractor dependeeExtractor;
+        private final boolean needsText;
 
         /**
          * Creates a new <code>XPath</code> expression for the specified path.
@@ -186,8 +215,13 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
          * @since 2.1.0
          */
         protected XPath(@Nonnull Path path, @Nonnull DependeeExtractor dependeeExtractor) {
+            this(path, dependeeExtractor, true);
+        }
+
+        private XPath(@Nonnull Path path, @Nonnull DependeeExtractor dependeeExtractor, boolean needsText) {
             this.path = path;
             this.dependeeExtractor = dependeeExtractor;
+            this.needsText = needsText;
         }
 
         @Override
@@ -196,14 +230,8 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
         }
 
         @Nonnull
-        Optional<String> matchAndExtract(@Nonnull Deque<XmlElement> xmlElements, @Nonnull Optional<String> containedText) {
-            for (int i = xmlElements.size(); i-- > 0; ) {
-                Iterable<XmlElement> partialPath = Iterables.skip(xmlElements, i);
-                if (path.matches(partialPath)) {
-                    return dependeeExtractor.extractDependee(partialPath, containedText);
-                }
-            }
-            return Optional.absent();
+        Optional<String> extract(@Nonnull List<XmlElement> matchingElements, @Nonnull Optional<String> containedText) {
+            return dependeeExtractor.extractDependee(matchingElements, containedText);
         }
 
     }
@@ -251,28 +279,132 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
             return buffy.toString();
         }
 
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Element)) {
+                return false;
+            }
+            Element other = (Element) obj;
+            return name.equals(other.name) && attributeRestrictions.equals(other.attributeRestrictions);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + attributeRestrictions.hashCode();
+        }
+
         @Nonnull
         Element restrictAttribute(@Nonnull String attribute, @Nonnull String value) {
             return new Element(this, attribute, value);
         }
 
-        boolean matches(@Nonnull XmlElement xmlElement) {
-            if (name.isPresent() && !name.get().equals(xmlElement.name)) {
-                return false;
-            }
-            return matchesAttributes(xmlElement);
-        }
-
-        private boolean matchesAttributes(@Nonnull XmlElement xmlElement) {
+        boolean matchesAttributes(@Nonnull Attributes attributes) {
             for (Map.Entry<String, String> attributeRestriction : attributeRestrictions.entrySet()) {
-                Optional<String> value = xmlElement.getAttribute(attributeRestriction.getKey());
-                if (!(value.isPresent() && attributeRestriction.getValue().equals(value.get()))) {
+                String value = getAttributeValue(attributes, attributeRestriction.getKey());
+                if (!attributeRestriction.getValue().equals(value)) {
                     return false;
                 }
             }
             return true;
         }
 
+        @Nullable
+        private static String getAttributeValue(@Nonnull Attributes attributes, @Nonnull String localName) {
+            for (int i = 0; i < attributes.getLength(); i++) {
+                if (localName.equals(attributes.getLocalName(i))) {
+                    return attributes.getValue(i);
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * Represents a prefix shared by registered paths, i.e. a state of the automaton the paths are compiled into.
+     * A node is active for an XML element if the element and its ancestors match the node's prefix.
+     *
+     * @since 2.2.0
+     */
+    private static class PathNode {
+        @Nullable
+        private final Element element;
+        private final int depth;
+        @Nonnull
+        private final Map<String, List<PathNode>> namedChildren = newHashMap();
+        @Nonnull
+        private final List<PathNode> anonymousChildren = newArrayList();
+        @Nonnull
+        private final List<XPath> xPaths = newArrayList();
+        private boolean recordsText = false;
+
+        PathNode(@Nullable Element element, int depth) {
+            this.element = element;
+            this.depth = depth;
+        }
+
+        @Nonnull
+        PathNode getOrCreateChild(@Nonnull Element childElement) {
+            List<PathNode> children;
+            if (childElement.name.isPresent()) {
+                children = namedChildren.get(childElement.name.get());
+                if (children == null) {
+                    children = newArrayList();
+                    namedChildren.put(childElement.name.get(), children);
+                }
+            } else {
+                children = anonymousChildren;
+            }
+            for (PathNode child : children) {
+                if (childElement.equals(child.element)) {
+                    return child;
+                }
+            }
+            PathNode child = new PathNode(childElement, depth + 1);
+            children.add(child);
+            return child;
+        }
+
+        /**
+         * Adds those children to the given list that match the specified element; the list is created if necessary.
+         */
+        @Nullable
+        List<PathNode> advance(@Nonnull String localName, @Nonnull Attributes attributes,
+                               @Nullable List<PathNode> activeNodes) {
+            List<PathNode> children = namedChildren.get(localName);
+            if (children != null) {
+                activeNodes = addMatching(children, attributes, activeNodes);
+            }
+            return addMatching(anonymousChildren, attributes, activeNodes);
+        }
+
+        @Nullable
+        private static List<PathNode> addMatching(@Nonnull List<PathNode> children, @Nonnull Attributes attributes,
+                                                  @Nullable List<PathNode> activeNodes) {
+            for (PathNode child : children) {
+                //noinspection ConstantConditions - only the root node has no element
+                if (child.element.matchesAttributes(attributes)) {
+                    if (activeNodes == null) {
+                        activeNodes = newArrayList();
+                    }
+                    activeNodes.add(child);
+                }
+            }
+            return activeNodes;
+        }
+
+        static boolean anyRecordsText(@Nonnull List<PathNode> nodes) {
+            for (PathNode node : nodes) {
+                if (node.recordsText) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
     }
 
     /**
@@ -282,43 +414,84 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
         @Nonnull
         private final AnalysisContext analysisContext;
         @Nonnull
-        private final Deque<XmlElement> xmlElements = new ArrayDeque<XmlElement>();
+        private final PathNode root;
+        @Nonnull
+        private final List<XmlElement> xmlElements = newArrayList();
+        @Nonnull
+        private final List<List<PathNode>> activeNodes = newArrayList();
+        /**
+         * Holds the text of all open elements recording text; each element's text starts at the offset stored in
+         * <code>textStarts</code> (or <code>-1</code> if the element's text is irrelevant).
+         */
+        @Nonnull
+        private final StringBuilder text = new StringBuilder(128);
         @Nonnull
-        private final Deque<StringBuilder> textBuffers = new ArrayDeque<StringBuilder>();
-        private boolean firstElement = true;
+        private int[] textStarts = new int[32];
 
-        public XmlHandler(@Nonnull AnalysisContext analysisContext) {
+        public XmlHandler(@Nonnull AnalysisContext analysisContext, @Nonnull PathNode root) {
             this.analysisContext = analysisContext;
+            this.root = root;
         }
 
         @Override
-        public void startElement(String ignoredUri, String localName, String ignoredQName, Attributes attributes) throws StopParsing {
-            if (firstElement) {
-                if (rootElement != null && !rootElement.equals(localName)) {
-                    throw new StopParsing();
+        public void startElement(String ignoredUri, String localName, String ignoredQName, Attributes attributes) {
+            List<PathNode> nodes = root.advance(localName, attributes, null);
+            if (!activeNodes.isEmpty()) {
+                for (PathNode parentNode : getLast(activeNodes)) {
+                    nodes = parentNode.advance(localName, attributes, nodes);
                 }
-                firstElement = false;
             }
-            xmlElements.addLast(new XmlElement(localName, attributes));
-            textBuffers.addLast(new StringBuilder(128));
+            int depth = xmlElements.size();
+            if (depth == textStarts.length) {
+                textStarts = Arrays.copyOf(textStarts, 2 * depth);
+            }
+            if (nodes == null) {
+                // elements matching no path prefix can't be part of any match
+                activeNodes.add(Collections.<PathNode>emptyList());
+                xmlElements.add(null);
+                textStarts[depth] = -1;
+            } else {
+                activeNodes.add(nodes);
+                xmlElements.add(new XmlElement(localName, attributes));
+                textStarts[depth] = PathNode.anyRecordsText(nodes) ? text.length() : -1;
+            }
         }
 
         @Override
         public void characters(char[] ch, int start, int length) {
-            this.textBuffers.getLast().append(new String(ch, start, length).trim());
+            int depth = xmlElements.size();
+            if (depth > 0 && textStarts[depth - 1] >= 0) {
+                appendTrimmed(text, ch, start, length);
+            }
         }
 
         @Override
         public void endElement(String uri, String localName, String qName) {
-            StringBuilder buffer = textBuffers.removeLast();
-            Optional<String> text = fromNullable(buffer.length() > 0 ? buffer.toString() : null);
-            for (XPath xPath : pathsToMatch) {
-                Optional<String> dependee = xPath.matchAndExtract(xmlElements, text);
-                if (dependee.isPresent()) {
-                    analysisContext.addDependencies(dependerId, dependee.get().trim());
+            int depth = xmlElements.size();
+            List<PathNode> nodes = activeNodes.remove(depth - 1);
+            if (!nodes.isEmpty()) {
+                Optional<String> containedText = extractText(textStarts[depth - 1]);
+                for (PathNode node : nodes) {
+                    for (XPath xPath : node.xPaths) {
+                        Optional<String> dependee =
+                                xPath.extract(xmlElements.subList(depth - node.depth, depth), containedText);
+                        if (dependee.isPresent()) {
+                            analysisContext.addDependencies(dependerId, dependee.get().trim());
+                        }
+                    }
                 }
             }
-            xmlElements.removeLast();
+            xmlElements.remove(depth - 1);
+        }
+
+        @Nonnull
+        private Optional<String> extractText(int textStart) {
+            if (textStart < 0) {
+                return Optional.absent();
+            }
+            Optional<String> containedText = fromNullable(text.length() > textStart ? text.substring(textStart) : null);
+            text.setLength(textStart);
+            return containedText;
         }
 
     }
@@ -386,7 +559,7 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
          * @since 2.1.0
          */
         public void registerDependeeExtractor(DependeeExtractor dependeeExtractor) {
-            pathsToMatch.add(new XPath(this, dependeeExtractor));
+            registerXPath(new XPath(this, dependeeExtractor));
         }
 
         /**
@@ -415,7 +588,7 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
          * @since 2.1.0
          */
         public void registerAttributeAsClass(final String attributeName) {
-            registerDependeeExtractor(new DependeeExtractor() {
+            registerXPath(new XPath(this, new DependeeExtractor() {
                 @Override
                 public String toString() {
                     return "/@" + attributeName;
@@ -426,21 +599,7 @@ public abstract class ExtendedXmlAnalyzer extends XmlAnalyzer {
                 public Optional<String> extractDependee(@Nonnull Iterable<XmlElement> xmlElements, @Nonnull Optional<String> containedText) {
                     return getLast(xmlElements).getAttribute(attributeName);
                 }
-            });
-        }
-
-        boolean matches(@Nonnull Iterable<XmlElement> xmlElements) {
-            if (pathElements.size() != Iterables.size(xmlElements)) {
-                return false;
-            }
-
-            Iterator<XmlElement> xmlElementIterator = xmlElements.iterator();
-            for (Element pathElement : pathElements) {
-                if (!pathElement.matches(xmlElementIterator.next())) {
-                    return false;
-                }
-            }
-            return true;
+            }, false));
         }
     }
 
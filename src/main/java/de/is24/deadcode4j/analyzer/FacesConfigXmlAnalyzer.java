@@ -1,10 +1,13 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
+
 /**
  * Analyzes <code>faces-config.xml</code> files: lists an incredible bunch of classes being referenced.
  *
  * @since 1.5
  */
+@ReplayableAnalysis
 public final class FacesConfigXmlAnalyzer extends SimpleXmlAnalyzer {
 
     public FacesConfigXmlAnalyzer() {
@@ -0,0 +1,146 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.LoadingCache;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.guava.NonNullFunction;
+import de.is24.guava.SequentialLoadingCache;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+import static com.google.common.base.Optional.of;
+import static de.is24.guava.NonNullFunctions.toFunction;
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+/**
+ * Provides the content of the analyzed files. Each file is read only once per thread, no matter how many analyzers
+ * look at it: as the files are handed to all analyzers one after another, the content of the last file read is kept
+ * for the next analyzer. Files larger than {@link #MAPPING_THRESHOLD} are memory-mapped instead of being read.
+ *
+ * @since 2.2.0
+ */
+final class FileContents {
+
+    /**
+     * The size (in bytes) above which a file is memory-mapped instead of being read.
+     */
+    static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+    private static final NonNullFunction<AnalysisContext, LoadingCache<File, Optional<ByteBuffer>>> SUPPLIER =
+            new NonNullFunction<AnalysisContext, LoadingCache<File, Optional<ByteBuffer>>>() {
+                @Nonnull
+                @Override
+                public LoadingCache<File, Optional<ByteBuffer>> apply(@Nonnull AnalysisContext analysisContext) {
+                    return SequentialLoadingCache.createThreadConfinedSingleValueCache(toFunction(new NonNullFunction<File, Optional<ByteBuffer>>() {
+                        @Nonnull
+                        @Override
+                        public Optional<ByteBuffer> apply(@Nonnull File file) {
+                            try {
+                                return of(file.length() > MAPPING_THRESHOLD ? map(file) : ByteBuffer.wrap(readFileToByteArray(file)));
+                            } catch (IOException e) {
+                                throw new RuntimeException("Failed to read [" + file + "]!", e);
+                            }
+                        }
+                    }));
+                }
+            };
+
+    private FileContents() {
+    }
+
+    /**
+     * Returns the content of the given file. The returned buffer is read-only and positioned at the file's start;
+     * it may be consumed freely, as each call returns a new buffer.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static ByteBuffer contentOf(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        return analysisContext.getOrCreateCacheEntry(FileContents.class, SUPPLIER)
+                .getUnchecked(file).get().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns an <code>InputStream</code> providing the {@link #contentOf(AnalysisContext, File) content} of the given
+     * file. The stream needs not to be closed.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static InputStream openStream(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        return new ByteBufferInputStream(contentOf(analysisContext, file));
+    }
+
+    /**
+     * Returns the {@link #contentOf(AnalysisContext, File) content} of the given file as text.
+     *
+     * @param encoding the encoding of the file; if <code>null</code>, the platform's default encoding is used
+     * @since 2.2.0
+     */
+    @Nonnull
+    static String textOf(@Nonnull AnalysisContext analysisContext, @Nonnull File file, @Nullable String encoding) {
+        Charset charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+        return charset.decode(contentOf(analysisContext, file)).toString();
+    }
+
+    @Nonnull
+    private static ByteBuffer map(@Nonnull File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            closeQuietly(randomAccessFile);
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        @Nonnull
+        private final ByteBuffer buffer;
+
+        public ByteBufferInputStream(@Nonnull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(@Nonnull byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int bytesRead = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, bytesRead);
+            return bytesRead;
+        }
+
+        @Override
+        public long skip(long n) {
+            int bytesSkipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + bytesSkipped);
+            return bytesSkipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+    }
+
+}
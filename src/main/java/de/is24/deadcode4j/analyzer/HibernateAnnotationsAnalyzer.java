@@ -4,12 +4,15 @@ import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.NotThreadSafe;
+import de.is24.guava.NonNullFunction;
 import javassist.CtClass;
 import javassist.bytecode.annotation.*;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.annotation.ElementType;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
@@ -55,12 +58,17 @@ import static java.util.Collections.emptyList;
  *
  * @since 1.4
  */
+@NotThreadSafe // if definitions are duplicated, the last one found wins
 public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
 
-    private final Map<String, String> typeDefinitions = newHashMap();
-    private final Map<String, Set<String>> typeUsages = newHashMap();
-    private final Map<String, String> generatorDefinitions = newHashMap();
-    private final Map<String, Set<String>> generatorUsages = newHashMap();
+    private static final NonNullFunction<AnalysisContext, ModuleData> SUPPLIER =
+            new NonNullFunction<AnalysisContext, ModuleData>() {
+                @Nonnull
+                @Override
+                public ModuleData apply(@Nonnull AnalysisContext input) {
+                    return new ModuleData();
+                }
+            };
 
     @Nonnull
     private static Iterable<Annotation> getAnnotations(@Nonnull CtClass clazz, @Nonnull final String typeName, ElementType... elementTypes) {
@@ -111,63 +119,76 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }), notNull());
     }
 
+    @Nonnull
+    @Override
+    protected Collection<String> getRequiredConstantPrefixes() {
+        return asList("Lorg/hibernate/annotations/", "Ljavax/persistence/GeneratedValue;");
+    }
+
     @Override
     protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
         analysisContext.addAnalyzedClass(clazz.getName());
-        processTypeDefAnnotation(clazz);
-        processTypeDefsAnnotation(clazz);
-        processTypeAnnotations(clazz);
-        processGenericGenerator(analysisContext, clazz);
-        processGenericGenerators(analysisContext, clazz);
-        processGeneratedValueAnnotations(clazz);
+        ModuleData moduleData = getModuleData(analysisContext);
+        processTypeDefAnnotation(moduleData, clazz);
+        processTypeDefsAnnotation(moduleData, clazz);
+        processTypeAnnotations(moduleData, clazz);
+        processGenericGenerator(analysisContext, moduleData, clazz);
+        processGenericGenerators(analysisContext, moduleData, clazz);
+        processGeneratedValueAnnotations(moduleData, clazz);
     }
 
     @Override
     public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
-        reportDependencies(analysisContext);
-        storeIntermediateResults(analysisContext);
+        ModuleData moduleData = getModuleData(analysisContext);
+        reportDependencies(analysisContext, moduleData);
+        storeIntermediateResults(analysisContext, moduleData);
     }
 
-    private void processTypeDefAnnotation(@Nonnull CtClass clazz) {
+    @Nonnull
+    private ModuleData getModuleData(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(getClass().getName() + "|moduleData", SUPPLIER);
+    }
+
+    private void processTypeDefAnnotation(@Nonnull ModuleData moduleData, @Nonnull CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.TypeDef", PACKAGE, TYPE)) {
-            processTypeDefinition(clazz, annotation);
+            processTypeDefinition(moduleData, clazz, annotation);
         }
     }
 
-    private void processTypeDefinition(@Nonnull CtClass clazz, @Nonnull Annotation annotation) {
+    private void processTypeDefinition(@Nonnull ModuleData moduleData, @Nonnull CtClass clazz, @Nonnull Annotation annotation) {
         String typeName = getStringFrom(annotation, "name");
         if (typeName == null) {
             return;
         }
         String className = clazz.getName();
-        String previousEntry = this.typeDefinitions.put(typeName, className);
+        String previousEntry = moduleData.typeDefinitions.put(typeName, className);
         if (previousEntry != null) {
             logger.warn("The @TypeDef named [{}] is defined both by {} and {}.", typeName, previousEntry, className);
         }
     }
 
-    private void processTypeDefsAnnotation(@Nonnull CtClass clazz) {
+    private void processTypeDefsAnnotation(@Nonnull ModuleData moduleData, @Nonnull CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.TypeDefs", PACKAGE, TYPE)) {
             for (Annotation childAnnotation : getAnnotationsFrom(annotation, "value")) {
-                processTypeDefinition(clazz, childAnnotation);
+                processTypeDefinition(moduleData, clazz, childAnnotation);
             }
         }
     }
 
-    private void processTypeAnnotations(@Nonnull CtClass clazz) {
+    private void processTypeAnnotations(@Nonnull ModuleData moduleData, @Nonnull CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.Type", METHOD, FIELD)) {
             String typeName = getMandatoryStringFrom(annotation, "type");
-            getOrAddMappedSet(this.typeUsages, typeName).add(clazz.getName());
+            getOrAddMappedSet(moduleData.typeUsages, typeName).add(clazz.getName());
         }
     }
 
-    private void processGenericGenerator(AnalysisContext analysisContext, CtClass clazz) {
+    private void processGenericGenerator(AnalysisContext analysisContext, ModuleData moduleData, CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.GenericGenerator", PACKAGE, TYPE, METHOD, FIELD)) {
-            processGenericGenerator(analysisContext, clazz, annotation);
+            processGenericGenerator(analysisContext, moduleData, clazz, annotation);
         }
     }
 
-    private void processGenericGenerator(AnalysisContext analysisContext, CtClass clazz, Annotation annotation) {
+    private void processGenericGenerator(AnalysisContext analysisContext, ModuleData moduleData, CtClass clazz, Annotation annotation) {
         String className = clazz.getName();
         Optional<String> resolvedStrategyClass = classPoolAccessorFor(analysisContext).resolveClass(
                 getMandatoryStringFrom(annotation, "strategy"));
@@ -175,43 +196,43 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
             analysisContext.addDependencies(className, resolvedStrategyClass.get());
         }
         String generatorName = getMandatoryStringFrom(annotation, "name");
-        String previousEntry = this.generatorDefinitions.put(generatorName, className);
+        String previousEntry = moduleData.generatorDefinitions.put(generatorName, className);
         if (previousEntry != null) {
             logger.warn("The @GenericGenerator named [{}] is defined both by {} and {}.",
                     generatorName, previousEntry, className);
         }
     }
 
-    private void processGenericGenerators(AnalysisContext analysisContext, CtClass clazz) {
+    private void processGenericGenerators(AnalysisContext analysisContext, ModuleData moduleData, CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "org.hibernate.annotations.GenericGenerators", PACKAGE, TYPE)) {
             for (Annotation childAnnotation : getAnnotationsFrom(annotation, "value")) {
-                processGenericGenerator(analysisContext, clazz, childAnnotation);
+                processGenericGenerator(analysisContext, moduleData, clazz, childAnnotation);
             }
         }
     }
 
-    private void processGeneratedValueAnnotations(CtClass clazz) {
+    private void processGeneratedValueAnnotations(ModuleData moduleData, CtClass clazz) {
         for (Annotation annotation : getAnnotations(clazz, "javax.persistence.GeneratedValue", METHOD, FIELD)) {
             String generatorName = getStringFrom(annotation, "generator");
             if (generatorName != null) {
-                getOrAddMappedSet(this.generatorUsages, generatorName).add(clazz.getName());
+                getOrAddMappedSet(moduleData.generatorUsages, generatorName).add(clazz.getName());
             }
         }
     }
 
-    private void reportDependencies(@Nonnull AnalysisContext analysisContext) {
-        reportNewGeneratorUsages(analysisContext);
-        reportExistingGeneratorUsagesForNewDefinitions(analysisContext);
-        reportNewTypeUsages(analysisContext);
-        reportExistingTypeUsagesForNewDefinitions(analysisContext);
+    private void reportDependencies(@Nonnull AnalysisContext analysisContext, @Nonnull ModuleData moduleData) {
+        reportNewGeneratorUsages(analysisContext, moduleData);
+        reportExistingGeneratorUsagesForNewDefinitions(analysisContext, moduleData);
+        reportNewTypeUsages(analysisContext, moduleData);
+        reportExistingTypeUsagesForNewDefinitions(analysisContext, moduleData);
     }
 
-    private void reportNewGeneratorUsages(AnalysisContext analysisContext) {
-        if (this.generatorUsages.isEmpty()) {
+    private void reportNewGeneratorUsages(AnalysisContext analysisContext, ModuleData moduleData) {
+        if (moduleData.generatorUsages.isEmpty()) {
             return;
         }
-        Map<String, String> allGeneratorDefinitions = getAllGeneratorDefinitions(analysisContext);
-        for (Map.Entry<String, Set<String>> generatorUsage : this.generatorUsages.entrySet()) {
+        Map<String, String> allGeneratorDefinitions = getAllGeneratorDefinitions(analysisContext, moduleData);
+        for (Map.Entry<String, Set<String>> generatorUsage : moduleData.generatorUsages.entrySet()) {
             String generatorName = generatorUsage.getKey();
             String classDefiningGenerator = allGeneratorDefinitions.get(generatorName);
             if (classDefiningGenerator != null) {
@@ -222,13 +243,13 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
-    private void reportExistingGeneratorUsagesForNewDefinitions(AnalysisContext analysisContext) {
-        if (this.generatorDefinitions.isEmpty()) {
+    private void reportExistingGeneratorUsagesForNewDefinitions(AnalysisContext analysisContext, ModuleData moduleData) {
+        if (moduleData.generatorDefinitions.isEmpty()) {
             return;
         }
         for (Map.Entry<String, Set<String>> usage : getExistingGeneratorUsages(analysisContext).entrySet()) {
             String usageName = usage.getKey();
-            String classDefiningType = this.generatorDefinitions.get(usageName);
+            String classDefiningType = moduleData.generatorDefinitions.get(usageName);
             if (classDefiningType == null) {
                 continue;
             }
@@ -239,12 +260,12 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
-    private void reportNewTypeUsages(AnalysisContext analysisContext) {
-        if (this.typeUsages.isEmpty()) {
+    private void reportNewTypeUsages(AnalysisContext analysisContext, ModuleData moduleData) {
+        if (moduleData.typeUsages.isEmpty()) {
             return;
         }
-        Map<String, String> allTypeDefinitions = getAllTypeDefinitions(analysisContext);
-        for (Map.Entry<String, Set<String>> typeUsage : this.typeUsages.entrySet()) {
+        Map<String, String> allTypeDefinitions = getAllTypeDefinitions(analysisContext, moduleData);
+        for (Map.Entry<String, Set<String>> typeUsage : moduleData.typeUsages.entrySet()) {
             String typeName = typeUsage.getKey();
             String classDefiningType = allTypeDefinitions.get(typeName);
 
@@ -266,13 +287,13 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         }
     }
 
-    private void reportExistingTypeUsagesForNewDefinitions(AnalysisContext analysisContext) {
-        if (this.typeDefinitions.isEmpty()) {
+    private void reportExistingTypeUsagesForNewDefinitions(AnalysisContext analysisContext, ModuleData moduleData) {
+        if (moduleData.typeDefinitions.isEmpty()) {
             return;
         }
         for (Map.Entry<String, Set<String>> typeUsage : getExistingTypeUsages(analysisContext).entrySet()) {
             String typeName = typeUsage.getKey();
-            String classDefiningType = this.typeDefinitions.get(typeName);
+            String classDefiningType = moduleData.typeDefinitions.get(typeName);
             if (classDefiningType == null) {
                 continue;
             }
@@ -284,15 +305,16 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
     }
 
     @Nonnull
-    private Map<String, String> getAllGeneratorDefinitions(@Nonnull AnalysisContext analysisContext) {
+    private Map<String, String> getAllGeneratorDefinitions(@Nonnull AnalysisContext analysisContext,
+                                                           @Nonnull ModuleData moduleData) {
         IntermediateResultMap<String, String> resultMap =
                 resultMapFrom(analysisContext, getClass().getName() + "|generatorDefinitions");
         if (resultMap == null) {
-            return this.generatorDefinitions;
+            return moduleData.generatorDefinitions;
         }
         Map<String, String> inheritedDefinitions = resultMap.getResults();
 
-        Map<String, String> allDefinitions = newHashMap(this.generatorDefinitions);
+        Map<String, String> allDefinitions = newHashMap(moduleData.generatorDefinitions);
         for (Map.Entry<String, String> inheritedDefinition : inheritedDefinitions.entrySet()) {
             String definitionName = inheritedDefinition.getKey();
             if (allDefinitions.containsKey(definitionName)) {
@@ -306,15 +328,16 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
     }
 
     @Nonnull
-    private Map<String, String> getAllTypeDefinitions(@Nonnull AnalysisContext analysisContext) {
+    private Map<String, String> getAllTypeDefinitions(@Nonnull AnalysisContext analysisContext,
+                                                      @Nonnull ModuleData moduleData) {
         IntermediateResultMap<String, String> resultMap =
                 resultMapFrom(analysisContext, getClass().getName() + "|typeDefinitions");
         if (resultMap == null) {
-            return this.typeDefinitions;
+            return moduleData.typeDefinitions;
         }
         Map<String, String> inheritedTypeDefinitions = resultMap.getResults();
 
-        Map<String, String> allTypeDefinitions = newHashMap(this.typeDefinitions);
+        Map<String, String> allTypeDefinitions = newHashMap(moduleData.typeDefinitions);
         for (Map.Entry<String, String> inheritedDefinition : inheritedTypeDefinitions.entrySet()) {
             String typeName = inheritedDefinition.getKey();
             if (allTypeDefinitions.containsKey(typeName)) {
@@ -341,23 +364,29 @@ public final class HibernateAnnotationsAnalyzer extends ByteCodeAnalyzer {
         return resultMap != null ? resultMap.getResults() : Collections.<String, Set<String>>emptyMap();
     }
 
-    private void storeIntermediateResults(@Nonnull AnalysisContext analysisContext) {
-        if (!this.generatorDefinitions.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|generatorDefinitions", resultMapFor(this.generatorDefinitions));
-            this.generatorDefinitions.clear();
+    private void storeIntermediateResults(@Nonnull AnalysisContext analysisContext, @Nonnull ModuleData moduleData) {
+        if (!moduleData.generatorDefinitions.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|generatorDefinitions", resultMapFor(moduleData.generatorDefinitions));
         }
-        if (!this.generatorUsages.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|generatorUsages", resultMapFor(this.generatorUsages));
-            this.generatorUsages.clear();
+        if (!moduleData.generatorUsages.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|generatorUsages", resultMapFor(moduleData.generatorUsages));
         }
-        if (!this.typeDefinitions.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|typeDefinitions", resultMapFor(this.typeDefinitions));
-            this.typeDefinitions.clear();
+        if (!moduleData.typeDefinitions.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|typeDefinitions", resultMapFor(moduleData.typeDefinitions));
         }
-        if (!this.typeUsages.isEmpty()) {
-            analysisContext.getCache().put(getClass().getName() + "|typeUsages", resultMapFor(this.typeUsages));
-            this.typeUsages.clear();
+        if (!moduleData.typeUsages.isEmpty()) {
+            analysisContext.getCache().put(getClass().getName() + "|typeUsages", resultMapFor(moduleData.typeUsages));
         }
     }
 
+    /**
+     * Holds the definitions & usages found in the classes of one module.
+     */
+    private static final class ModuleData {
+        private final Map<String, String> typeDefinitions = newHashMap();
+        private final Map<String, Set<String>> typeUsages = newHashMap();
+        private final Map<String, String> generatorDefinitions = newHashMap();
+        private final Map<String, Set<String>> generatorUsages = newHashMap();
+    }
+
 }
@@ -1,6 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.AnalysisSink;
 import de.is24.deadcode4j.AnalyzedCode;
@@ -12,7 +13,7 @@ import java.util.ArrayList;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
-import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
+import static java.util.Collections.synchronizedSet;
 
 /**
  * Analyzes class files: marks a class as being in use if it should be ignored.
@@ -31,7 +32,7 @@ public class IgnoreClassesAnalyzer extends ByteCodeAnalyzer {
     public IgnoreClassesAnalyzer(@Nonnull DeadCodeComputer deadCodeComputer, @Nonnull Set<String> classesToIgnore) {
         this.deadCodeComputer = deadCodeComputer;
         this.classesToIgnore = newHashSet(classesToIgnore);
-        this.ignoredClasses = newHashSetWithExpectedSize(classesToIgnore.size());
+        this.ignoredClasses = synchronizedSet(Sets.<String>newHashSetWithExpectedSize(classesToIgnore.size()));
     }
 
     @Override
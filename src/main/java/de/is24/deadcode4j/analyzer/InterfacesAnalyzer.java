@@ -3,15 +3,12 @@ package de.is24.deadcode4j.analyzer;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.analyzer.javassist.ClassPathFilter;
 import de.is24.guava.NonNullFunction;
-import javassist.CtClass;
 
 import javax.annotation.Nonnull;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Sets.newHashSet;
-import static de.is24.javassist.CtClasses.getAllImplementedInterfaces;
-import static java.util.Collections.disjoint;
 
 /**
  * Serves as a base class with which to mark classes as being in use if they explicitly implement one of the specified
@@ -19,7 +16,7 @@ import static java.util.Collections.disjoint;
  *
  * @since 1.4
  */
-public abstract class InterfacesAnalyzer extends ByteCodeAnalyzer {
+public abstract class InterfacesAnalyzer extends MarkerAnalyzer {
 
     @Nonnull
     private final String dependerId;
@@ -58,17 +55,8 @@ public abstract class InterfacesAnalyzer extends ByteCodeAnalyzer {
     }
 
     @Override
-    protected final void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        Set<String> knownInterfaces = getInterfacesFoundInClassPath(analysisContext);
-        if (knownInterfaces.isEmpty()) {
-            return;
-        }
-
-        String clazzName = clazz.getName();
-        analysisContext.addAnalyzedClass(clazzName);
-        if (!disjoint(knownInterfaces, getAllImplementedInterfaces(clazz))) {
-            analysisContext.addDependencies(this.dependerId, clazzName);
-        }
+    void registerMarkers(@Nonnull AnalysisContext analysisContext, @Nonnull MarkerIndex markerIndex) {
+        markerIndex.addInterfaces(this.dependerId, getInterfacesFoundInClassPath(analysisContext));
     }
 
     @Nonnull
@@ -9,14 +9,16 @@ import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.stmt.TypeDeclarationStmt;
 import com.google.common.base.Optional;
 import com.google.common.cache.LoadingCache;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
 import de.is24.guava.NonNullFunction;
 import de.is24.guava.SequentialLoadingCache;
+import de.is24.javaparser.ImportIndex;
 import de.is24.javaparser.Nodes;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import javassist.CtClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,27 +26,25 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.*;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
-import static com.google.common.base.Predicates.and;
-import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
 import static de.is24.deadcode4j.Utils.emptyIfNull;
+import static de.is24.deadcode4j.Utils.isEmpty;
+import static de.is24.deadcode4j.analyzer.FileContents.textOf;
 import static de.is24.guava.NonNullFunctions.or;
 import static de.is24.guava.NonNullFunctions.toFunction;
-import static de.is24.javaparser.ImportDeclarations.isAsterisk;
-import static de.is24.javaparser.ImportDeclarations.refersTo;
 import static de.is24.javaparser.Nodes.getTypeName;
 import static de.is24.javaparser.Nodes.prepend;
 import static de.is24.javassist.CtClasses.*;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
-import static org.apache.commons.io.IOUtils.closeQuietly;
 
 /**
  * Serves as a base class with which to analyze java files.
@@ -58,29 +58,22 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
             JAVA_PARSER_SUPPLIER = new JavaParserSupplier(true);
 
     private static final String TYPE_RESOLVER_KEY = JavaFileAnalyzer.class.getName() + ":TypeResolver";
-    private static final NonNullFunction<AnalysisContext, NonNullFunction<Qualifier<?>, Optional<String>>>
-            TYPE_RESOLVER_SUPPLIER =
-            new NonNullFunction<AnalysisContext, NonNullFunction<Qualifier<?>, Optional<String>>>() {
+    private static final NonNullFunction<AnalysisContext, TypeResolver> TYPE_RESOLVER_SUPPLIER =
+            new NonNullFunction<AnalysisContext, TypeResolver>() {
                 @Nonnull
                 @Override
-                public NonNullFunction<Qualifier<?>, Optional<String>> apply(@Nonnull AnalysisContext analysisContext) {
-                    final ClassPoolAccessor classPoolAccessor = ClassPoolAccessor.classPoolAccessorFor(analysisContext);
-                    return new NonNullFunction<Qualifier<?>, Optional<String>>() {
-                        @Nonnull
-                        @Override
-                        @SuppressWarnings("unchecked")
-                        public Optional<String> apply(@Nonnull Qualifier<?> input) {
-                            return or(
-                                    new FullyQualifiedTypeResolver(classPoolAccessor),
-                                    new InnerTypeResolver(),
-                                    new InheritedTypeResolver(classPoolAccessor),
-                                    new ImportedTypeResolver(classPoolAccessor),
-                                    new PackageTypeResolver(classPoolAccessor),
-                                    new AsteriskImportedTypeResolver(classPoolAccessor),
-                                    new JavaLangTypeResolver(classPoolAccessor)
-                            ).apply(input);
-                        }
-                    };
+                public TypeResolver apply(@Nonnull AnalysisContext analysisContext) {
+                    return new TypeResolver(analysisContext);
+                }
+            };
+
+    private static final String IMPORT_INDEX_KEY = JavaFileAnalyzer.class.getName() + ":ImportIndex";
+    private static final NonNullFunction<AnalysisContext, ThreadLocal<ImportIndex>> IMPORT_INDEX_SUPPLIER =
+            new NonNullFunction<AnalysisContext, ThreadLocal<ImportIndex>>() {
+                @Nonnull
+                @Override
+                public ThreadLocal<ImportIndex> apply(@Nonnull AnalysisContext input) {
+                    return new ThreadLocal<ImportIndex>();
                 }
             };
 
@@ -88,10 +81,69 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         return analysisContext.getOrCreateCacheEntry(JAVA_PARSER_KEY, JAVA_PARSER_SUPPLIER);
     }
 
-    private static NonNullFunction<Qualifier<?>, Optional<String>> getTypeResolver(AnalysisContext analysisContext) {
+    /**
+     * Parses the given Java file; the result is shared with all <code>JavaFileAnalyzer</code>s analyzing the same file
+     * subsequently on the same thread.
+     *
+     * @return the parsed compilation unit or <code>absent</code> if the file could not be parsed
+     * @since 2.2.0
+     */
+    @Nonnull
+    static Optional<CompilationUnit> parseJavaFile(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        return getJavaFileParser(analysisContext).getUnchecked(file);
+    }
+
+    /**
+     * Reads the content of the given Java file using the encoding of the analyzed module.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    static String readJavaFile(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        return textOf(analysisContext, file, analysisContext.getModule().getEncoding());
+    }
+
+    private static TypeResolver getTypeResolver(AnalysisContext analysisContext) {
         return analysisContext.getOrCreateCacheEntry(TYPE_RESOLVER_KEY, TYPE_RESOLVER_SUPPLIER);
     }
 
+    /**
+     * Returns the index of the imports of the given compilation unit. The index is shared by all
+     * <code>JavaFileAnalyzer</code>s; each thread keeps the index of the compilation unit it is analyzing until
+     * {@link #leaveCompilationUnit(AnalysisContext) leaving} it.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    protected static ImportIndex getImportIndex(@Nonnull AnalysisContext analysisContext,
+                                                @Nonnull CompilationUnit compilationUnit) {
+        ThreadLocal<ImportIndex> currentImportIndex =
+                analysisContext.getOrCreateCacheEntry(IMPORT_INDEX_KEY, IMPORT_INDEX_SUPPLIER);
+        ImportIndex importIndex = currentImportIndex.get();
+        if (importIndex == null || !importIndex.isIndexOf(compilationUnit)) {
+            importIndex = new ImportIndex(compilationUnit);
+            currentImportIndex.set(importIndex);
+        }
+        return importIndex;
+    }
+
+    /**
+     * Releases what the current thread keeps for the compilation unit it analyzed, i.e. its import index & the types
+     * resolved within it.
+     *
+     * @since 2.2.0
+     */
+    static void leaveCompilationUnit(@Nonnull AnalysisContext analysisContext) {
+        Object typeResolver = analysisContext.getCache().get(TYPE_RESOLVER_KEY);
+        if (typeResolver instanceof TypeResolver) {
+            ((TypeResolver) typeResolver).leaveScope();
+        }
+        Object currentImportIndex = analysisContext.getCache().get(IMPORT_INDEX_KEY);
+        if (currentImportIndex instanceof ThreadLocal) {
+            ((ThreadLocal<?>) currentImportIndex).remove();
+        }
+    }
+
     /**
      * Resolves a type reference by means of the given {@code Qualifier}.
      *
@@ -116,10 +168,14 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
     @Override
     public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
         if (file.getName().endsWith(".java")) {
-            Optional<CompilationUnit> compilationUnit = getJavaFileParser(analysisContext).getUnchecked(file);
+            Optional<CompilationUnit> compilationUnit = parseJavaFile(analysisContext, file);
             if (compilationUnit.isPresent()) {
                 logger.debug("Analyzing Java file [{}]...", file);
-                analyzeCompilationUnit(analysisContext, compilationUnit.get());
+                try {
+                    analyzeCompilationUnit(analysisContext, compilationUnit.get());
+                } finally {
+                    leaveCompilationUnit(analysisContext);
+                }
             }
         }
     }
@@ -297,12 +353,15 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         @Nonnull
         @Override
         public final Optional<String> apply(@Nonnull Qualifier<?> input) {
+            StringBuilder className = new StringBuilder(64); // reused for all candidates
             for (CharSequence prefix : calculatePrefixes(input)) {
                 for (Qualifier candidate : input.getTypeCandidates()) {
                     if (skipResolvingFor(candidate)) {
                         continue;
                     }
-                    Optional<String> resolvedClass = classPoolAccessor.resolveClass(prefix + candidate.getFullQualifier());
+                    className.setLength(0);
+                    className.append(prefix).append(candidate.getFullQualifier());
+                    Optional<String> resolvedClass = classPoolAccessor.resolveClass(className);
                     if (resolvedClass.isPresent()) {
                         return resolvedClass;
                     }
@@ -469,18 +528,21 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
     }
 
     private static class ImportedTypeResolver extends CandidatesResolver {
+        @Nonnull
+        private final ThreadLocal<CompilationUnitScope> currentScope;
 
-        public ImportedTypeResolver(ClassPoolAccessor classPoolAccessor) {
+        public ImportedTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor,
+                                    @Nonnull ThreadLocal<CompilationUnitScope> currentScope) {
             super(classPoolAccessor);
+            this.currentScope = currentScope;
         }
 
         @Nullable
         @Override
         protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
             String firstQualifier = topQualifier.getFirstQualifier().getName();
-            CompilationUnit compilationUnit = Nodes.getCompilationUnit(topQualifier.getNode());
-            ImportDeclaration importDeclaration = getOnlyElement(emptyIfNull(compilationUnit.getImports()).filter(
-                    and(not(isAsterisk()), refersTo(firstQualifier))), null);
+            ImportDeclaration importDeclaration =
+                    getOnlyElement(currentScope.get().importIndex.getSingleImportsOf(firstQualifier), null);
             if (importDeclaration == null) {
                 return null;
             }
@@ -493,41 +555,37 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
     }
 
     private static class PackageTypeResolver extends CandidatesResolver {
+        @Nonnull
+        private final ThreadLocal<CompilationUnitScope> currentScope;
 
-        public PackageTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
+        public PackageTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor,
+                                   @Nonnull ThreadLocal<CompilationUnitScope> currentScope) {
             super(classPoolAccessor);
+            this.currentScope = currentScope;
         }
 
         @Nonnull
         @Override
         protected String calculatePrefix(@Nonnull Qualifier<?> topQualifier) {
-            PackageDeclaration aPackage = Nodes.getCompilationUnit(topQualifier.getNode()).getPackage();
-            if (aPackage == null) {
-                return "";
-            }
-            return prepend(aPackage.getName(), new StringBuilder("")).append(".").toString();
+            return currentScope.get().packagePrefix;
         }
 
     }
 
     private static class AsteriskImportedTypeResolver extends CandidatesResolver {
+        @Nonnull
+        private final ThreadLocal<CompilationUnitScope> currentScope;
 
-        public AsteriskImportedTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor) {
+        public AsteriskImportedTypeResolver(@Nonnull ClassPoolAccessor classPoolAccessor,
+                                            @Nonnull ThreadLocal<CompilationUnitScope> currentScope) {
             super(classPoolAccessor);
+            this.currentScope = currentScope;
         }
 
         @Nonnull
         @Override
         protected Iterable<String> calculatePrefixes(@Nonnull Qualifier<?> topQualifier) {
-            ArrayList<String> asteriskImports = newArrayList();
-            CompilationUnit compilationUnit = Nodes.getCompilationUnit(topQualifier.getNode());
-            for (ImportDeclaration importDeclaration :
-                    emptyIfNull(compilationUnit.getImports()).filter(isAsterisk())) {
-                StringBuilder buffy = prepend(importDeclaration.getName(), new StringBuilder());
-                buffy.append(importDeclaration.isStatic() ? '$' : '.');
-                asteriskImports.add(buffy.toString());
-            }
-            return asteriskImports;
+            return currentScope.get().asteriskImportPrefixes;
         }
 
     }
@@ -546,6 +604,158 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
 
     }
 
+    /**
+     * Resolves types by means of a chain of resolvers, which is set up once per analysis context.
+     * The results are memoized per compilation unit, as the same types are typically referenced multiple times.
+     *
+     * @since 2.2.0
+     */
+    private static final class TypeResolver implements NonNullFunction<Qualifier<?>, Optional<String>> {
+        @Nonnull
+        private final AnalysisContext analysisContext;
+        @Nonnull
+        private final ThreadLocal<CompilationUnitScope> currentScope = new ThreadLocal<CompilationUnitScope>();
+        @Nonnull
+        private final NonNullFunction<Qualifier<?>, Optional<String>> resolverChain;
+
+        @SuppressWarnings("unchecked")
+        TypeResolver(@Nonnull AnalysisContext analysisContext) {
+            this.analysisContext = analysisContext;
+            ClassPoolAccessor classPoolAccessor = ClassPoolAccessor.classPoolAccessorFor(analysisContext);
+            this.resolverChain = or(
+                    new FullyQualifiedTypeResolver(classPoolAccessor),
+                    new InnerTypeResolver(),
+                    new InheritedTypeResolver(classPoolAccessor),
+                    new ImportedTypeResolver(classPoolAccessor, currentScope),
+                    new PackageTypeResolver(classPoolAccessor, currentScope),
+                    new AsteriskImportedTypeResolver(classPoolAccessor, currentScope),
+                    new JavaLangTypeResolver(classPoolAccessor));
+        }
+
+        @Nonnull
+        @Override
+        public Optional<String> apply(@Nonnull Qualifier<?> qualifier) {
+            CompilationUnitScope scope = enterScopeOf(qualifier.getNode());
+            if (qualifier.getParentQualifier() != null) {
+                // the resolution may depend on the parent qualifiers, which aren't reflected by the key
+                return resolverChain.apply(qualifier);
+            }
+            ResolutionKey key = new ResolutionKey(qualifier);
+            Optional<String> resolvedType = scope.resolvedTypes.get(key);
+            if (resolvedType == null) {
+                resolvedType = resolverChain.apply(qualifier);
+                scope.resolvedTypes.put(key, resolvedType);
+            }
+            return resolvedType;
+        }
+
+        @Nonnull
+        private CompilationUnitScope enterScopeOf(@Nonnull Node node) {
+            CompilationUnit compilationUnit = Nodes.getCompilationUnit(node);
+            CompilationUnitScope scope = currentScope.get();
+            if (scope == null || scope.compilationUnit != compilationUnit) {
+                scope = new CompilationUnitScope(compilationUnit, getImportIndex(analysisContext, compilationUnit));
+                currentScope.set(scope);
+            }
+            return scope;
+        }
+
+        void leaveScope() {
+            currentScope.remove();
+        }
+
+    }
+
+    /**
+     * Holds the import index & package prefix of a compilation unit as well as the types resolved within it.
+     *
+     * @since 2.2.0
+     */
+    private static final class CompilationUnitScope {
+        @Nonnull
+        final CompilationUnit compilationUnit;
+        @Nonnull
+        final ImportIndex importIndex;
+        @Nonnull
+        final String packagePrefix;
+        @Nonnull
+        final List<String> asteriskImportPrefixes = newArrayList();
+        @Nonnull
+        final Map<ResolutionKey, Optional<String>> resolvedTypes = newHashMap();
+
+        CompilationUnitScope(@Nonnull CompilationUnit compilationUnit, @Nonnull ImportIndex importIndex) {
+            this.compilationUnit = compilationUnit;
+            this.importIndex = importIndex;
+            PackageDeclaration aPackage = compilationUnit.getPackage();
+            this.packagePrefix = aPackage == null
+                    ? ""
+                    : prepend(aPackage.getName(), new StringBuilder("")).append(".").toString();
+            for (ImportDeclaration importDeclaration : importIndex.getAsteriskImports()) {
+                StringBuilder buffy = prepend(importDeclaration.getName(), new StringBuilder());
+                buffy.append(importDeclaration.isStatic() ? '$' : '.');
+                asteriskImportPrefixes.add(buffy.toString());
+            }
+        }
+
+    }
+
+    /**
+     * Identifies a type resolution within a compilation unit: the outcome depends on the kind of qualifier, the
+     * qualifier itself & the type declaration (or anonymous class) the reference is located in - i.e. the innermost
+     * node that affects {@link Nodes#getTypeName(Node)} and the resolution of inner types.
+     *
+     * @since 2.2.0
+     */
+    private static final class ResolutionKey {
+        @Nonnull
+        private final Class<?> qualifierType;
+        @Nonnull
+        private final Node typeContext;
+        @Nonnull
+        private final String fullQualifier;
+
+        ResolutionKey(@Nonnull Qualifier<?> qualifier) {
+            this.qualifierType = qualifier.getClass();
+            this.typeContext = getTypeContext(qualifier.getNode());
+            this.fullQualifier = qualifier.getFullQualifier();
+        }
+
+        @Nonnull
+        private static Node getTypeContext(@Nonnull Node node) {
+            for (Node loopNode = node; ; ) {
+                Node parentNode = loopNode.getParentNode();
+                if (parentNode == null
+                        || TypeDeclaration.class.isInstance(loopNode)
+                        || TypeDeclarationStmt.class.isInstance(loopNode)
+                        || ObjectCreationExpr.class.isInstance(loopNode)
+                        && !isEmpty(ObjectCreationExpr.class.cast(loopNode).getAnonymousClassBody())) {
+                    return loopNode;
+                }
+                loopNode = parentNode;
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResolutionKey)) {
+                return false;
+            }
+            ResolutionKey other = (ResolutionKey) obj;
+            return this.typeContext == other.typeContext
+                    && this.qualifierType == other.qualifierType
+                    && this.fullQualifier.equals(other.fullQualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(typeContext) + qualifierType.hashCode()) + fullQualifier.hashCode();
+        }
+
+    }
+
     private static class JavaParserSupplier implements NonNullFunction<AnalysisContext, LoadingCache<File, Optional<CompilationUnit>>> {
 
         private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -559,22 +769,14 @@ public abstract class JavaFileAnalyzer extends AnalyzerAdapter {
         @Override
         @SuppressWarnings("PMD.AvoidCatchingThrowable") // unfortunately, JavaParser throws an Error when parsing fails
         public LoadingCache<File, Optional<CompilationUnit>> apply(@Nonnull final AnalysisContext analysisContext) {
-            return SequentialLoadingCache.createSingleValueCache(toFunction(new NonNullFunction<File, Optional<CompilationUnit>>() {
+            return SequentialLoadingCache.createThreadConfinedSingleValueCache(toFunction(new NonNullFunction<File, Optional<CompilationUnit>>() {
                 @Nonnull
                 @Override
-                @SuppressFBWarnings(value = "DM_DEFAULT_ENCODING", justification = "The MavenProject does not provide the proper encoding")
                 public Optional<CompilationUnit> apply(@Nonnull File file) {
-                    Reader reader = null;
                     try {
-                        reader = analysisContext.getModule().getEncoding() != null
-                                ? new InputStreamReader(new FileInputStream(file),
-                                analysisContext.getModule().getEncoding())
-                                : new FileReader(file);
-                        return of(JavaParser.parse(reader, false));
+                        return of(JavaParser.parse(new StringReader(readJavaFile(analysisContext, file)), false));
                     } catch (Throwable t) {
                         return handleThrowable(file, t);
-                    } finally {
-                        closeQuietly(reader);
                     }
                 }
             }));
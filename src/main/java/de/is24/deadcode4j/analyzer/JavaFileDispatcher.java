@@ -0,0 +1,102 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.google.common.base.Optional;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalysisSink;
+import de.is24.deadcode4j.AnalyzedCode;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static de.is24.deadcode4j.analyzer.JavaFileAnalyzer.leaveCompilationUnit;
+import static de.is24.deadcode4j.analyzer.JavaFileAnalyzer.parseJavaFile;
+import static de.is24.deadcode4j.analyzer.JavaFileAnalyzer.readJavaFile;
+
+/**
+ * Parses each Java file only once and visits the compilation unit only once, invoking the
+ * {@link JavaNodeCallbacks callbacks} of all {@link JavaNodeAnalyzer}s during that single traversal.
+ * <p/>
+ * Before parsing a file, each analyzer is asked if it is
+ * {@link JavaNodeAnalyzer#isInterestedIn(AnalysisContext, String) interested in} the file's content at all; only the
+ * interested analyzers are involved - and the file is not parsed if there are none.
+ *
+ * @since 2.2.0
+ */
+public class JavaFileDispatcher extends AnalyzerAdapter {
+    @Nonnull
+    private final List<JavaNodeAnalyzer> javaNodeAnalyzers;
+
+    /**
+     * Creates a new <code>JavaFileDispatcher</code>.
+     *
+     * @param javaNodeAnalyzers the analyzers whose callbacks are to be invoked
+     * @since 2.2.0
+     */
+    public JavaFileDispatcher(@Nonnull Collection<? extends JavaNodeAnalyzer> javaNodeAnalyzers) {
+        checkArgument(!javaNodeAnalyzers.isEmpty(), "At least one JavaNodeAnalyzer must be given!");
+        this.javaNodeAnalyzers = newArrayList(javaNodeAnalyzers);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " dispatching to " + javaNodeAnalyzers;
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        if (!file.getName().endsWith(".java")) {
+            return;
+        }
+        String code = readJavaFile(analysisContext, file);
+        List<JavaNodeAnalyzer> interestedAnalyzers = newArrayListWithCapacity(javaNodeAnalyzers.size());
+        for (JavaNodeAnalyzer javaNodeAnalyzer : javaNodeAnalyzers) {
+            if (javaNodeAnalyzer.isInterestedIn(analysisContext, code)) {
+                interestedAnalyzers.add(javaNodeAnalyzer);
+            }
+        }
+        if (interestedAnalyzers.isEmpty()) {
+            logger.debug("Skipping Java file [{}] as no analyzer is interested in it.", file);
+            return;
+        }
+        Optional<CompilationUnit> compilationUnit = parseJavaFile(analysisContext, file);
+        if (compilationUnit.isPresent()) {
+            logger.debug("Analyzing Java file [{}] for {}...", file, interestedAnalyzers);
+            analyzeCompilationUnit(analysisContext, compilationUnit.get(), interestedAnalyzers);
+        }
+    }
+
+    private void analyzeCompilationUnit(@Nonnull AnalysisContext analysisContext,
+                                        @Nonnull CompilationUnit compilationUnit,
+                                        @Nonnull List<JavaNodeAnalyzer> interestedAnalyzers) {
+        List<JavaNodeCallbacks> callbacks = newArrayListWithCapacity(interestedAnalyzers.size());
+        for (JavaNodeAnalyzer javaNodeAnalyzer : interestedAnalyzers) {
+            callbacks.add(javaNodeAnalyzer.createCallbacksFor(analysisContext, compilationUnit));
+        }
+        try {
+            JavaNodeVisitor.visit(compilationUnit, callbacks);
+        } finally {
+            leaveCompilationUnit(analysisContext);
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+        for (JavaNodeAnalyzer javaNodeAnalyzer : javaNodeAnalyzers) {
+            javaNodeAnalyzer.finishAnalysis(analysisContext);
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisSink analysisSink, @Nonnull AnalyzedCode analyzedCode) {
+        for (JavaNodeAnalyzer javaNodeAnalyzer : javaNodeAnalyzers) {
+            javaNodeAnalyzer.finishAnalysis(analysisSink, analyzedCode);
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.github.javaparser.ast.CompilationUnit;
+import de.is24.deadcode4j.AnalysisContext;
+
+import javax.annotation.Nonnull;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Serves as a base class with which to analyze java files by means of {@link JavaNodeCallbacks}.
+ * The callbacks of several <code>JavaNodeAnalyzer</code>s can share one traversal of a compilation unit, see
+ * {@link JavaFileDispatcher}.
+ *
+ * @since 2.2.0
+ */
+public abstract class JavaNodeAnalyzer extends JavaFileAnalyzer {
+
+    /**
+     * Creates the callbacks with which to analyze the specified compilation unit.
+     * Results must be reported via the capabilities of the {@link AnalysisContext}.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    protected abstract JavaNodeCallbacks createCallbacksFor(@Nonnull AnalysisContext analysisContext,
+                                                            @Nonnull CompilationUnit compilationUnit);
+
+    /**
+     * Indicates if the given source code may contain anything of interest to this analyzer; if not, the
+     * {@link JavaFileDispatcher} neither creates callbacks for it nor - if no analyzer is interested - parses the file.
+     * This is a cheap pre-check on the raw source code, so false positives are fine whereas false negatives are not.
+     * <p/>
+     * The default implementation returns <code>true</code>.
+     *
+     * @since 2.2.0
+     */
+    protected boolean isInterestedIn(@Nonnull AnalysisContext analysisContext, @Nonnull String code) {
+        return true;
+    }
+
+    @Override
+    protected final void analyzeCompilationUnit(@Nonnull AnalysisContext analysisContext,
+                                                @Nonnull CompilationUnit compilationUnit) {
+        JavaNodeVisitor.visit(compilationUnit, singletonList(createCallbacksFor(analysisContext, compilationUnit)));
+    }
+
+}
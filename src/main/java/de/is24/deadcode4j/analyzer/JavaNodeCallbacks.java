@@ -0,0 +1,78 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Serves as a base class for the callbacks a {@link JavaNodeAnalyzer} registers for a compilation unit.
+ * The callbacks of several analyzers are invoked during one traversal of the compilation unit by a
+ * {@link JavaNodeVisitor}, sharing its {@link LexicalScope}.
+ * <p/>
+ * A callback returning <code>false</code> is not invoked for the children of the visited node; the other callbacks
+ * are not affected by that.
+ *
+ * @since 2.2.0
+ */
+public abstract class JavaNodeCallbacks {
+
+    /**
+     * Indicates if the callbacks are to be invoked for the declaring parts of the code as well: the package & import
+     * declarations, the names of annotations, the signatures of methods & constructors and all parameters. If not,
+     * only the annotations & bodies of the declarations are visited.
+     * <p/>
+     * The default implementation returns <code>true</code>.
+     *
+     * @since 2.2.0
+     */
+    public boolean visitsDeclarations() {
+        return true;
+    }
+
+    /**
+     * Is called for each visited <code>ClassOrInterfaceType</code>.
+     * The default implementation returns <code>true</code>.
+     *
+     * @return <code>true</code> if the children of the type are to be visited
+     * @since 2.2.0
+     */
+    public boolean visit(@Nonnull ClassOrInterfaceType n, @Nonnull LexicalScope scope) {
+        return true;
+    }
+
+    /**
+     * Is called for each visited <code>FieldAccessExpr</code>.
+     * The default implementation returns <code>true</code>.
+     *
+     * @return <code>true</code> if the children of the expression are to be visited
+     * @since 2.2.0
+     */
+    public boolean visit(@Nonnull FieldAccessExpr n, @Nonnull LexicalScope scope) {
+        return true;
+    }
+
+    /**
+     * Is called for each visited <code>MethodReferenceExpr</code>.
+     * The default implementation returns <code>true</code>.
+     *
+     * @return <code>true</code> if the children of the expression are to be visited
+     * @since 2.2.0
+     */
+    public boolean visit(@Nonnull MethodReferenceExpr n, @Nonnull LexicalScope scope) {
+        return true;
+    }
+
+    /**
+     * Is called for each visited <code>NameExpr</code>; note that the qualifier of a <code>QualifiedNameExpr</code> is
+     * visited, but not the <code>QualifiedNameExpr</code> itself.
+     * The default implementation does nothing.
+     *
+     * @since 2.2.0
+     */
+    public void visit(@Nonnull NameExpr n, @Nonnull LexicalScope scope) {
+    }
+
+}
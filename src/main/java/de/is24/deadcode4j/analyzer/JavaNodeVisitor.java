@@ -0,0 +1,428 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.TypeParameter;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.*;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Sets;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Predicates.not;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.Utils.emptyIfNull;
+import static java.util.Collections.emptySet;
+
+/**
+ * Traverses a compilation unit once, invoking the {@link JavaNodeCallbacks} of several analyzers and keeping track of
+ * the {@link LexicalScope} they share. The nodes are visited in the order of the <code>VoidVisitorAdapter</code>;
+ * a subtree is skipped altogether if none of the callbacks is interested in it.
+ *
+ * @since 2.2.0
+ */
+@NotThreadSafe
+final class JavaNodeVisitor extends VoidVisitorAdapter<Void> {
+    @Nonnull
+    private final LexicalScope scope = new LexicalScope();
+    @Nonnull
+    private List<JavaNodeCallbacks> activeCallbacks;
+
+    private JavaNodeVisitor(@Nonnull List<JavaNodeCallbacks> callbacks) {
+        this.activeCallbacks = callbacks;
+    }
+
+    /**
+     * Visits the given compilation unit, invoking the given callbacks.
+     *
+     * @since 2.2.0
+     */
+    static void visit(@Nonnull CompilationUnit compilationUnit, @Nonnull List<JavaNodeCallbacks> callbacks) {
+        compilationUnit.accept(new JavaNodeVisitor(callbacks), null);
+    }
+
+    private static Predicate<? super FieldDeclaration> constants() {
+        return new Predicate<FieldDeclaration>() {
+            @Override
+            @SuppressWarnings("ConstantConditions")
+            public boolean apply(@Nullable FieldDeclaration fieldDeclaration) {
+                int modifiers = checkNotNull(fieldDeclaration).getModifiers();
+                return ModifierSet.isStatic(modifiers) && ModifierSet.isFinal(modifiers);
+            }
+        };
+    }
+
+    private static void addFieldVariables(@Nullable Iterable<? extends BodyDeclaration> declarations,
+                                          @Nonnull Set<String> variables) {
+        for (FieldDeclaration fieldDeclaration : emptyIfNull(declarations).
+                filter(FieldDeclaration.class).filter(not(constants()))) {
+            for (VariableDeclarator variableDeclarator : fieldDeclaration.getVariables()) {
+                variables.add(variableDeclarator.getId().getName());
+            }
+        }
+    }
+
+    @Nonnull
+    private static Set<String> getTypeParameterNames(@Nullable List<TypeParameter> typeParameters) {
+        if (typeParameters == null) {
+            return emptySet();
+        }
+        Set<String> parameters = newHashSet();
+        for (TypeParameter typeParameter : typeParameters) {
+            parameters.add(typeParameter.getName());
+        }
+        return parameters;
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceType n, Void arg) {
+        descendInto(n, arg);
+    }
+
+    @Override
+    public void visit(FieldAccessExpr n, Void arg) {
+        descendInto(n, arg);
+    }
+
+    @Override
+    public void visit(MethodReferenceExpr n, Void arg) {
+        descendInto(n, arg);
+    }
+
+    @Override
+    public void visit(NameExpr n, Void arg) {
+        for (JavaNodeCallbacks callbacks : this.activeCallbacks) {
+            callbacks.visit(n, this.scope);
+        }
+    }
+
+    @Override
+    public void visit(PackageDeclaration n, Void arg) {
+        List<JavaNodeCallbacks> previousCallbacks = switchTo(callbacksVisitingDeclarations(true));
+        try {
+            if (!this.activeCallbacks.isEmpty()) {
+                super.visit(n, arg);
+            }
+        } finally {
+            this.activeCallbacks = previousCallbacks;
+        }
+    }
+
+    @Override
+    public void visit(ImportDeclaration n, Void arg) {
+        List<JavaNodeCallbacks> previousCallbacks = switchTo(callbacksVisitingDeclarations(true));
+        try {
+            if (!this.activeCallbacks.isEmpty()) {
+                super.visit(n, arg);
+            }
+        } finally {
+            this.activeCallbacks = previousCallbacks;
+        }
+    }
+
+    @Override
+    public void visit(Parameter n, Void arg) {
+        List<JavaNodeCallbacks> previousCallbacks = switchTo(callbacksVisitingDeclarations(true));
+        try {
+            if (!this.activeCallbacks.isEmpty()) {
+                super.visit(n, arg);
+            }
+        } finally {
+            this.activeCallbacks = previousCallbacks;
+        }
+    }
+
+    @Override
+    public void visit(MarkerAnnotationExpr n, Void arg) {
+        visitWith(callbacksVisitingDeclarations(true), n.getName(), arg);
+    }
+
+    @Override
+    public void visit(NormalAnnotationExpr n, Void arg) {
+        visitWith(callbacksVisitingDeclarations(true), n.getName(), arg);
+        for (MemberValuePair memberValuePair : emptyIfNull(n.getPairs())) {
+            memberValuePair.accept(this, arg);
+        }
+    }
+
+    @Override
+    public void visit(SingleMemberAnnotationExpr n, Void arg) {
+        visitWith(callbacksVisitingDeclarations(true), n.getName(), arg);
+        n.getMemberValue().accept(this, arg);
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Void arg) {
+        HashSet<String> fields = newHashSet();
+        addFieldVariables(n.getMembers(), fields);
+        this.scope.enterLocalVariables(fields);
+        this.scope.enterTypeParameters(getTypeParameterNames(n.getTypeParameters()));
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveTypeParameters();
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(EnumDeclaration n, Void arg) {
+        HashSet<String> fieldsAndEnums = newHashSet();
+        for (EnumConstantDeclaration enumConstantDeclaration : emptyIfNull(n.getEntries())) {
+            fieldsAndEnums.add(enumConstantDeclaration.getName());
+        }
+        addFieldVariables(n.getMembers(), fieldsAndEnums);
+        this.scope.enterLocalVariables(fieldsAndEnums);
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(ObjectCreationExpr n, Void arg) {
+        HashSet<String> fields = newHashSet();
+        addFieldVariables(n.getAnonymousClassBody(), fields);
+        this.scope.enterLocalVariables(fields);
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(ConstructorDeclaration n, Void arg) {
+        HashSet<String> blockVariables = newHashSet();
+        for (Parameter parameter : emptyIfNull(n.getParameters())) {
+            blockVariables.add(parameter.getId().getName());
+        }
+        this.scope.enterLocalVariables(blockVariables);
+        this.scope.enterTypeParameters(getTypeParameterNames(n.getTypeParameters()));
+        try {
+            visitWith(this.activeCallbacks, n.getAnnotations(), arg);
+            List<JavaNodeCallbacks> declaringCallbacks = callbacksVisitingDeclarations(true);
+            visitWith(declaringCallbacks, n.getTypeParameters(), arg);
+            visitWith(declaringCallbacks, n.getParameters(), arg);
+            visitWith(declaringCallbacks, n.getThrows(), arg);
+            visitWith(this.activeCallbacks, n.getBlock(), arg);
+        } finally {
+            this.scope.leaveTypeParameters();
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(MethodDeclaration n, Void arg) {
+        HashSet<String> blockVariables = newHashSet();
+        for (Parameter parameter : emptyIfNull(n.getParameters())) {
+            blockVariables.add(parameter.getId().getName());
+        }
+        this.scope.enterLocalVariables(blockVariables);
+        this.scope.enterTypeParameters(getTypeParameterNames(n.getTypeParameters()));
+        try {
+            visitWith(this.activeCallbacks, n.getAnnotations(), arg);
+            List<JavaNodeCallbacks> declaringCallbacks = callbacksVisitingDeclarations(true);
+            visitWith(declaringCallbacks, n.getTypeParameters(), arg);
+            visitWith(declaringCallbacks, n.getType(), arg);
+            visitWith(declaringCallbacks, n.getParameters(), arg);
+            visitWith(declaringCallbacks, n.getThrows(), arg);
+            visitWith(this.activeCallbacks, n.getBody(), arg);
+        } finally {
+            this.scope.leaveTypeParameters();
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(CatchClause n, Void arg) {
+        MultiTypeParameter multiTypeParameter = n.getExcept();
+        HashSet<String> blockVariables = newHashSet();
+        blockVariables.add(multiTypeParameter.getId().getName());
+        this.scope.enterLocalVariables(blockVariables);
+        try {
+            visitWith(callbacksVisitingDeclarations(true), multiTypeParameter, arg);
+            visitWith(callbacksVisitingDeclarations(false), multiTypeParameter.getAnnotations(), arg);
+            visitWith(this.activeCallbacks, n.getCatchBlock(), arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(BlockStmt n, Void arg) {
+        this.scope.enterLocalVariables(Sets.<String>newHashSet());
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(ForeachStmt n, Void arg) {
+        HashSet<String> blockVariables = newHashSet();
+        for (VariableDeclarator variableDeclarator : emptyIfNull(n.getVariable().getVars())) {
+            blockVariables.add(variableDeclarator.getId().getName());
+        }
+        this.scope.enterLocalVariables(blockVariables);
+        try {
+            visitWith(callbacksVisitingDeclarations(true), n.getVariable(), arg);
+            n.getIterable().accept(this, arg);
+            n.getBody().accept(this, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(ForStmt n, Void arg) {
+        this.scope.enterLocalVariables(Sets.<String>newHashSet());
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(TryStmt n, Void arg) {
+        HashSet<String> blockVariables = newHashSet();
+        for (VariableDeclarationExpr variableDeclarationExpr : emptyIfNull(n.getResources())) {
+            for (VariableDeclarator variableDeclarator : variableDeclarationExpr.getVars()) {
+                blockVariables.add(variableDeclarator.getId().getName());
+            }
+        }
+        this.scope.enterLocalVariables(blockVariables);
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(LambdaExpr n, Void arg) {
+        HashSet<String> blockVariables = newHashSet();
+        for (Parameter parameter : emptyIfNull(n.getParameters())) {
+            blockVariables.add(parameter.getId().getName());
+        }
+        this.scope.enterLocalVariables(blockVariables);
+        try {
+            super.visit(n, arg);
+        } finally {
+            this.scope.leaveLocalVariables();
+        }
+    }
+
+    @Override
+    public void visit(VariableDeclarationExpr n, Void arg) {
+        for (AnnotationExpr annotationExpr : emptyIfNull(n.getAnnotations())) {
+            annotationExpr.accept(this, arg);
+        }
+        n.getType().accept(this, arg);
+        for (VariableDeclarator variableDeclarator : n.getVars()) {
+            variableDeclarator.accept(this, arg);
+            this.scope.addLocalVariable(variableDeclarator.getId().getName());
+        }
+    }
+
+    @Nonnull
+    private List<JavaNodeCallbacks> switchTo(@Nonnull List<JavaNodeCallbacks> callbacks) {
+        List<JavaNodeCallbacks> previousCallbacks = this.activeCallbacks;
+        this.activeCallbacks = callbacks;
+        return previousCallbacks;
+    }
+
+    @Nonnull
+    private List<JavaNodeCallbacks> callbacksVisitingDeclarations(boolean visitsDeclarations) {
+        List<JavaNodeCallbacks> matchingCallbacks = newArrayListWithCapacity(this.activeCallbacks.size());
+        for (JavaNodeCallbacks callbacks : this.activeCallbacks) {
+            if (callbacks.visitsDeclarations() == visitsDeclarations) {
+                matchingCallbacks.add(callbacks);
+            }
+        }
+        return matchingCallbacks.size() == this.activeCallbacks.size() ? this.activeCallbacks : matchingCallbacks;
+    }
+
+    /**
+     * Calls the active callbacks for the given node and visits its subtree with those callbacks wanting to descend
+     * into it; the subtree is skipped if there are none.
+     */
+    private void descendInto(@Nonnull Node n, Void arg) {
+        List<JavaNodeCallbacks> descendingCallbacks = newArrayListWithCapacity(this.activeCallbacks.size());
+        for (JavaNodeCallbacks callbacks : this.activeCallbacks) {
+            if (descends(callbacks, n)) {
+                descendingCallbacks.add(callbacks);
+            }
+        }
+        if (descendingCallbacks.isEmpty()) {
+            return;
+        }
+        List<JavaNodeCallbacks> previousCallbacks = switchTo(descendingCallbacks);
+        try {
+            visitChildren(n, arg);
+        } finally {
+            this.activeCallbacks = previousCallbacks;
+        }
+    }
+
+    private boolean descends(@Nonnull JavaNodeCallbacks callbacks, @Nonnull Node n) {
+        if (n instanceof ClassOrInterfaceType) {
+            return callbacks.visit((ClassOrInterfaceType) n, this.scope);
+        }
+        if (n instanceof FieldAccessExpr) {
+            return callbacks.visit((FieldAccessExpr) n, this.scope);
+        }
+        return callbacks.visit((MethodReferenceExpr) n, this.scope);
+    }
+
+    private void visitChildren(@Nonnull Node n, Void arg) {
+        if (n instanceof ClassOrInterfaceType) {
+            super.visit((ClassOrInterfaceType) n, arg);
+        } else if (n instanceof FieldAccessExpr) {
+            super.visit((FieldAccessExpr) n, arg);
+        } else {
+            MethodReferenceExpr methodReference = (MethodReferenceExpr) n;
+            this.scope.enterTypeParameters(getTypeParameterNames(methodReference.getTypeParameters()));
+            try {
+                super.visit(methodReference, arg);
+            } finally {
+                this.scope.leaveTypeParameters();
+            }
+        }
+    }
+
+    private void visitWith(@Nonnull List<JavaNodeCallbacks> callbacks, @Nullable List<? extends Node> nodes, Void arg) {
+        for (Node node : emptyIfNull(nodes)) {
+            visitWith(callbacks, node, arg);
+        }
+    }
+
+    private void visitWith(@Nonnull List<JavaNodeCallbacks> callbacks, @Nullable Node node, Void arg) {
+        if (node == null || callbacks.isEmpty()) {
+            return;
+        }
+        List<JavaNodeCallbacks> previousCallbacks = switchTo(callbacks);
+        try {
+            node.accept(this, arg);
+        } finally {
+            this.activeCallbacks = previousCallbacks;
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.Deque;
+import java.util.Set;
+
+import static com.google.common.collect.Iterables.concat;
+import static com.google.common.collect.Iterables.contains;
+import static com.google.common.collect.Lists.newLinkedList;
+
+/**
+ * Records the names being declared at the node currently visited by a {@link JavaNodeVisitor}: the local variables,
+ * parameters & non-constant fields hiding a type or constant of the same name, and the type parameters hiding a type
+ * of the same name.
+ *
+ * @since 2.2.0
+ */
+@NotThreadSafe
+public final class LexicalScope {
+    @Nonnull
+    private final Deque<Set<String>> localVariables = newLinkedList();
+    @Nonnull
+    private final Deque<Set<String>> typeParameters = newLinkedList();
+
+    LexicalScope() {
+    }
+
+    /**
+     * Indicates if a local variable, parameter or non-constant field of the given name is visible.
+     *
+     * @since 2.2.0
+     */
+    public boolean aLocalVariableExists(@Nonnull String name) {
+        return contains(concat(this.localVariables), name);
+    }
+
+    /**
+     * Indicates if the given type refers to a type parameter rather than to a class.
+     *
+     * @since 2.2.0
+     */
+    public boolean typeParameterWithSameNameIsDefined(@Nonnull ClassOrInterfaceType classOrInterfaceType) {
+        if (classOrInterfaceType.getScope() != null) {
+            return false;
+        }
+        for (Set<String> definedTypeNames : this.typeParameters) {
+            if (definedTypeNames.contains(classOrInterfaceType.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void enterLocalVariables(@Nonnull Set<String> variables) {
+        this.localVariables.addLast(variables);
+    }
+
+    void addLocalVariable(@Nonnull String variable) {
+        this.localVariables.getLast().add(variable);
+    }
+
+    void leaveLocalVariables() {
+        this.localVariables.removeLast();
+    }
+
+    void enterTypeParameters(@Nonnull Set<String> typeParameterNames) {
+        this.typeParameters.addLast(typeParameterNames);
+    }
+
+    void leaveTypeParameters() {
+        this.typeParameters.removeLast();
+    }
+
+}
@@ -1,5 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
+
 /**
  * <p>Analyzes Logback XML configuration files (only files named <code>logback.xml</code>) by reporting every
  * <code>class</code> and <code>actionClass</code> attribute as being <i>live code</i>.</p>
@@ -9,6 +11,7 @@ package de.is24.deadcode4j.analyzer;
  *
  * @since 2.2.0
  */
+@ReplayableAnalysis
 public class LogbackXmlAnalyzer extends ExtendedXmlAnalyzer {
 
     public LogbackXmlAnalyzer() {
@@ -1,42 +1,51 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.bytecode.ClassFileView;
 import de.is24.deadcode4j.AnalysisContext;
-import javassist.CtClass;
+import de.is24.deadcode4j.DeferrableAnalysis;
 import javassist.Modifier;
 import javassist.bytecode.AccessFlag;
-import javassist.bytecode.MethodInfo;
 
 import javax.annotation.Nonnull;
-
-import static com.google.common.collect.Iterables.filter;
+import java.util.Collection;
+import java.util.Collections;
 
 /**
  * Analyzes class files: marks a class as being in use if it defines a main method.
  *
  * @since 2.0.0
  */
-public class MainClassAnalyzer extends ByteCodeAnalyzer {
+@DeferrableAnalysis
+public class MainClassAnalyzer extends ClassFileAnalyzer {
+
+    private static final String MAIN_METHOD_DESCRIPTOR = "([Ljava/lang/String;)V";
 
-    private static boolean isPublicStatic(MethodInfo methodInfo) {
-        int modifier = AccessFlag.toModifier(methodInfo.getAccessFlags());
+    private static boolean isPublicStatic(ClassFileView.Method method) {
+        int modifier = AccessFlag.toModifier(method.getAccessFlags());
         return Modifier.isPublic(modifier) && Modifier.isStatic(modifier);
     }
 
-    private static boolean matchesSignature(MethodInfo methodInfo) {
-        return "([Ljava/lang/String;)V".equals(methodInfo.getDescriptor());
+    private static boolean matchesSignature(ClassFileView.Method method) {
+        return MAIN_METHOD_DESCRIPTOR.equals(method.getDescriptor());
+    }
+
+    @Nonnull
+    @Override
+    protected Collection<String> getRequiredConstantPrefixes() {
+        return Collections.singleton(MAIN_METHOD_DESCRIPTOR);
     }
 
     @Override
-    protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        String clazzName = clazz.getName();
+    protected void analyzeClassFile(@Nonnull AnalysisContext analysisContext, @Nonnull ClassFileView classFile) {
+        String clazzName = classFile.getName();
         analysisContext.addAnalyzedClass(clazzName);
 
-        for (MethodInfo methodInfo : filter(clazz.getClassFile2().getMethods(), MethodInfo.class)) {
-            if (methodInfo.isMethod()
-                    && isPublicStatic(methodInfo)
-                    && "main".equals(methodInfo.getName())
-                    && matchesSignature(methodInfo)) {
-                analysisContext.addDependencies("_Main-Class_", clazz.getName());
+        for (ClassFileView.Method method : classFile.getMethods()) {
+            if (method.isMethod()
+                    && isPublicStatic(method)
+                    && "main".equals(method.getName())
+                    && matchesSignature(method)) {
+                analysisContext.addDependencies("_Main-Class_", clazzName);
             }
         }
     }
@@ -0,0 +1,49 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.DeferrableAnalysis;
+import de.is24.guava.NonNullFunction;
+import javassist.CtClass;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Serves as a base class for those analyzers that mark a class as being in use if it carries a specific annotation,
+ * implements a specific interface or extends a specific class - the so called <i>markers</i>.<br/>
+ * Such an analyzer only {@link #registerMarkers(AnalysisContext, MarkerIndex) registers} its markers; the evaluation
+ * is done by a {@link MarkerIndex}. Multiple marker analyzers can be combined by a {@link MarkerDispatcher}, so that
+ * each class is evaluated only once for all of them.
+ *
+ * @since 2.2.0
+ */
+@DeferrableAnalysis
+public abstract class MarkerAnalyzer extends ByteCodeAnalyzer {
+
+    private final NonNullFunction<AnalysisContext, MarkerIndex> supplyMarkerIndex =
+            new NonNullFunction<AnalysisContext, MarkerIndex>() {
+                @Nonnull
+                @Override
+                public MarkerIndex apply(@Nonnull AnalysisContext analysisContext) {
+                    MarkerIndex markerIndex = new MarkerIndex();
+                    registerMarkers(analysisContext, markerIndex);
+                    return markerIndex;
+                }
+            };
+
+    MarkerAnalyzer() {
+    }
+
+    @Override
+    protected final void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        analysisContext.getOrCreateCacheEntry(getClass().getName() + "|markerIndex", supplyMarkerIndex)
+                .analyzeClass(analysisContext, clazz);
+    }
+
+    /**
+     * Registers the markers of this analyzer - as far as they are available for the given context.
+     *
+     * @since 2.2.0
+     */
+    abstract void registerMarkers(@Nonnull AnalysisContext analysisContext, @Nonnull MarkerIndex markerIndex);
+
+}
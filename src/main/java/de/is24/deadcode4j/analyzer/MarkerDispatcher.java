@@ -0,0 +1,77 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalysisSink;
+import de.is24.deadcode4j.AnalyzedCode;
+import de.is24.deadcode4j.DeferrableAnalysis;
+import de.is24.guava.NonNullFunction;
+import javassist.CtClass;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+
+/**
+ * Evaluates each class only once for all {@link MarkerAnalyzer}s: the markers of all analyzers are registered with one
+ * {@link MarkerIndex}, which then looks up the annotations & supertypes of each class.
+ *
+ * @since 2.2.0
+ */
+@DeferrableAnalysis
+public class MarkerDispatcher extends ByteCodeAnalyzer {
+    @Nonnull
+    private final List<MarkerAnalyzer> markerAnalyzers;
+    private final NonNullFunction<AnalysisContext, MarkerIndex> supplyMarkerIndex =
+            new NonNullFunction<AnalysisContext, MarkerIndex>() {
+                @Nonnull
+                @Override
+                public MarkerIndex apply(@Nonnull AnalysisContext analysisContext) {
+                    MarkerIndex markerIndex = new MarkerIndex();
+                    for (MarkerAnalyzer markerAnalyzer : markerAnalyzers) {
+                        markerAnalyzer.registerMarkers(analysisContext, markerIndex);
+                    }
+                    logger.debug("Set up {}.", markerIndex);
+                    return markerIndex;
+                }
+            };
+
+    /**
+     * Creates a new <code>MarkerDispatcher</code>.
+     *
+     * @param markerAnalyzers the analyzers whose markers are to be evaluated
+     * @since 2.2.0
+     */
+    public MarkerDispatcher(@Nonnull Collection<? extends MarkerAnalyzer> markerAnalyzers) {
+        checkArgument(!markerAnalyzers.isEmpty(), "At least one MarkerAnalyzer must be given!");
+        this.markerAnalyzers = newArrayList(markerAnalyzers);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " dispatching to " + markerAnalyzers;
+    }
+
+    @Override
+    protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        analysisContext.getOrCreateCacheEntry(getClass().getName() + "|markerIndex", supplyMarkerIndex)
+                .analyzeClass(analysisContext, clazz);
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+        for (MarkerAnalyzer markerAnalyzer : markerAnalyzers) {
+            markerAnalyzer.finishAnalysis(analysisContext);
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisSink analysisSink, @Nonnull AnalyzedCode analyzedCode) {
+        for (MarkerAnalyzer markerAnalyzer : markerAnalyzers) {
+            markerAnalyzer.finishAnalysis(analysisSink, analyzedCode);
+        }
+    }
+
+}
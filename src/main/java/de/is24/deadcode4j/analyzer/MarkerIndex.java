@@ -0,0 +1,111 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.analyzer.javassist.TypeHierarchy;
+import javassist.CtClass;
+
+import javax.annotation.Nonnull;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.analyzer.AnnotationsAnalyzer.getAllAnnotationsOf;
+import static de.is24.deadcode4j.analyzer.AnnotationsAnalyzer.getAnnotationsOfSuperclassesOf;
+import static de.is24.deadcode4j.analyzer.javassist.TypeHierarchy.typeHierarchyFor;
+
+/**
+ * Maps the markers registered by {@link MarkerAnalyzer}s to their <i>depending entities</i>. A class is evaluated by
+ * looking up each of its annotations & supertypes, so that the effort per class does not depend on the number of
+ * registered analyzers.<br/>
+ * Markers must be registered before the first class is analyzed; from then on, an index is read-only.
+ *
+ * @since 2.2.0
+ */
+final class MarkerIndex {
+    @Nonnull
+    private final SetMultimap<String, String> annotations = HashMultimap.create();
+    @Nonnull
+    private final SetMultimap<String, String> annotationsOfSuperclasses = HashMultimap.create();
+    @Nonnull
+    private final SetMultimap<String, String> interfaces = HashMultimap.create();
+    @Nonnull
+    private final SetMultimap<String, String> superClasses = HashMultimap.create();
+
+    private static void addDependers(@Nonnull Set<String> dependers,
+                                     @Nonnull SetMultimap<String, String> markers,
+                                     @Nonnull Iterable<String> typesOfClass) {
+        for (String type : typesOfClass) {
+            dependers.addAll(markers.get(type));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MarkerIndex with annotations " + annotations + ", interfaces " + interfaces
+                + " & superclasses " + superClasses;
+    }
+
+    /**
+     * Registers annotations marking a class as being in use.
+     *
+     * @param considerSuperclasses indicates if the annotations of the superclasses are to be considered as well
+     */
+    void addAnnotations(@Nonnull String dependerId, @Nonnull Iterable<String> annotations, boolean considerSuperclasses) {
+        for (String annotation : annotations) {
+            this.annotations.put(annotation, dependerId);
+            if (considerSuperclasses) {
+                this.annotationsOfSuperclasses.put(annotation, dependerId);
+            }
+        }
+    }
+
+    /**
+     * Registers interfaces marking a class implementing them as being in use.
+     */
+    void addInterfaces(@Nonnull String dependerId, @Nonnull Iterable<String> interfaces) {
+        for (String anInterface : interfaces) {
+            this.interfaces.put(anInterface, dependerId);
+        }
+    }
+
+    /**
+     * Registers classes marking a class extending them as being in use.
+     */
+    void addSuperClasses(@Nonnull String dependerId, @Nonnull Iterable<String> superClasses) {
+        for (String superClass : superClasses) {
+            this.superClasses.put(superClass, dependerId);
+        }
+    }
+
+    /**
+     * Reports the given class as being analyzed and as being used by all depending entities whose markers it carries.
+     * If no markers are registered at all, nothing is reported.
+     */
+    void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+        if (annotations.isEmpty() && interfaces.isEmpty() && superClasses.isEmpty()) {
+            return;
+        }
+        String className = clazz.getName();
+        analysisContext.addAnalyzedClass(className);
+
+        Set<String> dependers = newHashSet();
+        if (!annotations.isEmpty()) {
+            addDependers(dependers, annotations, getAllAnnotationsOf(analysisContext, clazz));
+        }
+        if (!annotationsOfSuperclasses.isEmpty()) {
+            addDependers(dependers, annotationsOfSuperclasses, getAnnotationsOfSuperclassesOf(analysisContext, clazz));
+        }
+        TypeHierarchy typeHierarchy = typeHierarchyFor(analysisContext);
+        if (!interfaces.isEmpty()) {
+            addDependers(dependers, interfaces, typeHierarchy.getAllImplementedInterfaces(clazz));
+        }
+        if (!superClasses.isEmpty()) {
+            addDependers(dependers, superClasses, typeHierarchy.getSuperclassesOf(clazz));
+        }
+        for (String depender : dependers) {
+            analysisContext.addDependencies(depender, className);
+        }
+    }
+
+}
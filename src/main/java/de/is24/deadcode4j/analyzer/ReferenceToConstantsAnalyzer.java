@@ -2,36 +2,27 @@ package de.is24.deadcode4j.analyzer;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
-import com.github.javaparser.ast.body.*;
 import com.github.javaparser.ast.expr.*;
-import com.github.javaparser.ast.stmt.*;
+import com.github.javaparser.ast.stmt.SwitchEntryStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Sets;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor;
+import de.is24.javaparser.ImportIndex;
 import javassist.CtClass;
 import javassist.CtField;
 import javassist.Modifier;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Deque;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
-import static com.google.common.base.Predicates.and;
-import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.Iterables.*;
-import static com.google.common.collect.Lists.newLinkedList;
 import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.Utils.*;
 import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
 import static de.is24.javaparser.ImportDeclarations.*;
@@ -44,7 +35,7 @@ import static de.is24.javassist.CtClasses.*;
  *
  * @since 2.0.0
  */
-public class ReferenceToConstantsAnalyzer extends JavaFileAnalyzer {
+public class ReferenceToConstantsAnalyzer extends JavaNodeAnalyzer {
 
     @Nonnull
     private static String getFirstElement(@Nonnull FieldAccessExpr fieldAccessExpr) {
@@ -126,38 +117,112 @@ public class ReferenceToConstantsAnalyzer extends JavaFileAnalyzer {
     }
 
     @Override
-    protected void analyzeCompilationUnit(@Nonnull final AnalysisContext analysisContext,
-                                          @Nonnull final CompilationUnit compilationUnit) {
-        compilationUnit.accept(new LocalVariableRecordingVisitor<Void>() {
+    protected boolean isInterestedIn(@Nonnull AnalysisContext analysisContext, @Nonnull String code) {
+        ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+        return constantHolders == null || constantHolders.areNamedIn(code);
+    }
+
+    @Nonnull
+    @Override
+    protected JavaNodeCallbacks createCallbacksFor(@Nonnull final AnalysisContext analysisContext,
+                                                   @Nonnull final CompilationUnit compilationUnit) {
+        return new JavaNodeCallbacks() {
             private final ClassPoolAccessor classPoolAccessor = classPoolAccessorFor(analysisContext);
+            private final ImportIndex importIndex = getImportIndex(analysisContext, compilationUnit);
             private final Map<String, Set<String>> processedReferences = newHashMap();
+            private final ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+            private final boolean importsAConstantHolderStatically = importsAConstantHolderStatically();
+
+            @Override
+            public boolean visitsDeclarations() {
+                return false; // performance
+            }
+
+            @Override
+            public boolean visit(@Nonnull ClassOrInterfaceType n, @Nonnull LexicalScope scope) {
+                return false; // performance
+            }
 
             @Override
-            public void visit(FieldAccessExpr n, Void arg) {
+            public boolean visit(@Nonnull FieldAccessExpr n, @Nonnull LexicalScope scope) {
                 if (isTargetOfAnAssignment(n)
                         || isScopeOfThisExpression(n)) {
-                    return;
+                    return false;
                 }
                 if (!isRegularFieldAccessExpr(n)) {
-                    super.visit(n, arg);
-                    return;
+                    return true;
                 }
-                if (aLocalVariableExists(getFirstElement(n))) {
-                    return;
+                if (!scope.aLocalVariableExists(getFirstElement(n)) && mayReferToAConstantHolder(n)) {
+                    resolveFieldReference(n);
                 }
-                resolveFieldReference(n);
+                return false;
+            }
+
+            @Override
+            public boolean visit(@Nonnull MethodReferenceExpr n, @Nonnull LexicalScope scope) {
+                return false; // performance; only possible scope is TypeExpr - and types are irrelevant
             }
 
             @Override
-            public void visit(NameExpr n, Void arg) {
+            public void visit(@Nonnull NameExpr n, @Nonnull LexicalScope scope) {
                 if (isTargetOfAnAssignment(n)
                         || isScopeOfThisExpression(n)
-                        || aLocalVariableExists(n.getName())) {
+                        || scope.aLocalVariableExists(n.getName())
+                        || !mayReferToAConstantHolder(n)) {
                     return;
                 }
                 resolveNameReference(n);
             }
 
+            private boolean importsAConstantHolderStatically() {
+                if (constantHolders == null) {
+                    return true;
+                }
+                for (ImportDeclaration importDeclaration : emptyIfNull(compilationUnit.getImports())) {
+                    if (importDeclaration.isStatic() && namesAConstantHolder(importDeclaration.getName())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            private boolean namesAConstantHolder(@Nonnull NameExpr name) {
+                for (NameExpr loop = name; ; loop = QualifiedNameExpr.class.cast(loop).getQualifier()) {
+                    if (constantHolders.contains(loop.getName())) {
+                        return true;
+                    }
+                    if (!QualifiedNameExpr.class.isInstance(loop)) {
+                        return false;
+                    }
+                }
+            }
+
+            /**
+             * A reference to a constant is qualified by its holder, a subtype or a declaring type of it - unless the
+             * qualifier itself is a constant referred to by its simple name.
+             */
+            private boolean mayReferToAConstantHolder(@Nonnull FieldAccessExpr reference) {
+                if (importsAConstantHolderStatically) {
+                    return true;
+                }
+                Expression loop = reference.getScope();
+                for (; FieldAccessExpr.class.isInstance(loop); loop = FieldAccessExpr.class.cast(loop).getScope()) {
+                    if (constantHolders.contains(FieldAccessExpr.class.cast(loop).getField())) {
+                        return true;
+                    }
+                }
+                NameExpr firstNode = NameExpr.class.cast(loop);
+                return constantHolders.contains(firstNode.getName()) || mayReferToAConstantHolder(firstNode);
+            }
+
+            /**
+             * An unqualified reference to a constant is either imported statically or inherited by the referencing type
+             * or one of its declaring types - which are constant holders then, too.
+             */
+            private boolean mayReferToAConstantHolder(@Nonnull NameExpr reference) {
+                return importsAConstantHolderStatically || constantHolders.mayBeInheritedBy(getTypeName(reference));
+            }
+
             private Optional<String> resolveClass(String qualifier) {
                 return this.classPoolAccessor.resolveClass(qualifier);
             }
@@ -323,275 +388,17 @@ public class ReferenceToConstantsAnalyzer extends JavaFileAnalyzer {
             }
 
             @Nullable
-            @SuppressWarnings("unchecked")
             private String getStaticImport(String referenceName) {
-                return getOnlyElement(transform(filter(emptyIfNull(compilationUnit.getImports()),
-                        and(refersTo(referenceName), not(isAsterisk()), isStatic())), toImportedType()), null);
+                return getOnlyElement(transform(filter(importIndex.getSingleImportsOf(referenceName), isStatic()),
+                        toImportedType()), null);
             }
 
             @Nonnull
             private Iterable<String> getStaticAsteriskImports() {
-                return transform(filter(emptyIfNull(compilationUnit.getImports()),
-                        and(isAsterisk(), isStatic())), toImportedType());
-            }
-
-            @Override
-            public void visit(ClassOrInterfaceType n, Void arg) {
-                // performance
-            }
-
-            @Override
-            public void visit(CompilationUnit n, Void arg) {
-                // performance
-                for (final TypeDeclaration typeDeclaration : emptyIfNull(n.getTypes())) {
-                    typeDeclaration.accept(this, arg);
-                }
-            }
-
-            @Override
-            public void visit(MarkerAnnotationExpr n, Void arg) {
-                // performance
-            }
-
-            @Override
-            public void visit(MethodReferenceExpr n, Void arg) {
-                // performance; only possible scope is TypeExpr - and types are irrelevant
-            }
-
-            @Override
-            public void visit(NormalAnnotationExpr n, Void arg) {
-                // performance
-                for (final MemberValuePair m : emptyIfNull(n.getPairs())) {
-                    m.accept(this, arg);
-                }
-            }
-
-            @Override
-            public void visit(Parameter n, Void arg) {
-                // performance
-            }
-
-            @Override
-            public void visit(SingleMemberAnnotationExpr n, Void arg) {
-                // performance
-                n.getMemberValue().accept(this, arg);
-            }
-
-        }, null);
-    }
-
-    private static class LocalVariableRecordingVisitor<A> extends VoidVisitorAdapter<A> {
-
-        @Nonnull
-        private final Deque<Set<String>> localVariables = newLinkedList();
-
-        private static Predicate<? super FieldDeclaration> constants() {
-            return new Predicate<FieldDeclaration>() {
-                @Override
-                @SuppressWarnings("ConstantConditions")
-                public boolean apply(@Nullable FieldDeclaration fieldDeclaration) {
-                    int modifiers = checkNotNull(fieldDeclaration).getModifiers();
-                    return ModifierSet.isStatic(modifiers) && ModifierSet.isFinal(modifiers);
-                }
-            };
-        }
-
-        @Override
-        public void visit(ClassOrInterfaceDeclaration n, A arg) {
-            HashSet<String> fields = newHashSet();
-            this.localVariables.addLast(fields);
-            try {
-                addFieldVariables(n, fields);
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(EnumDeclaration n, A arg) {
-            HashSet<String> fieldsAndEnums = newHashSet();
-            this.localVariables.addLast(fieldsAndEnums);
-            try {
-                for (EnumConstantDeclaration enumConstantDeclaration : emptyIfNull(n.getEntries())) {
-                    fieldsAndEnums.add(enumConstantDeclaration.getName());
-                }
-                addFieldVariables(n, fieldsAndEnums);
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(ObjectCreationExpr n, A arg) {
-            HashSet<String> fields = newHashSet();
-            this.localVariables.addLast(fields);
-            try {
-                addFieldVariables(n.getAnonymousClassBody(), fields);
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(ConstructorDeclaration n, A arg) {
-            HashSet<String> blockVariables = newHashSet();
-            this.localVariables.addLast(blockVariables);
-            try {
-                for (Parameter parameter : emptyIfNull(n.getParameters())) {
-                    blockVariables.add(parameter.getId().getName());
-                }
-                for (AnnotationExpr annotationExpr : emptyIfNull(n.getAnnotations())) {
-                    annotationExpr.accept(this, arg);
-                }
-                BlockStmt body = n.getBlock();
-                if (body != null) {
-                    visit(body, arg);
-                }
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(MethodDeclaration n, A arg) {
-            HashSet<String> blockVariables = newHashSet();
-            this.localVariables.addLast(blockVariables);
-            try {
-                for (Parameter parameter : emptyIfNull(n.getParameters())) {
-                    blockVariables.add(parameter.getId().getName());
-                }
-                for (AnnotationExpr annotationExpr : emptyIfNull(n.getAnnotations())) {
-                    annotationExpr.accept(this, arg);
-                }
-                BlockStmt body = n.getBody();
-                if (body != null) {
-                    visit(body, arg);
-                }
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(CatchClause n, A arg) {
-            MultiTypeParameter multiTypeParameter = n.getExcept();
-            HashSet<String> blockVariables = newHashSet();
-            this.localVariables.addLast(blockVariables);
-            try {
-                blockVariables.add(multiTypeParameter.getId().getName());
-                for (AnnotationExpr annotationExpr : emptyIfNull(multiTypeParameter.getAnnotations())) {
-                    annotationExpr.accept(this, arg);
-                }
-                BlockStmt body = n.getCatchBlock();
-                if (body != null) {
-                    visit(body, arg);
-                }
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(BlockStmt n, A arg) {
-            this.localVariables.addLast(Sets.<String>newHashSet());
-            try {
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(ForeachStmt n, A arg) {
-            HashSet<String> blockVariables = newHashSet();
-            this.localVariables.addLast(blockVariables);
-            try {
-                for (VariableDeclarator variableDeclarator : emptyIfNull(n.getVariable().getVars())) {
-                    blockVariables.add(variableDeclarator.getId().getName());
-                }
-                n.getIterable().accept(this, arg);
-                n.getBody().accept(this, arg);
-            } finally {
-                this.localVariables.removeLast();
+                return transform(filter(importIndex.getAsteriskImports(), isStatic()), toImportedType());
             }
-        }
-
-        @Override
-        public void visit(ForStmt n, A arg) {
-            this.localVariables.addLast(Sets.<String>newHashSet());
-            try {
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(TryStmt n, A arg) {
-            HashSet<String> blockVariables = newHashSet();
-            this.localVariables.addLast(blockVariables);
-            try {
-                for (VariableDeclarationExpr variableDeclarationExpr : emptyIfNull(n.getResources())) {
-                    for (VariableDeclarator variableDeclarator : variableDeclarationExpr.getVars()) {
-                        blockVariables.add(variableDeclarator.getId().getName());
-                    }
-                }
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(LambdaExpr n, A arg) {
-            HashSet<String> blockVariables = newHashSet();
-            this.localVariables.addLast(blockVariables);
-            try {
-                for (Parameter parameter : emptyIfNull(n.getParameters())) {
-                    blockVariables.add(parameter.getId().getName());
-                }
-                super.visit(n, arg);
-            } finally {
-                this.localVariables.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(VariableDeclarationExpr n, A arg) {
-            for (AnnotationExpr annotationExpr : emptyIfNull(n.getAnnotations())) {
-                annotationExpr.accept(this, arg);
-            }
-            n.getType().accept(this, arg);
-            Set<String> blockVariables = this.localVariables.getLast();
-            for (VariableDeclarator variableDeclarator : n.getVars()) {
-                Expression expr = variableDeclarator.getInit();
-                if (expr != null) {
-                    expr.accept(this, arg);
-                }
-                blockVariables.add(variableDeclarator.getId().getName());
-            }
-        }
-
-        protected final boolean aLocalVariableExists(@Nonnull String name) {
-            return contains(concat(this.localVariables), name);
-        }
-
-        private void addFieldVariables(@Nonnull TypeDeclaration typeDeclaration, @Nonnull Set<String> variables) {
-            addFieldVariables(typeDeclaration.getMembers(), variables);
-        }
-
-        private void addFieldVariables(@Nullable Iterable<? extends BodyDeclaration> declarations, @Nonnull Set<String> variables) {
-            for (FieldDeclaration fieldDeclaration : emptyIfNull(declarations).
-                    filter(FieldDeclaration.class).filter(not(constants()))) {
-                for (VariableDeclarator variableDeclarator : fieldDeclaration.getVariables()) {
-                    variables.add(variableDeclarator.getId().getName());
-                }
-            }
-        }
 
+        };
     }
 
     private static class NameExprQualifier extends Qualifier<NameExpr> {
@@ -1,17 +1,13 @@
 package de.is24.deadcode4j.analyzer;
 
-import com.google.common.collect.Maps;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.Analyzer;
-import de.is24.deadcode4j.IntermediateResult;
-import de.is24.deadcode4j.Module;
+import de.is24.guava.NonNullFunction;
 import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import java.io.File;
-import java.util.Map;
 
 import static com.google.common.collect.Iterables.concat;
 import static com.google.common.collect.Iterables.isEmpty;
@@ -24,6 +20,14 @@ import static com.google.common.collect.Iterables.isEmpty;
  * @since 1.5
  */
 public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
+    private static final NonNullFunction<AnalysisContext, ServletContainerInitializerAnalysisContext> LOCAL_CONTEXT_SUPPLIER =
+            new NonNullFunction<AnalysisContext, ServletContainerInitializerAnalysisContext>() {
+                @Nonnull
+                @Override
+                public ServletContainerInitializerAnalysisContext apply(@Nonnull AnalysisContext input) {
+                    return new ServletContainerInitializerAnalysisContext(input);
+                }
+            };
     private final String depender;
     private final Analyzer classFinder;
     private final Analyzer webXmlAnalyzer = new XmlAnalyzer("web.xml") {
@@ -42,7 +46,6 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
             };
         }
     };
-    private ServletContainerInitializerAnalysisContext context;
 
     /**
      * Creates a new instance of <code>ServletContainerInitializerAnalyzer</code>.
@@ -64,18 +67,16 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
 
     @Override
     public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
-        if (this.context == null) {
-            this.context = new ServletContainerInitializerAnalysisContext(analysisContext.getModule());
-            this.context.setOriginalContext(analysisContext);
-        }
-        this.webXmlAnalyzer.doAnalysis(this.context, fileName);
-        this.classFinder.doAnalysis(this.context, fileName);
+        ServletContainerInitializerAnalysisContext localContext =
+                analysisContext.getOrCreateCacheEntry(getLocalContextKey(), LOCAL_CONTEXT_SUPPLIER);
+        this.webXmlAnalyzer.doAnalysis(localContext, fileName);
+        this.classFinder.doAnalysis(localContext, fileName);
     }
 
     @Override
     public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
-        ServletContainerInitializerAnalysisContext localContext = this.context;
-        this.context = null;
+        ServletContainerInitializerAnalysisContext localContext =
+                (ServletContainerInitializerAnalysisContext) analysisContext.getCache().get(getLocalContextKey());
         if (localContext == null) {
             return;
         }
@@ -90,25 +91,19 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
         }
     }
 
-    private static class ServletContainerInitializerAnalysisContext extends AnalysisContext {
-
-        private AnalysisContext originalContext;
-        private boolean metadataComplete = false;
+    @Nonnull
+    private String getLocalContextKey() {
+        return getClass().getName() + "|" + this.depender + "|localContext";
+    }
 
-        ServletContainerInitializerAnalysisContext(Module module) {
-            super(module, Maps.<Object, IntermediateResult>newHashMap());
-        }
+    private static class ServletContainerInitializerAnalysisContext extends AnalysisContext {
 
-        @Nonnull
-        @Override
-        public Map<Object, Object> getCache() {
-            return this.originalContext.getCache();
-        }
+        private final AnalysisContext originalContext;
+        private volatile boolean metadataComplete = false;
 
-        @Nullable
-        @Override
-        public IntermediateResult getIntermediateResult(@Nonnull Object key) {
-            return this.originalContext.getIntermediateResult(key);
+        ServletContainerInitializerAnalysisContext(AnalysisContext originalContext) {
+            super(originalContext);
+            this.originalContext = originalContext;
         }
 
         @Override
@@ -124,10 +119,6 @@ public class ServletContainerInitializerAnalyzer extends AnalyzerAdapter {
             return metadataComplete;
         }
 
-        public void setOriginalContext(AnalysisContext analysisContext) {
-            this.originalContext = analysisContext;
-        }
-
     }
 
 }
@@ -26,7 +26,6 @@ import static de.is24.deadcode4j.Utils.isNotBlank;
  */
 public abstract class SimpleXmlAnalyzer extends XmlAnalyzer {
     protected final String dependerId;
-    private final String rootElement;
     private final Set<Element> registeredElements = newHashSet();
 
     /**
@@ -43,18 +42,8 @@ public abstract class SimpleXmlAnalyzer extends XmlAnalyzer {
      * @since 1.2.0
      */
     protected SimpleXmlAnalyzer(@Nonnull String dependerId, @Nonnull String endOfFileName, @Nullable String rootElement) {
-        super(endOfFileName);
+        super(endOfFileName, rootElement);
         this.dependerId = dependerId;
-        this.rootElement = rootElement;
-    }
-
-    @Override
-    public String toString() {
-        String description = super.toString();
-        if (this.rootElement == null) {
-            return description;
-        }
-        return description + " with root Element <" + this.rootElement + ">";
     }
 
     @Override
@@ -162,7 +151,6 @@ public abstract class SimpleXmlAnalyzer extends XmlAnalyzer {
      */
     private class XmlHandler extends DefaultHandler {
         private final AnalysisContext analysisContext;
-        private boolean firstElement = true;
         private final Deque<Optional<StringBuilder>> textBuffers = new ArrayDeque<Optional<StringBuilder>>();
 
         public XmlHandler(AnalysisContext analysisContext) {
@@ -170,12 +158,7 @@ public abstract class SimpleXmlAnalyzer extends XmlAnalyzer {
         }
 
         @Override
-        public void startElement(String uri, String localName, String qName, Attributes attributes) throws StopParsing {
-            if (firstElement && rootElement != null && !rootElement.equals(localName)) {
-                throw new StopParsing();
-            } else {
-                firstElement = false;
-            }
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
             boolean recordText = false;
             for (Element registeredElement : registeredElements) {
                 if (registeredElement.matches(localName, attributes)) {
@@ -198,7 +181,7 @@ public abstract class SimpleXmlAnalyzer extends XmlAnalyzer {
         public void characters(char[] ch, int start, int length) {
             Optional<StringBuilder> buffer = textBuffers.getLast();
             if (buffer.isPresent()) {
-                buffer.get().append(new String(ch, start, length).trim());
+                appendTrimmed(buffer.get(), ch, start, length);
             }
         }
 
@@ -1,6 +1,9 @@
 package de.is24.deadcode4j.analyzer;
 
+import com.google.common.collect.Lists;
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.analyzer.javassist.TypeHierarchy;
+import de.is24.guava.NonNullFunction;
 import javassist.CtClass;
 import javassist.Modifier;
 
@@ -8,9 +11,9 @@ import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.Set;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static de.is24.deadcode4j.IntermediateResults.*;
-import static de.is24.javassist.CtClasses.getAllImplementedInterfaces;
+import static de.is24.deadcode4j.analyzer.javassist.TypeHierarchy.typeHierarchyFor;
+import static java.util.Collections.synchronizedList;
 
 /**
  * Analyzes class files: marks custom implementations of Spring Data repositories as being in use.<br/>
@@ -21,7 +24,14 @@ import static de.is24.javassist.CtClasses.getAllImplementedInterfaces;
  */
 public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
 
-    private final List<String> customRepositoryNames = newArrayList();
+    private static final NonNullFunction<AnalysisContext, List<String>> SUPPLIER =
+            new NonNullFunction<AnalysisContext, List<String>>() {
+                @Nonnull
+                @Override
+                public List<String> apply(@Nonnull AnalysisContext input) {
+                    return synchronizedList(Lists.<String>newArrayList());
+                }
+            };
 
     @Override
     protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
@@ -35,22 +45,26 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
 
     @Override
     public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
-        analysisContext.getCache().put(getClass(), resultSetFor(this.customRepositoryNames));
-        this.customRepositoryNames.clear();
+        analysisContext.getCache().put(getClass(), resultSetFor(getCustomRepositoryNames(analysisContext)));
+    }
+
+    @Nonnull
+    private List<String> getCustomRepositoryNames(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(getClass().getName() + "|customRepositoryNames", SUPPLIER);
     }
 
     private void analyzeInterface(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        Set<String> implementedInterfaces = getAllImplementedInterfaces(clazz);
-        if (!implementedInterfaces.contains("org.springframework.data.repository.Repository")) {
+        TypeHierarchy typeHierarchy = typeHierarchyFor(analysisContext);
+        if (!typeHierarchy.implementsInterface(clazz, "org.springframework.data.repository.Repository")) {
             return;
         }
 
         final String nameOfCustomRepositoryInterface = clazz.getName() + "Custom";
-        if (!implementedInterfaces.contains(nameOfCustomRepositoryInterface)) {
+        if (!typeHierarchy.implementsInterface(clazz, nameOfCustomRepositoryInterface)) {
             return;
         }
 
-        this.customRepositoryNames.add(nameOfCustomRepositoryInterface);
+        getCustomRepositoryNames(analysisContext).add(nameOfCustomRepositoryInterface);
         reportImplementationOfNewCustomRepository(analysisContext, clazz);
     }
 
@@ -63,8 +77,7 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
             return;
         }
 
-        Set<String> implementedInterfaces = getAllImplementedInterfaces(customImpl);
-        if (implementedInterfaces.contains(clazzName + "Custom")) {
+        if (typeHierarchyFor(analysisContext).implementsInterface(customImpl, clazzName + "Custom")) {
             analysisContext.addDependencies(clazzName, nameOfCustomRepositoryImplementation);
         }
     }
@@ -86,7 +99,7 @@ public class SpringDataCustomRepositoriesAnalyzer extends ByteCodeAnalyzer {
         }
 
         Set<String> existingCustomRepositories = intermediateResults.getResults();
-        Set<String> implementedInterfaces = getAllImplementedInterfaces(clazz);
+        Set<String> implementedInterfaces = typeHierarchyFor(analysisContext).getAllImplementedInterfaces(clazz);
         implementedInterfaces.retainAll(existingCustomRepositories);
         for (String customRepositoryName : implementedInterfaces) {
             analysisContext.addDependencies(
@@ -1,5 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
+
 /**
  * Analyzes <a href="http://www.springframework.org/schema/webflow/spring-webflow-2.0.xsd">Spring Web Flow</a> XML
  * files: lists
@@ -12,6 +14,7 @@ package de.is24.deadcode4j.analyzer;
  *
  * @since 1.5
  */
+@ReplayableAnalysis
 public final class SpringWebFlowAnalyzer extends SimpleXmlAnalyzer {
 
     public SpringWebFlowAnalyzer() {
@@ -3,6 +3,7 @@ package de.is24.deadcode4j.analyzer;
 import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
 import javax.annotation.Nonnull;
 
 import static com.google.common.base.Optional.absent;
@@ -27,6 +28,7 @@ import static com.google.common.base.Optional.of;
  *
  * @since 1.1.0
  */
+@ReplayableAnalysis
 public class SpringXmlAnalyzer extends ExtendedXmlAnalyzer {
 
     private static void registerPropertyValueAsClass(@Nonnull Path beanPath, @Nonnull String propertyName) {
@@ -4,17 +4,11 @@ import com.google.common.collect.Sets;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.analyzer.javassist.ClassPathFilter;
 import de.is24.guava.NonNullFunction;
-import javassist.CtClass;
 
 import javax.annotation.Nonnull;
-import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.collect.Lists.newArrayList;
-import static de.is24.javassist.CtClasses.getSuperclassOf;
-import static de.is24.javassist.CtClasses.isJavaLangObject;
 
 /**
  * Serves as a base class with which to mark classes as being in use if they are a direct subclass of one of the
@@ -22,7 +16,7 @@ import static de.is24.javassist.CtClasses.isJavaLangObject;
  *
  * @since 1.4
  */
-public abstract class SuperClassAnalyzer extends ByteCodeAnalyzer {
+public abstract class SuperClassAnalyzer extends MarkerAnalyzer {
 
     private final String dependerId;
     private final NonNullFunction<AnalysisContext, Set<String>> supplySuperClassesFoundInClassPath;
@@ -58,29 +52,8 @@ public abstract class SuperClassAnalyzer extends ByteCodeAnalyzer {
     }
 
     @Override
-    protected final void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
-        Set<String> knownSuperClasses = getSuperClassesFoundInClassPath(analysisContext);
-        if (knownSuperClasses.isEmpty()) {
-            return;
-        }
-
-        String clazzName = clazz.getName();
-        analysisContext.addAnalyzedClass(clazzName);
-
-        if (!Collections.disjoint(knownSuperClasses, getClassHierarchy(clazz))) {
-            analysisContext.addDependencies(this.dependerId, clazzName);
-        }
-    }
-
-    @Nonnull
-    private List<String> getClassHierarchy(@Nonnull final CtClass clazz) {
-        List<String> classes = newArrayList();
-        CtClass loopClass = clazz;
-        do {
-            classes.add(loopClass.getClassFile2().getSuperclass());
-            loopClass = getSuperclassOf(loopClass);
-        } while (loopClass != null && !isJavaLangObject(loopClass));
-        return classes;
+    void registerMarkers(@Nonnull AnalysisContext analysisContext, @Nonnull MarkerIndex markerIndex) {
+        markerIndex.addSuperClasses(this.dependerId, getSuperClassesFoundInClassPath(analysisContext));
     }
 
     @Nonnull
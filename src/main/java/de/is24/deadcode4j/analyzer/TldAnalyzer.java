@@ -1,11 +1,14 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
+
 /**
  * Analyzes <code>*.tld</code> files: lists the function, listener, tag, tag extra info & validator classes being
  * referenced.
  *
  * @since 1.2.0
  */
+@ReplayableAnalysis
 public final class TldAnalyzer extends SimpleXmlAnalyzer {
 
     public TldAnalyzer() {
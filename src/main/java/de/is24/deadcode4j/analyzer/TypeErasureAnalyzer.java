@@ -1,37 +1,26 @@
 package de.is24.deadcode4j.analyzer;
 
 import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.TypeParameter;
-import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
-import com.github.javaparser.ast.body.ConstructorDeclaration;
-import com.github.javaparser.ast.body.MethodDeclaration;
-import com.github.javaparser.ast.expr.MethodReferenceExpr;
 import com.github.javaparser.ast.type.*;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.google.common.base.Optional;
 import de.is24.deadcode4j.AnalysisContext;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Deque;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import static com.google.common.collect.Lists.newLinkedList;
 import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.Utils.emptyIfNull;
 import static de.is24.deadcode4j.Utils.getOrAddMappedSet;
 import static de.is24.javaparser.Nodes.getTypeName;
-import static java.util.Collections.emptySet;
 
 /**
  * Analyzes Java files and reports dependencies to classes that are not part of the byte code due to type erasure.
  *
  * @since 2.0.0
  */
-public class TypeErasureAnalyzer extends JavaFileAnalyzer {
+public class TypeErasureAnalyzer extends JavaNodeAnalyzer {
 
     @Nonnull
     private static String getFullQualifier(@Nonnull ClassOrInterfaceType classOrInterfaceType) {
@@ -44,23 +33,32 @@ public class TypeErasureAnalyzer extends JavaFileAnalyzer {
     }
 
     @Override
-    protected void analyzeCompilationUnit(@Nonnull final AnalysisContext analysisContext, @Nonnull final CompilationUnit compilationUnit) {
-        compilationUnit.accept(new TypeParameterRecordingVisitor<Void>() {
+    protected boolean isInterestedIn(@Nonnull AnalysisContext analysisContext, @Nonnull String code) {
+        // there are no type arguments without angle brackets - unless they are unicode escaped
+        return code.indexOf('<') >= 0 || code.contains("\\u");
+    }
+
+    @Nonnull
+    @Override
+    protected JavaNodeCallbacks createCallbacksFor(@Nonnull final AnalysisContext analysisContext,
+                                                   @Nonnull CompilationUnit compilationUnit) {
+        return new JavaNodeCallbacks() {
             private final Map<String, Set<String>> processedReferences = newHashMap();
 
             @Override
-            public void visit(ClassOrInterfaceType n, Void arg) {
+            public boolean visit(@Nonnull ClassOrInterfaceType n, @Nonnull LexicalScope scope) {
                 for (Type type : emptyIfNull(n.getTypeArgs())) {
                     ClassOrInterfaceType referencedType = getReferencedType(type);
                     if (referencedType == null) {
                         continue;
                     }
-                    if (typeParameterWithSameNameIsDefined(referencedType)) {
+                    if (scope.typeParameterWithSameNameIsDefined(referencedType)) {
                         continue;
                     }
                     resolveTypeReference(referencedType);
-                    this.visit(referencedType, arg); // resolve nested type arguments
+                    this.visit(referencedType, scope); // resolve nested type arguments
                 }
+                return false;
             }
 
             @Nullable
@@ -114,76 +112,7 @@ public class TypeErasureAnalyzer extends JavaFileAnalyzer {
                 return references.add(getFullQualifier(referencedType));
             }
 
-        }, null);
-    }
-
-    private static class TypeParameterRecordingVisitor<A> extends VoidVisitorAdapter<A> {
-        private final Deque<Set<String>> definedTypeParameters = newLinkedList();
-
-        @Override
-        public void visit(ClassOrInterfaceDeclaration n, A arg) {
-            this.definedTypeParameters.addLast(getTypeParameterNames(n.getTypeParameters()));
-            try {
-                super.visit(n, arg);
-            } finally {
-                this.definedTypeParameters.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(ConstructorDeclaration n, A arg) {
-            this.definedTypeParameters.addLast(getTypeParameterNames(n.getTypeParameters()));
-            try {
-                super.visit(n, arg);
-            } finally {
-                this.definedTypeParameters.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(MethodDeclaration n, A arg) {
-            this.definedTypeParameters.addLast(getTypeParameterNames(n.getTypeParameters()));
-            try {
-                super.visit(n, arg);
-            } finally {
-                this.definedTypeParameters.removeLast();
-            }
-        }
-
-        @Override
-        public void visit(MethodReferenceExpr n, A arg) {
-            this.definedTypeParameters.addLast(getTypeParameterNames(n.getTypeParameters()));
-            try {
-                super.visit(n, arg);
-            } finally {
-                this.definedTypeParameters.removeLast();
-            }
-        }
-
-        protected boolean typeParameterWithSameNameIsDefined(@Nonnull ClassOrInterfaceType nestedClassOrInterface) {
-            if (nestedClassOrInterface.getScope() != null) {
-                return false;
-            }
-            for (Set<String> definedTypeNames : this.definedTypeParameters) {
-                if (definedTypeNames.contains(nestedClassOrInterface.getName())) {
-                    return true;
-                }
-            }
-            return false;
-        }
-
-        @Nonnull
-        private Set<String> getTypeParameterNames(@Nullable List<TypeParameter> typeParameters) {
-            if (typeParameters == null) {
-                return emptySet();
-            }
-            Set<String> parameters = newHashSet();
-            for (TypeParameter typeParameter : typeParameters) {
-                parameters.add(typeParameter.getName());
-            }
-            return parameters;
-        }
-
+        };
     }
 
     private static class ClassOrInterfaceTypeQualifier extends Qualifier<ClassOrInterfaceType> {
@@ -1,6 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.ReplayableAnalysis;
 import de.is24.deadcode4j.analyzer.webxml.BaseWebXmlAnalyzer;
 import de.is24.deadcode4j.analyzer.webxml.Param;
 import de.is24.deadcode4j.analyzer.webxml.WebXmlHandler;
@@ -13,6 +14,7 @@ import java.util.List;
  *
  * @since 1.2.0
  */
+@ReplayableAnalysis
 public final class WebXmlAnalyzer extends BaseWebXmlAnalyzer {
 
     @Nonnull
@@ -1,11 +1,14 @@
 package de.is24.deadcode4j.analyzer;
 
+import de.is24.deadcode4j.ReplayableAnalysis;
+
 /**
  * Analyzes <a href="http://axis.apache.org/axis/java/reference.html#Deployment_WSDD_Reference"><code>.wsdd</code></a>
  * files: lists the defined Axis Service classes being referenced.
  *
  * @since 1.5
  */
+@ReplayableAnalysis
 public final class WsddAnalyzer extends SimpleXmlAnalyzer {
 
     public WsddAnalyzer() {
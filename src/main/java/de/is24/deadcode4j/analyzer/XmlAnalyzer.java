@@ -1,16 +1,13 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
-import org.apache.commons.io.IOUtils;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 import javax.annotation.Nonnull;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import javax.annotation.Nullable;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.InputStream;
+import java.util.Collections;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static de.is24.deadcode4j.Utils.isNotBlank;
@@ -21,42 +18,101 @@ import static de.is24.deadcode4j.Utils.isNotBlank;
  * @since 1.2.0
  */
 public abstract class XmlAnalyzer extends AnalyzerAdapter {
-    private final SAXParser parser;
+    @Nonnull
+    private final XmlParserPool parserPool;
     private final String endOfFileName;
+    @Nullable
+    private final String rootElement;
 
     /**
      * The constructor for an <code>XmlAnalyzer</code>.
      *
      * @param endOfFileName the file suffix used to determine if a file should be analyzed; this can be a mere file
      *                      extension like <tt>.xml</tt> or a partial path like <tt>WEB-INF/web.xml</tt>
-     * @since 1.4
+     * @param rootElement   the expected XML root element or <code>null</code> if such an element does not exist;
+     *                      i.e. there are multiple valid root elements
+     * @since 2.2.0
      */
-    protected XmlAnalyzer(@Nonnull String endOfFileName) {
-        try {
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            factory.setFeature("http://xml.org/sax/features/namespaces", true);
-            this.parser = factory.newSAXParser();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to set up XML parser!", e);
-        }
+    protected XmlAnalyzer(@Nonnull String endOfFileName, @Nullable String rootElement) {
+        this.parserPool = new XmlParserPool(1);
         checkArgument(isNotBlank(endOfFileName), "[endOfFileName] must be set!");
         this.endOfFileName = endOfFileName;
+        this.rootElement = rootElement;
+    }
+
+    /**
+     * The constructor for an <code>XmlAnalyzer</code> that is not restricted to a specific XML root element.
+     *
+     * @param endOfFileName the file suffix used to determine if a file should be analyzed; this can be a mere file
+     *                      extension like <tt>.xml</tt> or a partial path like <tt>WEB-INF/web.xml</tt>
+     * @since 1.4
+     */
+    protected XmlAnalyzer(@Nonnull String endOfFileName) {
+        this(endOfFileName, null);
     }
 
     @Override
     public String toString() {
-        return super.toString() + " analyzing [" + endOfFileName + "] files";
+        String description = super.toString() + " analyzing [" + endOfFileName + "] files";
+        if (this.rootElement == null) {
+            return description;
+        }
+        return description + " with root Element <" + this.rootElement + ">";
     }
 
     @Override
     public final void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        if (file.getName().endsWith(endOfFileName)) {
+        if (isResponsibleFor(file)) {
             logger.debug("Analyzing XML file [{}]...", file);
-            analyzeXmlFile(analysisContext, file);
+            XmlDispatcher.parse(parserPool, analysisContext, file, Collections.singleton(this));
         }
     }
 
+    /**
+     * Returns the expected XML root element or <code>null</code> if any root element is accepted.
+     *
+     * @since 2.2.0
+     */
+    @Nullable
+    protected final String getRootElement() {
+        return this.rootElement;
+    }
+
+    /**
+     * Indicates if the given file should be analyzed, i.e. if its name ends with the configured suffix.
+     *
+     * @since 2.2.0
+     */
+    final boolean isResponsibleFor(@Nonnull File file) {
+        return file.getName().endsWith(endOfFileName);
+    }
+
+    /**
+     * Indicates if a file having the given root element should be analyzed.
+     *
+     * @since 2.2.0
+     */
+    final boolean acceptsRootElement(@Nonnull String localName) {
+        return this.rootElement == null || this.rootElement.equals(localName);
+    }
+
+    /**
+     * Appends the given characters to the buffer, omitting leading & trailing whitespace just like
+     * {@link String#trim()} does - but without creating a <code>String</code> first.
+     *
+     * @since 2.2.0
+     */
+    protected static void appendTrimmed(@Nonnull StringBuilder buffer, @Nonnull char[] ch, int start, int length) {
+        int end = start + length;
+        while (start < end && ch[start] <= ' ') {
+            start++;
+        }
+        while (start < end && ch[end - 1] <= ' ') {
+            end--;
+        }
+        buffer.append(ch, start, end - start);
+    }
+
     /**
      * This method is called to provide a <code>DefaultHandler</code> for each file being processed.
      *
@@ -65,21 +121,6 @@ public abstract class XmlAnalyzer extends AnalyzerAdapter {
     @Nonnull
     protected abstract DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext);
 
-    @SuppressWarnings("PMD.EmptyCatchBlock")
-    private void analyzeXmlFile(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
-        InputStream in = null;
-        try {
-            in = new FileInputStream(file);
-            parser.parse(in, createHandlerFor(analysisContext));
-        } catch (StopParsing command) {
-            // just do nothing
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse [" + file + "]!", e);
-        } finally {
-            IOUtils.closeQuietly(in);
-        }
-    }
-
     /**
      * Used to indicate that XML parsing can be stopped.
      *
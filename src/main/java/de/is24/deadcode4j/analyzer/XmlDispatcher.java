@@ -0,0 +1,236 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.google.common.collect.Ordering;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.AnalysisSink;
+import de.is24.deadcode4j.AnalyzedCode;
+import de.is24.deadcode4j.ReplayableAnalysis;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.annotation.Nonnull;
+import javax.xml.parsers.SAXParser;
+import java.io.File;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Lists.newArrayList;
+import static de.is24.deadcode4j.analyzer.FileContents.openStream;
+
+/**
+ * Parses each XML file only once and dispatches the SAX events to all {@link XmlAnalyzer}s that are responsible for
+ * the file. The root element is used for routing: an analyzer expecting another root element never sees any events.
+ * Parsing stops as soon as no handler is interested anymore.
+ *
+ * @since 2.2.0
+ */
+public class XmlDispatcher extends AnalyzerAdapter {
+    @Nonnull
+    private final List<XmlAnalyzer> xmlAnalyzers;
+    @Nonnull
+    private final XmlParserPool parserPool = new XmlParserPool();
+
+    /**
+     * Creates a new <code>XmlDispatcher</code>.
+     *
+     * @param xmlAnalyzers the analyzers to dispatch the SAX events to
+     * @since 2.2.0
+     */
+    public XmlDispatcher(@Nonnull Collection<? extends XmlAnalyzer> xmlAnalyzers) {
+        checkArgument(!xmlAnalyzers.isEmpty(), "At least one XmlAnalyzer must be given!");
+        this.xmlAnalyzers = newArrayList(xmlAnalyzers);
+    }
+
+    /**
+     * Creates the dispatchers for the given analyzers: the {@link ReplayableAnalysis replayable} analyzers are
+     * grouped into a dispatcher that is replayable itself, the remaining ones into another dispatcher.
+     * The analyzers are ordered by their string representation, so that a dispatcher's representation is stable.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static List<XmlDispatcher> replayableDispatchersFor(@Nonnull Collection<? extends XmlAnalyzer> xmlAnalyzers) {
+        List<XmlAnalyzer> replayableAnalyzers = newArrayList();
+        List<XmlAnalyzer> otherAnalyzers = newArrayList();
+        for (XmlAnalyzer xmlAnalyzer : Ordering.usingToString().sortedCopy(xmlAnalyzers)) {
+            if (xmlAnalyzer.getClass().isAnnotationPresent(ReplayableAnalysis.class)) {
+                replayableAnalyzers.add(xmlAnalyzer);
+            } else {
+                otherAnalyzers.add(xmlAnalyzer);
+            }
+        }
+        List<XmlDispatcher> dispatchers = newArrayList();
+        if (!replayableAnalyzers.isEmpty()) {
+            dispatchers.add(new ReplayableXmlDispatcher(replayableAnalyzers));
+        }
+        if (!otherAnalyzers.isEmpty()) {
+            dispatchers.add(new XmlDispatcher(otherAnalyzers));
+        }
+        return dispatchers;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + " dispatching to " + xmlAnalyzers;
+    }
+
+    @Override
+    public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+        List<XmlAnalyzer> responsibleAnalyzers = newArrayList();
+        for (XmlAnalyzer xmlAnalyzer : xmlAnalyzers) {
+            if (xmlAnalyzer.isResponsibleFor(file)) {
+                responsibleAnalyzers.add(xmlAnalyzer);
+            }
+        }
+        if (responsibleAnalyzers.isEmpty()) {
+            return;
+        }
+        logger.debug("Analyzing XML file [{}] for {}...", file, responsibleAnalyzers);
+        parse(parserPool, analysisContext, file, responsibleAnalyzers);
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+        for (XmlAnalyzer xmlAnalyzer : xmlAnalyzers) {
+            xmlAnalyzer.finishAnalysis(analysisContext);
+        }
+    }
+
+    @Override
+    public void finishAnalysis(@Nonnull AnalysisSink analysisSink, @Nonnull AnalyzedCode analyzedCode) {
+        for (XmlAnalyzer xmlAnalyzer : xmlAnalyzers) {
+            xmlAnalyzer.finishAnalysis(analysisSink, analyzedCode);
+        }
+    }
+
+    @SuppressWarnings("PMD.EmptyCatchBlock")
+    static void parse(@Nonnull XmlParserPool parserPool,
+                      @Nonnull AnalysisContext analysisContext,
+                      @Nonnull File file,
+                      @Nonnull Collection<? extends XmlAnalyzer> xmlAnalyzers) {
+        SAXParser parser = parserPool.borrow();
+        try {
+            parser.parse(openStream(analysisContext, file), new DispatchingHandler(analysisContext, xmlAnalyzers));
+        } catch (XmlAnalyzer.StopParsing command) {
+            // just do nothing
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse [" + file + "]!", e);
+        } finally {
+            parserPool.release(parser);
+        }
+    }
+
+    /**
+     * Creates the handlers of those analyzers accepting the root element and forwards the SAX events to them.
+     * A handler throwing a <code>StopParsing</code> is removed; once no handler is left, parsing is stopped.
+     *
+     * @since 2.2.0
+     */
+    private static class DispatchingHandler extends DefaultHandler {
+        @Nonnull
+        private final AnalysisContext analysisContext;
+        @Nonnull
+        private final Collection<? extends XmlAnalyzer> xmlAnalyzers;
+        @Nonnull
+        private final List<DefaultHandler> handlers = newArrayList();
+        private boolean rootElementFound = false;
+
+        DispatchingHandler(@Nonnull AnalysisContext analysisContext,
+                           @Nonnull Collection<? extends XmlAnalyzer> xmlAnalyzers) {
+            this.analysisContext = analysisContext;
+            this.xmlAnalyzers = xmlAnalyzers;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            if (!rootElementFound) {
+                rootElementFound = true;
+                createHandlersFor(localName);
+            }
+            for (Iterator<DefaultHandler> iterator = handlers.iterator(); iterator.hasNext(); ) {
+                try {
+                    iterator.next().startElement(uri, localName, qName, attributes);
+                } catch (XmlAnalyzer.StopParsing command) {
+                    iterator.remove();
+                }
+            }
+            stopParsingIfNoHandlerIsLeft();
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            for (Iterator<DefaultHandler> iterator = handlers.iterator(); iterator.hasNext(); ) {
+                try {
+                    iterator.next().characters(ch, start, length);
+                } catch (XmlAnalyzer.StopParsing command) {
+                    iterator.remove();
+                }
+            }
+            stopParsingIfNoHandlerIsLeft();
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            for (Iterator<DefaultHandler> iterator = handlers.iterator(); iterator.hasNext(); ) {
+                try {
+                    iterator.next().endElement(uri, localName, qName);
+                } catch (XmlAnalyzer.StopParsing command) {
+                    iterator.remove();
+                }
+            }
+            stopParsingIfNoHandlerIsLeft();
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            for (DefaultHandler handler : handlers) {
+                try {
+                    handler.endDocument();
+                } catch (XmlAnalyzer.StopParsing ignored) {
+                    // the document ends anyway
+                }
+            }
+        }
+
+        private void createHandlersFor(String rootElement) throws SAXException {
+            for (XmlAnalyzer xmlAnalyzer : xmlAnalyzers) {
+                if (!xmlAnalyzer.acceptsRootElement(rootElement)) {
+                    continue;
+                }
+                DefaultHandler handler = xmlAnalyzer.createHandlerFor(analysisContext);
+                try {
+                    handler.startDocument();
+                    handlers.add(handler);
+                } catch (XmlAnalyzer.StopParsing command) {
+                    // handler is not interested
+                }
+            }
+        }
+
+        private void stopParsingIfNoHandlerIsLeft() throws XmlAnalyzer.StopParsing {
+            if (handlers.isEmpty()) {
+                throw new XmlAnalyzer.StopParsing();
+            }
+        }
+
+    }
+
+    /**
+     * An <code>XmlDispatcher</code> dispatching to {@link ReplayableAnalysis replayable} analyzers only.
+     *
+     * @since 2.2.0
+     */
+    @ReplayableAnalysis
+    private static final class ReplayableXmlDispatcher extends XmlDispatcher {
+
+        public ReplayableXmlDispatcher(@Nonnull Collection<? extends XmlAnalyzer> xmlAnalyzers) {
+            super(xmlAnalyzers);
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package de.is24.deadcode4j.analyzer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out <code>SAXParser</code>s, each of which is used by one thread at a time. Returned parsers are reset and
+ * kept for reuse, up to the configured number of idle parsers; if no idle parser is available, a new one is created.
+ * <p/>
+ * This is the one place where the parser configuration (namespace awareness, no loading of external DTDs) is set up.
+ *
+ * @since 2.2.0
+ */
+@ThreadSafe
+final class XmlParserPool {
+    /**
+     * The default number of idle parsers to keep, i.e. one per processor.
+     */
+    static final int DEFAULT_MAXIMUM_IDLE_PARSERS = Runtime.getRuntime().availableProcessors();
+    @Nonnull
+    private final SAXParserFactory factory;
+    private final int maximumIdleParsers;
+    @Nonnull
+    private final Queue<SAXParser> idleParsers = new ConcurrentLinkedQueue<SAXParser>();
+    @Nonnull
+    private final AtomicInteger numberOfIdleParsers = new AtomicInteger();
+
+    /**
+     * Creates a new <code>XmlParserPool</code>. A first parser is created right away, so that an improper setup is
+     * recognized immediately.
+     *
+     * @param maximumIdleParsers the maximum number of parsers to keep for reuse
+     * @throws RuntimeException if the parser cannot be set up
+     */
+    XmlParserPool(int maximumIdleParsers) {
+        this.factory = createFactory();
+        this.maximumIdleParsers = maximumIdleParsers;
+        release(createParser());
+    }
+
+    /**
+     * Creates a new <code>XmlParserPool</code> keeping up to {@link #DEFAULT_MAXIMUM_IDLE_PARSERS} idle parsers.
+     *
+     * @throws RuntimeException if the parser cannot be set up
+     */
+    XmlParserPool() {
+        this(DEFAULT_MAXIMUM_IDLE_PARSERS);
+    }
+
+    @Nonnull
+    private static SAXParserFactory createFactory() {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            factory.setFeature("http://xml.org/sax/features/namespaces", true);
+            return factory;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up XML parser!", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "XmlParserPool with " + numberOfIdleParsers.get() + " of max. " + maximumIdleParsers + " idle parsers";
+    }
+
+    /**
+     * Returns a parser for exclusive use by the calling thread; be sure to {@link #release(SAXParser) release} it.
+     *
+     * @throws RuntimeException if a new parser is required but cannot be created
+     */
+    @Nonnull
+    SAXParser borrow() {
+        SAXParser parser = idleParsers.poll();
+        if (parser == null) {
+            return createParser();
+        }
+        numberOfIdleParsers.decrementAndGet();
+        return parser;
+    }
+
+    /**
+     * Resets the given parser and keeps it for reuse - unless enough parsers are idle or it cannot be reset.
+     */
+    void release(@Nonnull SAXParser parser) {
+        try {
+            parser.reset();
+        } catch (UnsupportedOperationException ignored) {
+            return; // the parser cannot be safely reused
+        }
+        if (numberOfIdleParsers.incrementAndGet() > maximumIdleParsers) {
+            numberOfIdleParsers.decrementAndGet();
+            return;
+        }
+        idleParsers.offer(parser);
+    }
+
+    /**
+     * Returns the number of parsers currently kept for reuse.
+     */
+    int getNumberOfIdleParsers() {
+        return numberOfIdleParsers.get();
+    }
+
+    @Nonnull
+    private SAXParser createParser() {
+        try {
+            return factory.newSAXParser();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set up XML parser!", e);
+        }
+    }
+
+}
@@ -0,0 +1,331 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.guava.NonNullFunction;
+import javassist.ClassPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static org.apache.commons.io.FileUtils.listFiles;
+
+/**
+ * The <code>ClassPathIndex</code> indexes the class path entries (i.e. jars & directories) of the whole reactor:
+ * each entry is opened and scanned only once, mapping the names of the classes it contains to their location.
+ * Each module is provided with a lightweight {@link javassist.ClassPath} {@link #createClassPathFor(Iterable) view}
+ * ordered by the module's own class path, so looking up a class is a hash lookup instead of probing each entry.<br/>
+ * Instances are thread-safe; they must be {@link #close() closed} to release the opened jar files.
+ *
+ * @since 2.2.0
+ */
+final class ClassPathIndex implements Closeable {
+    @Nonnull
+    private static final NonNullFunction<AnalysisContext, ClassPathIndex> SUPPLIER = new NonNullFunction<AnalysisContext, ClassPathIndex>() {
+        @Nonnull
+        @Override
+        public ClassPathIndex apply(@Nonnull AnalysisContext input) {
+            return new ClassPathIndex();
+        }
+    };
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    @Nonnull
+    private final Map<File, Location> locations = newHashMap();
+    @Nonnull
+    private final Map<String, Location[]> locationsOfClasses = new ConcurrentHashMap<String, Location[]>();
+    private boolean closed = false;
+
+    /**
+     * Creates or retrieves the <code>ClassPathIndex</code> shared by all modules.<br/>
+     * A new instance will be put in the analysis context's reactor cache and subsequently retrieved from there.
+     */
+    @Nonnull
+    static ClassPathIndex classPathIndexFor(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateReactorCacheEntry(ClassPathIndex.class, SUPPLIER);
+    }
+
+    @Nonnull
+    private static String toClassName(@Nonnull String pathOfClassFile) {
+        return pathOfClassFile.substring(0, pathOfClassFile.length() - ".class".length()).replace('/', '.');
+    }
+
+    /**
+     * Indicates if the given file is an archive; like <code>ClassPool.appendClassPath</code> does, this is decided
+     * by the file's extension.
+     */
+    private static boolean isArchive(@Nonnull File file) {
+        String fileName = file.getName().toLowerCase(Locale.ENGLISH);
+        return fileName.endsWith(".jar") || fileName.endsWith(".zip");
+    }
+
+    @Nonnull
+    private static String toPath(@Nonnull String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    @Override
+    public String toString() {
+        return "ClassPathIndex with " + this.locations.size() + " indexed class path entries";
+    }
+
+    /**
+     * Returns a <code>ClassPath</code> providing the classes of the given class path entries; if a class is provided
+     * by several entries, the first one wins. Entries not indexed yet are indexed first.
+     */
+    @Nonnull
+    synchronized ClassPath createClassPathFor(@Nonnull Iterable<File> classPath) {
+        if (this.closed) {
+            throw new IllegalStateException(this + " is already closed!");
+        }
+        Map<Location, Integer> positions = new IdentityHashMap<Location, Integer>();
+        for (File file : classPath) {
+            Location location = getOrIndex(file);
+            if (!positions.containsKey(location)) {
+                positions.put(location, positions.size());
+            }
+        }
+        return new ModuleClassPath(positions);
+    }
+
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        for (Location location : this.locations.values()) {
+            location.close();
+        }
+        this.locations.clear();
+        this.locationsOfClasses.clear();
+    }
+
+    @Nonnull
+    private Location getOrIndex(@Nonnull File file) {
+        File absoluteFile = file.getAbsoluteFile();
+        Location location = this.locations.get(absoluteFile);
+        if (location == null) {
+            location = index(absoluteFile);
+            this.locations.put(absoluteFile, location);
+        }
+        return location;
+    }
+
+    @Nonnull
+    private Location index(@Nonnull File file) {
+        if (file.isDirectory()) {
+            DirectoryLocation location = new DirectoryLocation(file);
+            int prefixLength = file.getPath().length() + 1;
+            for (File classFile : listFiles(file, new String[]{"class"}, true)) {
+                String path = classFile.getPath().substring(prefixLength).replace(File.separatorChar, '/');
+                register(toClassName(path), location);
+            }
+            return location;
+        }
+        if (!file.exists()) {
+            return new DirectoryLocation(file);
+        }
+        if (!isArchive(file)) {
+            logger.debug("Class path entry [{}] is neither a directory nor an archive; skipping it.", file);
+            return new DirectoryLocation(file);
+        }
+        ZipFile zipFile;
+        try {
+            zipFile = new ZipFile(file);
+        } catch (IOException e) {
+            logger.warn("Failed to open class path entry [{}]; skipping it.", file, e);
+            return new DirectoryLocation(file);
+        }
+        ArchiveLocation location = new ArchiveLocation(file, zipFile);
+        for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); ) {
+            ZipEntry entry = entries.nextElement();
+            if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
+                register(toClassName(entry.getName()), location);
+            }
+        }
+        return location;
+    }
+
+    private void register(@Nonnull String className, @Nonnull Location location) {
+        Location[] knownLocations = this.locationsOfClasses.get(className);
+        if (knownLocations == null) {
+            knownLocations = new Location[]{location};
+        } else {
+            knownLocations = Arrays.copyOf(knownLocations, knownLocations.length + 1);
+            knownLocations[knownLocations.length - 1] = location;
+        }
+        this.locationsOfClasses.put(className, knownLocations);
+    }
+
+    /**
+     * A <code>Location</code> is an indexed class path entry providing class files.
+     *
+     * @since 2.2.0
+     */
+    private abstract static class Location {
+        @Nonnull
+        protected final File file;
+
+        protected Location(@Nonnull File file) {
+            this.file = file;
+        }
+
+        @Override
+        public String toString() {
+            return this.file.toString();
+        }
+
+        @Nonnull
+        public abstract InputStream openClassfile(@Nonnull String path) throws IOException;
+
+        @Nonnull
+        public abstract URL find(@Nonnull String path) throws MalformedURLException;
+
+        public void close() {
+        }
+
+    }
+
+    private static final class DirectoryLocation extends Location {
+
+        public DirectoryLocation(@Nonnull File directory) {
+            super(directory);
+        }
+
+        @Nonnull
+        @Override
+        public InputStream openClassfile(@Nonnull String path) throws IOException {
+            return new FileInputStream(new File(this.file, path));
+        }
+
+        @Nonnull
+        @Override
+        public URL find(@Nonnull String path) throws MalformedURLException {
+            return new File(this.file, path).toURI().toURL();
+        }
+
+    }
+
+    private static final class ArchiveLocation extends Location {
+        @Nonnull
+        private final ZipFile zipFile;
+
+        public ArchiveLocation(@Nonnull File archive, @Nonnull ZipFile zipFile) {
+            super(archive);
+            this.zipFile = zipFile;
+        }
+
+        @Nonnull
+        @Override
+        public InputStream openClassfile(@Nonnull String path) throws IOException {
+            ZipEntry entry = this.zipFile.getEntry(path);
+            if (entry == null) {
+                throw new IOException("There's no entry [" + path + "] in [" + this.file + "]!");
+            }
+            return this.zipFile.getInputStream(entry);
+        }
+
+        @Nonnull
+        @Override
+        public URL find(@Nonnull String path) throws MalformedURLException {
+            return new URL("jar:" + this.file.toURI().toURL() + "!/" + path);
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.zipFile.close();
+            } catch (IOException ignored) {
+                // nothing we can do about it
+            }
+        }
+
+    }
+
+    /**
+     * The <code>ModuleClassPath</code> is the view of a module on the <code>ClassPathIndex</code>: if a class is
+     * provided by several locations, the one with the lowest position in the module's class path is chosen.
+     *
+     * @since 2.2.0
+     */
+    private final class ModuleClassPath implements ClassPath {
+        @Nonnull
+        private final Map<Location, Integer> positions;
+
+        public ModuleClassPath(@Nonnull Map<Location, Integer> positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public String toString() {
+            return "ModuleClassPath of " + ClassPathIndex.this + " consisting of " + this.positions.size() + " entries";
+        }
+
+        @Nullable
+        @Override
+        public InputStream openClassfile(@Nonnull String className) {
+            Location location = locate(className);
+            if (location == null) {
+                return null;
+            }
+            try {
+                return location.openClassfile(toPath(className));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to open class file of [" + className + "] at [" + location + "]!", e);
+            }
+        }
+
+        @Nullable
+        @Override
+        public URL find(@Nonnull String className) {
+            Location location = locate(className);
+            if (location == null) {
+                return null;
+            }
+            try {
+                return location.find(toPath(className));
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() {
+            // the locations are owned by the index
+        }
+
+        @Nullable
+        private Location locate(@Nonnull String className) {
+            Location[] candidates = locationsOfClasses.get(className);
+            if (candidates == null) {
+                return null;
+            }
+            Location bestLocation = null;
+            int bestPosition = Integer.MAX_VALUE;
+            for (Location candidate : candidates) {
+                Integer position = this.positions.get(candidate);
+                if (position != null && position < bestPosition) {
+                    bestLocation = candidate;
+                    bestPosition = position;
+                }
+            }
+            return bestLocation;
+        }
+
+    }
+
+}
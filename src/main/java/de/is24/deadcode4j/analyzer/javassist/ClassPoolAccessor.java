@@ -1,27 +1,32 @@
 package de.is24.deadcode4j.analyzer.javassist;
 
-import com.google.common.base.Function;
 import com.google.common.base.Optional;
-import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Iterables;
 import de.is24.deadcode4j.AnalysisContext;
 import de.is24.deadcode4j.Repository;
 import de.is24.guava.NonNullFunction;
-import de.is24.guava.SequentialLoadingCache;
+import de.is24.javassist.EvictingClassPool;
 import javassist.ClassPool;
-import javassist.NotFoundException;
 
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import java.io.File;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static com.google.common.base.Optional.absent;
 import static com.google.common.base.Optional.of;
-import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Lists.newArrayList;
+import static de.is24.deadcode4j.analyzer.javassist.ClassPathIndex.classPathIndexFor;
+import static java.util.Collections.newSetFromMap;
 
 /**
  * The <code>ClassPoolAccessor</code> provides access to a Javassist {@link javassist.ClassPool} with fully configured
- * class path. It also provides some convenience methods to deal with loading & resolving classes.
+ * class path. It also provides some convenience methods to deal with loading & resolving classes.<br/>
+ * The class path is backed by the {@link ClassPathIndex} shared by all modules, i.e. each jar is opened & scanned
+ * only once per reactor. The <code>ClassPool</code> keeps only up to
+ * {@link de.is24.deadcode4j.AnalysisContext#getClassPoolSize() the configured number of} classes.
  *
  * @since 2.0.0
  */
@@ -35,13 +40,14 @@ public final class ClassPoolAccessor {
         }
     };
     @Nonnull
-    private final ClassPool classPool;
+    private final EvictingClassPool classPool;
     @Nonnull
-    private final LoadingCache<String, Optional<String>> classResolver;
+    private final ConcurrentMap<String, Optional<String>> resolvedClasses = new ConcurrentHashMap<String, Optional<String>>();
+    @Nonnull
+    private final Set<String> knownPackages = newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
     public ClassPoolAccessor(@Nonnull AnalysisContext analysisContext) {
         this.classPool = createClassPool(analysisContext);
-        this.classResolver = createResolverCache();
     }
 
     /**
@@ -56,19 +62,15 @@ public final class ClassPoolAccessor {
     }
 
     @Nonnull
-    private static ClassPool createClassPool(AnalysisContext analysisContext) {
-        ClassPool classPool = new ClassPool(true);
-        try {
-            Repository outputRepository = analysisContext.getModule().getOutputRepository();
-            if (outputRepository != null) {
-                classPool.appendClassPath(outputRepository.getDirectory().getAbsolutePath());
-            }
-            for (File file : analysisContext.getModule().getClassPath()) {
-                classPool.appendClassPath(file.getAbsolutePath());
-            }
-        } catch (NotFoundException e) {
-            throw new RuntimeException("Failed to set up ClassPool!", e);
+    private static EvictingClassPool createClassPool(AnalysisContext analysisContext) {
+        EvictingClassPool classPool = new EvictingClassPool(true, analysisContext.getClassPoolSize());
+        List<File> classPath = newArrayList();
+        Repository outputRepository = analysisContext.getModule().getOutputRepository();
+        if (outputRepository != null) {
+            classPath.add(outputRepository.getDirectory());
         }
+        Iterables.addAll(classPath, analysisContext.getModule().getClassPath());
+        classPool.appendClassPath(classPathIndexFor(analysisContext).createClassPathFor(classPath));
         return classPool;
     }
 
@@ -98,60 +100,53 @@ public final class ClassPoolAccessor {
     /**
      * Returns the "resolved" class name for the given qualifier.
      * "Resolved" in this case means that if the qualifier refers to an existing class, the class'
-     * {@link java.lang.ClassLoader binary name} is returned.
+     * {@link java.lang.ClassLoader binary name} is returned.<br/>
+     * This method is thread-safe; resolutions are cached, so looking up a qualifier again does not lock anything.
      *
      * @since 2.0.0
      */
     @Nonnull
     public Optional<String> resolveClass(@Nonnull CharSequence qualifier) {
-        return classResolver.getUnchecked(prepareQualifier(qualifier));
+        String preparedQualifier = prepareQualifier(qualifier);
+        Optional<String> resolvedClass = resolvedClasses.get(preparedQualifier);
+        if (resolvedClass == null) {
+            resolvedClass = resolve(preparedQualifier);
+            resolvedClasses.putIfAbsent(preparedQualifier, resolvedClass);
+        }
+        return resolvedClass;
     }
 
     @Nonnull
-    private LoadingCache<String, Optional<String>> createResolverCache() {
-        return new SequentialLoadingCache<String, String>(new Function<String, Optional<String>>() {
-            @Nonnull
-            private final Set<String> knownPackages = newHashSet();
-
-            @Nullable
-            @Override
-            public Optional<String> apply(@Nullable String input) {
-                if (input == null) {
-                    return absent();
-                }
-                for (; ; ) {
-                    if (classPool.getOrNull(input) != null) {
-                        addToKnownPackages(input);
-                        return of(input);
-                    }
-                    int dotIndex = input.lastIndexOf('.');
-                    if (dotIndex < 0) {
-                        return absent();
-                    }
-                    String potentialPackage = input.substring(0, dotIndex);
-                    if (knownPackages.contains(potentialPackage)) {
-                        // no need to look for inner classes
-                        return absent();
-                    }
-                    input = potentialPackage + "$" + input.substring(dotIndex + 1);
-                }
+    private Optional<String> resolve(@Nonnull String qualifier) {
+        for (; ; ) {
+            if (classPool.getOrNull(qualifier) != null) { // the EvictingClassPool is synchronized
+                addToKnownPackages(qualifier);
+                return of(qualifier);
             }
-
-            private void addToKnownPackages(@Nonnull String className) {
-                for (; ; ) {
-                    int dotIndex = className.lastIndexOf('.');
-                    if (dotIndex < 0) {
-                        return;
-                    }
-                    className = className.substring(0, dotIndex);
-                    if (!knownPackages.add(className)) {
-                        return;
-                    }
-                }
-
+            int dotIndex = qualifier.lastIndexOf('.');
+            if (dotIndex < 0) {
+                return absent();
             }
+            String potentialPackage = qualifier.substring(0, dotIndex);
+            if (knownPackages.contains(potentialPackage)) {
+                // no need to look for inner classes
+                return absent();
+            }
+            qualifier = potentialPackage + "$" + qualifier.substring(dotIndex + 1);
+        }
+    }
 
-        });
+    private void addToKnownPackages(@Nonnull String className) {
+        for (; ; ) {
+            int dotIndex = className.lastIndexOf('.');
+            if (dotIndex < 0) {
+                return;
+            }
+            className = className.substring(0, dotIndex);
+            if (!knownPackages.add(className)) {
+                return;
+            }
+        }
     }
 
 }
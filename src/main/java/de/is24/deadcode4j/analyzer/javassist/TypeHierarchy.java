@@ -0,0 +1,219 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import com.google.common.primitives.Ints;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.guava.NonNullFunction;
+import javassist.CtClass;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newConcurrentMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
+import static de.is24.javassist.CtClasses.getInterfacesOf;
+import static de.is24.javassist.CtClasses.getSuperclassOf;
+import static de.is24.javassist.CtClasses.isJavaLangObject;
+
+/**
+ * The <code>TypeHierarchy</code> provides the transitive superclasses & interfaces of the classes of a module.
+ * The supertypes of each class are computed only once and are stored as (sorted) arrays of <code>int</code> ids,
+ * so that deep hierarchies are walked only once no matter how many analyzers are interested in them.<br/>
+ * As with the methods of {@link de.is24.javassist.CtClasses}, class loading issues are swallowed: the hierarchy of a
+ * class stops at the first supertype that cannot be loaded.<br/>
+ * Instances are thread-safe.
+ *
+ * @since 2.2.0
+ */
+public final class TypeHierarchy {
+    @Nonnull
+    private static final NonNullFunction<AnalysisContext, TypeHierarchy> SUPPLIER = new NonNullFunction<AnalysisContext, TypeHierarchy>() {
+        @Nonnull
+        @Override
+        public TypeHierarchy apply(@Nonnull AnalysisContext input) {
+            return new TypeHierarchy();
+        }
+    };
+    private static final int[] NO_TYPES = new int[0];
+    @Nonnull
+    private final ConcurrentMap<String, Integer> ids = newConcurrentMap();
+    @Nonnull
+    private final List<String> names = newArrayList();
+    @Nonnull
+    private final ConcurrentMap<String, Supertypes> supertypesOfClasses = newConcurrentMap();
+
+    /**
+     * Creates or retrieves the <code>TypeHierarchy</code> for the given analysis context.<br/>
+     * A new instance will be put in the analysis context's cache and subsequently retrieved from there.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public static TypeHierarchy typeHierarchyFor(@Nonnull AnalysisContext analysisContext) {
+        return analysisContext.getOrCreateCacheEntry(TypeHierarchy.class, SUPPLIER);
+    }
+
+    @Override
+    public String toString() {
+        return "TypeHierarchy with " + supertypesOfClasses.size() + " classes";
+    }
+
+    /**
+     * Retrieves all interfaces a class implements - either directly, via superclass or via interface inheritance.
+     * The returned set may be modified freely.
+     *
+     * @see de.is24.javassist.CtClasses#getAllImplementedInterfaces(javassist.CtClass)
+     * @since 2.2.0
+     */
+    @Nonnull
+    public Set<String> getAllImplementedInterfaces(@Nonnull CtClass clazz) {
+        int[] interfaces = supertypesOf(clazz).interfaces;
+        Set<String> interfaceNames = newHashSetWithExpectedSize(interfaces.length);
+        for (int id : interfaces) {
+            interfaceNames.add(nameOf(id));
+        }
+        return interfaceNames;
+    }
+
+    /**
+     * Indicates if the given class implements the specified interface - either directly, via superclass or via
+     * interface inheritance.
+     *
+     * @since 2.2.0
+     */
+    public boolean implementsInterface(@Nonnull CtClass clazz, @Nonnull String interfaceName) {
+        return implementsAnyOf(clazz, Collections.singleton(interfaceName));
+    }
+
+    /**
+     * Indicates if the given class implements any of the specified interfaces.
+     *
+     * @see #implementsInterface(javassist.CtClass, String)
+     * @since 2.2.0
+     */
+    public boolean implementsAnyOf(@Nonnull CtClass clazz, @Nonnull Iterable<String> interfaceNames) {
+        int[] interfaces = supertypesOf(clazz).interfaces; // assigns the ids of all interfaces in question
+        for (String interfaceName : interfaceNames) {
+            Integer id = ids.get(interfaceName);
+            if (id != null && Arrays.binarySearch(interfaces, id) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the names of the superclasses of a class in bottom-up order, ending with <code>java.lang.Object</code>
+     * or with the first superclass that cannot be loaded.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<String> getSuperclassesOf(@Nonnull CtClass clazz) {
+        int[] superclasses = supertypesOf(clazz).superclasses;
+        List<String> superclassNames = newArrayListWithCapacity(superclasses.length);
+        for (int id : superclasses) {
+            superclassNames.add(nameOf(id));
+        }
+        return superclassNames;
+    }
+
+    /**
+     * Indicates if the given class is a (transitive) subclass of any of the specified classes.
+     *
+     * @see #getSuperclassesOf(javassist.CtClass)
+     * @since 2.2.0
+     */
+    public boolean extendsAnyOf(@Nonnull CtClass clazz, @Nonnull Iterable<String> classNames) {
+        int[] superclasses = supertypesOf(clazz).superclasses; // assigns the ids of all classes in question
+        for (String className : classNames) {
+            Integer id = ids.get(className);
+            if (id != null && Ints.contains(superclasses, id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    private Supertypes supertypesOf(@Nonnull CtClass clazz) {
+        Supertypes supertypes = supertypesOfClasses.get(clazz.getName());
+        if (supertypes == null) {
+            supertypes = computeSupertypesOf(clazz);
+            supertypesOfClasses.putIfAbsent(clazz.getName(), supertypes);
+        }
+        return supertypes;
+    }
+
+    @Nonnull
+    private Supertypes computeSupertypesOf(@Nonnull CtClass clazz) {
+        Set<Integer> interfaces = newHashSet();
+        int[] superclasses = NO_TYPES;
+        String nameOfSuperclass = clazz.getClassFile2().getSuperclass();
+        if (nameOfSuperclass != null) {
+            CtClass superclass = getSuperclassOf(clazz);
+            int[] transitiveSuperclasses = NO_TYPES;
+            if (superclass != null && !isJavaLangObject(superclass)) {
+                Supertypes supertypesOfSuperclass = supertypesOf(superclass);
+                transitiveSuperclasses = supertypesOfSuperclass.superclasses;
+                addAll(interfaces, supertypesOfSuperclass.interfaces);
+            }
+            superclasses = Ints.concat(new int[]{idOf(nameOfSuperclass)}, transitiveSuperclasses);
+        }
+        for (CtClass anInterface : getInterfacesOf(clazz)) {
+            interfaces.add(idOf(anInterface.getName()));
+            addAll(interfaces, supertypesOf(anInterface).interfaces);
+        }
+        int[] sortedInterfaces = Ints.toArray(interfaces);
+        Arrays.sort(sortedInterfaces);
+        return new Supertypes(superclasses, sortedInterfaces);
+    }
+
+    private static void addAll(@Nonnull Set<Integer> ids, @Nonnull int[] idsToAdd) {
+        for (int id : idsToAdd) {
+            ids.add(id);
+        }
+    }
+
+    private int idOf(@Nonnull String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (names) {
+            id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                names.add(name);
+                ids.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    @Nonnull
+    private String nameOf(int id) {
+        synchronized (names) {
+            return names.get(id);
+        }
+    }
+
+    private static final class Supertypes {
+        @Nonnull
+        final int[] superclasses;
+        @Nonnull
+        final int[] interfaces;
+
+        Supertypes(@Nonnull int[] superclasses, @Nonnull int[] interfaces) {
+            this.superclasses = superclasses;
+            this.interfaces = interfaces;
+        }
+    }
+
+}
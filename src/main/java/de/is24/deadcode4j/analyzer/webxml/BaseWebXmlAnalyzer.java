@@ -79,7 +79,7 @@ public abstract class BaseWebXmlAnalyzer extends XmlAnalyzer {
         @Override
         public void characters(char[] ch, int start, int length) {
             if (isNodeWithText()) {
-                textBuffers.getLast().append(new String(ch, start, length).trim());
+                appendTrimmed(textBuffers.getLast(), ch, start, length);
             }
         }
 
@@ -15,12 +15,14 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.repository.RepositorySystem;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.collect.Iterables.filter;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Lists.transform;
 import static de.is24.deadcode4j.Utils.getKeyFor;
@@ -44,6 +46,14 @@ import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE;
         threadSafe = true)
 public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
 
+    /**
+     * The file in which to store the analysis results of each file. If set, files that haven't changed since the last
+     * run aren't analyzed again by those analyzers whose results can be replayed.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.analysisCache")
+    private File analysisCache;
     /**
      * Lists the fqcn of the annotations marking a class as being "live code".
      *
@@ -60,6 +70,16 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     @Parameter
     @SuppressWarnings("PMD.ImmutableField")
     private Set<String> classesToIgnore = emptySet();
+    /**
+     * The maximum number of classes to keep in memory while examining the classes of a module. If the analysis of a
+     * module needs more classes, the least recently used ones are loaded again as required.<br/>
+     * Run with <code>-X</code> to see how many classes were loaded &amp; evicted for each module.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.classPoolSize")
+    @SuppressWarnings("PMD.ImmutableField")
+    private int classPoolSize = 4096;
     /**
      * Lists the custom XML analysis configurations to set up.
      * Have a look at https://github.com/ImmobilienScout24/deadcode4j to learn how to configure a custom XML analyzer.
@@ -97,6 +117,16 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     private List<String> modulesToSkip = emptyList();
     @Component
     private MojoExecution mojoExecution;
+    /**
+     * If set to <code>true</code>, only classes being reachable from an entry point (i.e. a class referenced by
+     * something other than a class, like a Spring XML file, a <code>web.xml</code> or the configured annotations) are
+     * considered to be live code. That way, classes only referencing each other are reported as dead code, too.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.reachabilityAnalysis")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean reachabilityAnalysis = false;
     @Parameter(property = "reactorProjects", readonly = true)
     @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
     private List<MavenProject> reactorProjects;
@@ -129,6 +159,28 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
     @Parameter
     @SuppressWarnings("PMD.ImmutableField")
     private Set<String> superClassesMarkingLiveCode = emptySet();
+    /**
+     * The number of threads to use for the analysis.<br/>
+     * If this is set to a value greater than 1, modules which do not depend on each other as well as the files of a
+     * module are analyzed concurrently.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.threads")
+    @SuppressWarnings("PMD.ImmutableField")
+    private int threads = 1;
+    /**
+     * If set to <code>true</code>, the analyzers which can do nothing but mark a class as being "live code" (like those
+     * looking for annotations, interfaces, superclasses or main methods) are run only after all other analyzers, and
+     * only for those classes which aren't referenced by anything else. The results are the same, but usually far
+     * fewer classes need to be examined.<br/>
+     * This has no effect if {@link #reachabilityAnalysis} is enabled, as a referenced class may still be unreachable.
+     *
+     * @since 2.2.0
+     */
+    @Parameter(property = "deadcode4j.twoPhaseAnalysis")
+    @SuppressWarnings("PMD.ImmutableField")
+    private boolean twoPhaseAnalysis = false;
     @Component
     private UpdateChecker updateChecker;
     /**
@@ -201,6 +253,7 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
                 new ApacheTilesAnalyzer(),
                 new CastorClassesAnalyzer(),
                 new ClassDependencyAnalyzer(),
+                new ConstantHoldersAnalyzer(),
                 new FacesConfigXmlAnalyzer(),
                 new HibernateAnnotationsAnalyzer(),
                 new JeeAnnotationsAnalyzer(),
@@ -220,17 +273,31 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
                 new TypeErasureAnalyzer(),
                 new WebXmlAnalyzer(),
                 new WsddAnalyzer());
-        DeadCodeComputer deadCodeComputer = new DeadCodeComputer();
+        DeadCodeComputer deadCodeComputer = new DeadCodeComputer(reachabilityAnalysis);
         addCustomAnnotationsAnalyzerIfConfigured(analyzers);
         addCustomInterfacesAnalyzerIfConfigured(analyzers);
         addCustomSuperClassesAnalyzerIfConfigured(analyzers);
         addCustomXmlAnalyzerIfConfigured(analyzers);
         addIgnoreClassesAnalyzerIfConfigured(deadCodeComputer, analyzers);
         addMainClassAnalyzerIfConfigured(analyzers);
-        DeadCodeFinder deadCodeFinder = new DeadCodeFinder(deadCodeComputer, analyzers);
+        dispatchMarkerAnalysis(analyzers);
+        dispatchJavaAnalysis(analyzers);
+        dispatchXmlAnalysis(analyzers);
+        DeadCodeFinder deadCodeFinder = new DeadCodeFinder(deadCodeComputer, analyzers, threads,
+                analysisCache == null ? null : new AnalysisCache(analysisCache), isTwoPhaseAnalysisApplicable(),
+                classPoolSize);
         return deadCodeFinder.findDeadCode(gatherModules());
     }
 
+    private boolean isTwoPhaseAnalysisApplicable() {
+        if (twoPhaseAnalysis && reachabilityAnalysis) {
+            getLog().warn("A two-phase analysis cannot be combined with a reachability analysis; " +
+                    "analyzing everything in one phase.");
+            return false;
+        }
+        return twoPhaseAnalysis;
+    }
+
     private void addCustomAnnotationsAnalyzerIfConfigured(Set<Analyzer> analyzers) {
         if (annotationsMarkingLiveCode.isEmpty()) {
             return;
@@ -286,6 +353,28 @@ public class FindDeadCodeOnlyMojo extends AbstractSlf4jMojo {
         getLog().info("Treating classes with a main method as live code.");
     }
 
+    private void dispatchMarkerAnalysis(Set<Analyzer> analyzers) {
+        List<MarkerAnalyzer> markerAnalyzers = newArrayList(filter(analyzers, MarkerAnalyzer.class));
+        analyzers.removeAll(markerAnalyzers);
+        analyzers.add(new MarkerDispatcher(markerAnalyzers));
+    }
+
+    private void dispatchJavaAnalysis(Set<Analyzer> analyzers) {
+        List<JavaNodeAnalyzer> javaNodeAnalyzers = newArrayList(filter(analyzers, JavaNodeAnalyzer.class));
+        analyzers.removeAll(javaNodeAnalyzers);
+        analyzers.add(new JavaFileDispatcher(javaNodeAnalyzers));
+    }
+
+    private void dispatchXmlAnalysis(Set<Analyzer> analyzers) {
+        List<XmlAnalyzer> xmlAnalyzers = newArrayList(filter(analyzers, XmlAnalyzer.class));
+        analyzers.removeAll(xmlAnalyzers);
+        if (analysisCache == null) {
+            analyzers.add(new XmlDispatcher(xmlAnalyzers));
+        } else {
+            analyzers.addAll(XmlDispatcher.replayableDispatchersFor(xmlAnalyzers));
+        }
+    }
+
     private Iterable<Module> gatherModules() throws MojoExecutionException {
         ModuleGenerator moduleGenerator = new ModuleGenerator(this.repositorySystem);
         return moduleGenerator.getModulesFor(getProjectsToAnalyze());
@@ -3,6 +3,8 @@ package de.is24.guava;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.cache.AbstractLoadingCache;
+import com.google.common.cache.ForwardingLoadingCache;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Maps;
 
 import javax.annotation.Nonnull;
@@ -61,6 +63,29 @@ public class SequentialLoadingCache<K, V> extends AbstractLoadingCache<K, Option
         }, cacheLoader);
     }
 
+    /**
+     * Creates a <code>LoadingCache</code> that caches one value per thread, i.e. each thread accessing the cache
+     * uses its own {@link #createSingleValueCache(com.google.common.base.Function) single value cache}.
+     *
+     * @see #createSingleValueCache(com.google.common.base.Function)
+     * @since 2.2.0
+     */
+    public static <K, V> LoadingCache<K, Optional<V>> createThreadConfinedSingleValueCache(
+            @Nonnull final Function<K, Optional<V>> cacheLoader) {
+        final ThreadLocal<LoadingCache<K, Optional<V>>> caches = new ThreadLocal<LoadingCache<K, Optional<V>>>() {
+            @Override
+            protected LoadingCache<K, Optional<V>> initialValue() {
+                return createSingleValueCache(cacheLoader);
+            }
+        };
+        return new ForwardingLoadingCache<K, Optional<V>>() {
+            @Override
+            protected LoadingCache<K, Optional<V>> delegate() {
+                return caches.get();
+            }
+        };
+    }
+
     @Nonnull
     @Override
     public Optional<V> get(@Nullable K key) throws ExecutionException {
@@ -0,0 +1,85 @@
+package de.is24.javaparser;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Maps.newHashMap;
+import static de.is24.deadcode4j.Utils.emptyIfNull;
+
+/**
+ * Indexes the {@link ImportDeclaration}s of a <code>CompilationUnit</code>: the single (static or type) imports are
+ * accessible by the name they import, i.e. their last qualifier, and the asterisk imports are listed separately.
+ * This saves filtering all imports each time a name is looked up.
+ *
+ * @since 2.2.0
+ */
+@Immutable
+public final class ImportIndex {
+    @Nonnull
+    private final CompilationUnit compilationUnit;
+    @Nonnull
+    private final Map<String, List<ImportDeclaration>> singleImports = newHashMap();
+    @Nonnull
+    private final List<ImportDeclaration> asteriskImports = newArrayList();
+
+    /**
+     * Creates a new <code>ImportIndex</code> for the given compilation unit.
+     *
+     * @since 2.2.0
+     */
+    public ImportIndex(@Nonnull CompilationUnit compilationUnit) {
+        this.compilationUnit = compilationUnit;
+        for (ImportDeclaration importDeclaration : emptyIfNull(compilationUnit.getImports())) {
+            if (importDeclaration.isAsterisk()) {
+                asteriskImports.add(importDeclaration);
+                continue;
+            }
+            String lastQualifier = importDeclaration.getName().getName();
+            List<ImportDeclaration> imports = singleImports.get(lastQualifier);
+            if (imports == null) {
+                imports = newArrayListWithCapacity(1);
+                singleImports.put(lastQualifier, imports);
+            }
+            imports.add(importDeclaration);
+        }
+    }
+
+    /**
+     * Indicates if this index was created for the given compilation unit.
+     *
+     * @since 2.2.0
+     */
+    public boolean isIndexOf(@Nonnull CompilationUnit compilationUnit) {
+        return this.compilationUnit == compilationUnit;
+    }
+
+    /**
+     * Returns the non-asterisk imports (both static and type imports) whose last qualifier is the given name.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<ImportDeclaration> getSingleImportsOf(@Nonnull String lastQualifier) {
+        List<ImportDeclaration> imports = singleImports.get(lastQualifier);
+        return imports == null ? Collections.<ImportDeclaration>emptyList() : Collections.unmodifiableList(imports);
+    }
+
+    /**
+     * Returns the asterisk imports (both static and type imports) in the order they were declared.
+     *
+     * @since 2.2.0
+     */
+    @Nonnull
+    public List<ImportDeclaration> getAsteriskImports() {
+        return Collections.unmodifiableList(asteriskImports);
+    }
+
+}
@@ -0,0 +1,118 @@
+package de.is24.javassist;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+
+import javax.annotation.Nonnull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An <code>EvictingClassPool</code> is a {@link javassist.ClassPool} that caches only up to a given number of
+ * {@link javassist.CtClass}es: if the limit is exceeded, the least recently used class is removed from the pool.
+ * A removed class is loaded again if it is requested later on.<br/>
+ * The number of cache hits, misses & evictions are recorded in order to be able to size the cache.
+ *
+ * @since 2.2.0
+ */
+public class EvictingClassPool extends ClassPool {
+
+    private final int maximumSize;
+    @Nonnull
+    private final LinkedHashMap<String, CtClass> cachedClasses = new LinkedHashMap<String, CtClass>(64, 0.75f, true);
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Creates a new <code>EvictingClassPool</code>.
+     *
+     * @param useDefaultPath indicates if the system search path should be appended
+     * @param maximumSize    the maximum number of classes to keep
+     * @see javassist.ClassPool#ClassPool(boolean)
+     * @since 2.2.0
+     */
+    public EvictingClassPool(boolean useDefaultPath, int maximumSize) {
+        super(useDefaultPath);
+        checkArgument(maximumSize > 0, "[maximumSize] must be greater than 0!");
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "EvictingClassPool caching " + this.cachedClasses.size() + "/" + this.maximumSize + " classes [hits="
+                + this.hitCount + ", misses=" + this.missCount + ", evictions=" + this.evictionCount + "]";
+    }
+
+    /**
+     * Returns the number of requested classes that were cached.
+     *
+     * @since 2.2.0
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of requested classes that were not cached, i.e. that had to be loaded (or weren't found).
+     *
+     * @since 2.2.0
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the number of classes that were removed from the pool to respect the maximum size.
+     *
+     * @since 2.2.0
+     */
+    public synchronized long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    @Override
+    protected synchronized CtClass get0(String classname, boolean useCache) throws NotFoundException {
+        if (useCache) {
+            if (getCached(classname) != null) {
+                this.hitCount++;
+            } else {
+                this.missCount++;
+            }
+        }
+        return super.get0(classname, useCache);
+    }
+
+    @Override
+    protected synchronized CtClass getCached(String classname) {
+        CtClass clazz = super.getCached(classname);
+        if (clazz != null) {
+            this.cachedClasses.get(classname); // marks the class as being recently used
+        }
+        return clazz;
+    }
+
+    @Override
+    protected synchronized void cacheCtClass(String classname, CtClass c, boolean dynamic) {
+        super.cacheCtClass(classname, c, dynamic);
+        this.cachedClasses.put(classname, c);
+        for (Iterator<Map.Entry<String, CtClass>> iterator = this.cachedClasses.entrySet().iterator();
+             this.cachedClasses.size() > this.maximumSize; ) {
+            String evictedClass = iterator.next().getKey();
+            iterator.remove();
+            super.removeCached(evictedClass);
+            this.evictionCount++;
+        }
+    }
+
+    @Override
+    protected synchronized CtClass removeCached(String classname) {
+        this.cachedClasses.remove(classname);
+        return super.removeCached(classname);
+    }
+
+}
@@ -0,0 +1,97 @@
+package de.is24.bytecode;
+
+import de.is24.deadcode4j.junit.FileLoader;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.Modifier;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_ClassFileView {
+
+    private static ClassFileView viewOf(String fileName) throws IOException {
+        return ClassFileView.of(ByteBuffer.wrap(readFileToByteArray(FileLoader.getFile(fileName))));
+    }
+
+    private static Collection<String> referencedClassesAccordingToJavassist(String className) throws Exception {
+        ClassPool classPool = new ClassPool(false);
+        classPool.appendClassPath(FileLoader.getFile(".").getAbsolutePath());
+        CtClass clazz = classPool.get(className);
+        @SuppressWarnings("unchecked")
+        Collection<String> refClasses = clazz.getRefClasses();
+        return refClasses;
+    }
+
+    @Test
+    public void providesTheNameAndSupertypes() throws IOException {
+        ClassFileView classFile = viewOf("ClassImplementingExternalizable.class");
+
+        assertThat(classFile.getName(), is("ClassImplementingExternalizable"));
+        assertThat(classFile.getSuperclassName(), is("java.lang.Object"));
+        assertThat(classFile.getInterfaceNames(), contains("java.io.Externalizable"));
+        assertThat(Modifier.isPublic(classFile.getAccessFlags()), is(true));
+    }
+
+    @Test
+    public void leavesTheGivenBufferUntouched() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(readFileToByteArray(FileLoader.getFile("A.class")));
+        ClassFileView classFile = ClassFileView.of(buffer);
+
+        assertThat(classFile.getName(), is("A"));
+        assertThat(buffer.position(), is(0));
+    }
+
+    @Test
+    public void canBeCreatedFromAScannedConstantPool() throws IOException {
+        ConstantPool constantPool =
+                ConstantPool.of(ByteBuffer.wrap(readFileToByteArray(FileLoader.getFile("MainClass.class"))));
+        ClassFileView classFile = ClassFileView.of(constantPool);
+
+        assertThat(classFile.getName(), is(constantPool.getClassName()));
+        assertThat(classFile.getReferencedClasses(), is(viewOf("MainClass.class").getReferencedClasses()));
+    }
+
+    @Test
+    public void providesTheAnnotationTypes() throws IOException {
+        ClassFileView classFile = viewOf("AnnotatedClass.class");
+
+        assertThat(classFile.getAnnotationTypes(), contains("de.is24.deadcode4j.junit.Annotation"));
+    }
+
+    @Test
+    public void providesTheDeclaredMethods() throws IOException {
+        ClassFileView classFile = viewOf("MainClass.class");
+
+        assertThat(classFile.getMethods(), hasSize(2));
+        ClassFileView.Method constructor = classFile.getMethods().get(0);
+        assertThat(constructor.getName(), is("<init>"));
+        assertThat(constructor.isMethod(), is(false));
+        ClassFileView.Method main = classFile.getMethods().get(1);
+        assertThat(main.getName(), is("main"));
+        assertThat(main.getDescriptor(), is("([Ljava/lang/String;)V"));
+        assertThat(main.isMethod(), is(true));
+        assertThat(Modifier.isStatic(main.getAccessFlags()), is(true));
+    }
+
+    @Test
+    public void providesTheSameReferencedClassesAsJavassist() throws Exception {
+        for (String className : new String[]{"A", "AnnotatedClass", "ClassImplementingExternalizable",
+                "ClassWithTypeArgument", "DependingClass", "MainClass", "ClassWithInnerClass$InnerClass"}) {
+            assertThat(className, viewOf(className + ".class").getReferencedClasses(),
+                    containsInAnyOrder(referencedClassesAccordingToJavassist(className).toArray()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidClassFiles() {
+        ClassFileView.of(ByteBuffer.wrap(new byte[]{(byte) 0xCA, (byte) 0xFE}));
+    }
+
+}
@@ -0,0 +1,56 @@
+package de.is24.bytecode;
+
+import de.is24.deadcode4j.junit.FileLoader;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static de.is24.bytecode.ConstantPool.toModifiedUtf8;
+import static org.apache.commons.io.FileUtils.readFileToByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public final class A_ConstantPool {
+
+    private static ConstantPool constantPoolOf(String fileName) throws IOException {
+        return ConstantPool.of(ByteBuffer.wrap(readFileToByteArray(FileLoader.getFile(fileName))));
+    }
+
+    @Test
+    public void providesTheClassName() throws IOException {
+        assertThat(constantPoolOf("ClassWithInnerClass$InnerClass.class").getClassName(),
+                is("ClassWithInnerClass$InnerClass"));
+    }
+
+    @Test
+    public void findsUtf8ConstantsByPrefix() throws IOException {
+        ConstantPool constantPool = constantPoolOf("MainClass.class");
+
+        assertThat(constantPool.containsUtf8StartingWithAnyOf(toModifiedUtf8("([Ljava/lang/String;)V")), is(true));
+        assertThat(constantPool.containsUtf8StartingWithAnyOf(toModifiedUtf8("Lorg/hibernate/"),
+                toModifiedUtf8("mai")), is(true));
+        assertThat(constantPool.containsUtf8StartingWithAnyOf(toModifiedUtf8("Lorg/hibernate/")), is(false));
+        assertThat(constantPool.containsUtf8StartingWithAnyOf(toModifiedUtf8("MainClass and more")), is(false));
+        assertThat(constantPool.containsUtf8StartingWithAnyOf(), is(false));
+    }
+
+    @Test
+    public void encodesLikeDataOutput() throws IOException {
+        String string = "a\u0000ä€/";
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeUTF(string);
+        byte[] expected = bytes.toByteArray();
+
+        assertThat(Arrays.equals(toModifiedUtf8(string), Arrays.copyOfRange(expected, 2, expected.length)), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidClassFiles() {
+        ConstantPool.of(ByteBuffer.wrap(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}));
+    }
+
+}
@@ -9,20 +9,24 @@ import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.difference;
 import static com.google.common.collect.Sets.newHashSet;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 
 public class A_DeadCodeComputer {
 
     private DeadCodeComputer objectUnderTest;
     private Map<String, Set<String>> codeDependencies = newHashMap();
+    private Set<String> roots = newHashSet();
 
     @Before
     public void setUpObjectUnderTest() {
         this.objectUnderTest = new DeadCodeComputer();
         codeDependencies.clear();
+        roots.clear();
     }
 
     @Test
@@ -55,13 +59,44 @@ public class A_DeadCodeComputer {
         assertThat("Should recognize one class as dead", deadClasses, contains("DependingClass"));
     }
 
+    @Test
+    public void recognizesTwoInterdependentClassesAsDeadCodeIfComputingReachability() {
+        objectUnderTest = new DeadCodeComputer(true);
+        setUpDependency("A", "B");
+        setUpDependency("B", "A");
+
+        Collection<String> deadClasses = computeDeadClasses();
+
+        assertThat(deadClasses, containsInAnyOrder("A", "B"));
+    }
+
+    @Test
+    public void recognizesClassesReachableFromRootAsLiveCodeIfComputingReachability() {
+        objectUnderTest = new DeadCodeComputer(true);
+        setUpRoot("_Root_", "A");
+        setUpDependency("A", "B");
+        setUpDependency("B", "C", "java.lang.Object");
+        setUpDependency("C", "A");
+        setUpDependency("DependingClass", "A");
+        setUpDependency("IndependentClass");
+
+        Collection<String> deadClasses = computeDeadClasses();
+
+        assertThat(deadClasses, containsInAnyOrder("DependingClass", "IndependentClass"));
+    }
+
+    private void setUpRoot(String depender, String... dependees) {
+        setUpDependency(depender, dependees);
+        roots.add(depender);
+    }
+
     private void setUpDependency(String depender, String... dependees) {
         codeDependencies.put(depender, newHashSet(dependees));
     }
 
     private Collection<String> computeDeadClasses() {
         AnalyzedCode analyzedCode = new AnalyzedCode(
-                EnumSet.noneOf(AnalysisStage.class), codeDependencies.keySet(), codeDependencies);
+                EnumSet.noneOf(AnalysisStage.class), difference(codeDependencies.keySet(), roots), codeDependencies);
         DeadCode deadCode = objectUnderTest.computeDeadCode(analyzedCode);
         return deadCode.getDeadClasses();
     }
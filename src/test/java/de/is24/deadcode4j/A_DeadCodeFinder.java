@@ -1,6 +1,8 @@
 package de.is24.deadcode4j;
 
 import de.is24.deadcode4j.analyzer.AnalyzerAdapter;
+import de.is24.deadcode4j.analyzer.ClassDependencyAnalyzer;
+import de.is24.deadcode4j.analyzer.MainClassAnalyzer;
 import de.is24.deadcode4j.junit.FileLoader;
 import de.is24.deadcode4j.junit.LoggingRule;
 import org.junit.Before;
@@ -9,11 +11,14 @@ import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static java.util.Collections.synchronizedList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -86,8 +91,203 @@ public final class A_DeadCodeFinder {
         assertThat("As no valid analyzer is set up, everything should be dead!", deadCode.getDeadClasses(), hasSize(greaterThan(0)));
     }
 
+    @Test
+    public void analyzesRequiredModulesFirstIfRunningConcurrently() {
+        final List<Module> finishedModules = synchronizedList(new ArrayList<Module>());
+        final List<Module> modulesAnalyzedTooEarly = synchronizedList(new ArrayList<Module>());
+        createObjectUnderTestRunningConcurrently(new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                Module module = analysisContext.getModule();
+                if (!finishedModules.containsAll(module.getRequiredModules())) {
+                    modulesAnalyzedTooEarly.add(module);
+                }
+                finishedModules.add(module);
+            }
+        });
+        Module a = givenModule("A");
+        Module b = givenModule("B", a);
+        Module c = givenModule("C", a);
+        Module d = givenModule("D", b, c);
+        Module e = givenModule("E");
+
+        objectUnderTest.findDeadCode(newArrayList(d, c, b, a, e));
+
+        assertThat(finishedModules, containsInAnyOrder(a, b, c, d, e));
+        assertThat(modulesAnalyzedTooEarly, is(empty()));
+    }
+
+    @Test
+    public void computesSameDeadCodeIfRunningConcurrently() {
+        Analyzer analyzer = new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                String moduleId = analysisContext.getModule().getModuleId();
+                analysisContext.addAnalyzedClass(moduleId);
+                for (Module requiredModule : analysisContext.getModule().getRequiredModules()) {
+                    analysisContext.addDependencies(moduleId, requiredModule.getModuleId());
+                }
+            }
+        };
+        Module a = givenModule("A");
+        Module b = givenModule("B", a);
+        Module c = givenModule("C", a);
+        Module d = givenModule("D", c);
+        List<Module> modules = newArrayList(a, b, c, d);
+        createObjectUnderTest(analyzer);
+        DeadCode deadCode = objectUnderTest.findDeadCode(modules);
+
+        createObjectUnderTestRunningConcurrently(analyzer);
+        DeadCode concurrentlyComputedDeadCode = objectUnderTest.findDeadCode(modules);
+
+        assertThat(concurrentlyComputedDeadCode.getAnalyzedClasses(), is(deadCode.getAnalyzedClasses()));
+        assertThat(concurrentlyComputedDeadCode.getDeadClasses(), is(deadCode.getDeadClasses()));
+        assertThat(concurrentlyComputedDeadCode.getDeadClasses(), containsInAnyOrder("B", "D"));
+    }
+
+    @Test
+    public void callsAnalyzersThatAreNotThreadSafeSequentiallyIfRunningConcurrently() {
+        SequenceRecordingAnalyzer sequentialAnalyzer = new SequenceRecordingAnalyzer();
+        createObjectUnderTest(sequentialAnalyzer);
+        objectUnderTest.findDeadCode(newArrayList(givenModule("A", FileLoader.getFile("."))));
+        NotThreadSafeAnalyzer notThreadSafeAnalyzer = new NotThreadSafeAnalyzer();
+        createObjectUnderTestRunningConcurrently(notThreadSafeAnalyzer, new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+        });
+
+        objectUnderTest.findDeadCode(newArrayList(givenModule("A", FileLoader.getFile("."))));
+
+        assertThat(notThreadSafeAnalyzer.analyzedFiles, is(sequentialAnalyzer.analyzedFiles));
+        assertThat(notThreadSafeAnalyzer.concurrentCallDetected, is(false));
+    }
+
+    @Test
+    public void computesSameDeadCodeIfFilesAreAnalyzedConcurrently() {
+        Analyzer analyzer = new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+                analysisContext.addAnalyzedClass(fileName.getName());
+                analysisContext.addDependencies(fileName.getParentFile().getName(), fileName.getName());
+            }
+        };
+        Module module = givenModule("A", FileLoader.getFile("."));
+        createObjectUnderTest(analyzer);
+        DeadCode deadCode = objectUnderTest.findDeadCode(newArrayList(module));
+
+        createObjectUnderTestRunningConcurrently(analyzer);
+        DeadCode concurrentlyComputedDeadCode = objectUnderTest.findDeadCode(newArrayList(module));
+
+        assertThat(concurrentlyComputedDeadCode.getAnalyzedClasses(), hasSize(greaterThan(0)));
+        assertThat(concurrentlyComputedDeadCode.getAnalyzedClasses(), is(deadCode.getAnalyzedClasses()));
+        assertThat(concurrentlyComputedDeadCode.getDeadClasses(), is(deadCode.getDeadClasses()));
+    }
+
+    @Test
+    public void computesSameDeadCodeInTwoPhases() {
+        Module module = givenModule("A", FileLoader.getFile("."));
+        createObjectUnderTest(new ClassDependencyAnalyzer(), new MainClassAnalyzer());
+        DeadCode deadCode = objectUnderTest.findDeadCode(newArrayList(module));
+
+        createObjectUnderTestAnalyzingInTwoPhases(new ClassDependencyAnalyzer(), new MainClassAnalyzer());
+        DeadCode deadCodeComputedInTwoPhases = objectUnderTest.findDeadCode(newArrayList(module));
+
+        assertThat(deadCodeComputedInTwoPhases.getAnalyzedClasses(), hasSize(greaterThan(0)));
+        assertThat(deadCodeComputedInTwoPhases.getAnalyzedClasses(), is(deadCode.getAnalyzedClasses()));
+        assertThat(deadCodeComputedInTwoPhases.getDeadClasses(), is(deadCode.getDeadClasses()));
+        assertThat(deadCodeComputedInTwoPhases.getDeadClasses(), hasItem("SingleClass"));
+        assertThat(deadCodeComputedInTwoPhases.getDeadClasses(), not(hasItem("MainClass")));
+    }
+
+    @Test
+    public void callsDeferrableAnalyzersOnlyForClassesNotInUseIfAnalyzingInTwoPhases() {
+        DeferrableAnalyzer deferrableAnalyzer = new DeferrableAnalyzer();
+        createObjectUnderTestAnalyzingInTwoPhases(new ClassDependencyAnalyzer(), deferrableAnalyzer);
+
+        objectUnderTest.findDeadCode(newArrayList(givenModule("A", FileLoader.getFile("."))));
+
+        assertThat(deferrableAnalyzer.analyzedFiles, hasItem("SingleClass.class"));
+        assertThat(deferrableAnalyzer.analyzedFiles, not(hasItem("IndependentClass.class")));
+        assertThat(deferrableAnalyzer.analyzedFiles, not(hasItem("spring.xml")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesToAnalyzeInTwoPhasesIfComputingReachability() {
+        new DeadCodeFinder(new DeadCodeComputer(true), newHashSet(new ClassDependencyAnalyzer()), 1, null, true);
+    }
+
+    @Test
+    public void passesClassPoolSizeToAnalysisContext() {
+        final List<Integer> classPoolSizes = newArrayList();
+        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(new AnalyzerAdapter() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            }
+
+            @Override
+            public void finishAnalysis(@Nonnull AnalysisContext analysisContext) {
+                classPoolSizes.add(analysisContext.getClassPoolSize());
+            }
+        }), 1, null, false, 42);
+
+        objectUnderTest.findDeadCode(newArrayList(givenModule("A", FileLoader.getFile("."))));
+
+        assertThat(classPoolSizes, contains(42));
+    }
+
     private void createObjectUnderTest(Analyzer... analyzers) {
         this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzers));
     }
 
+    private void createObjectUnderTestRunningConcurrently(Analyzer... analyzers) {
+        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzers), 4);
+    }
+
+    private void createObjectUnderTestAnalyzingInTwoPhases(Analyzer... analyzers) {
+        this.objectUnderTest = new DeadCodeFinder(new DeadCodeComputer(), newHashSet(analyzers), 1, null, true);
+    }
+
+    private static class SequenceRecordingAnalyzer extends AnalyzerAdapter {
+        final List<File> analyzedFiles = newArrayList();
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            analyzedFiles.add(fileName);
+        }
+    }
+
+    @DeferrableAnalysis
+    private static class DeferrableAnalyzer extends AnalyzerAdapter {
+        final List<String> analyzedFiles = newArrayList();
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            analyzedFiles.add(fileName.getName());
+        }
+    }
+
+    @NotThreadSafe
+    private static class NotThreadSafeAnalyzer extends SequenceRecordingAnalyzer {
+        private final AtomicInteger activeCalls = new AtomicInteger();
+        volatile boolean concurrentCallDetected = false;
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File fileName) {
+            if (activeCalls.incrementAndGet() > 1) {
+                concurrentCallDetected = true;
+            }
+            super.doAnalysis(analysisContext, fileName);
+            activeCalls.decrementAndGet();
+        }
+    }
+
 }
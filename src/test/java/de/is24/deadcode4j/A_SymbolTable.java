@@ -0,0 +1,88 @@
+package de.is24.deadcode4j;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public final class A_SymbolTable {
+
+    private SymbolTable objectUnderTest;
+
+    @Before
+    public void setUp() {
+        objectUnderTest = new SymbolTable();
+    }
+
+    @Test
+    public void assignsDenseIds() {
+        assertThat(objectUnderTest.idOf("A"), is(0));
+        assertThat(objectUnderTest.idOf("B"), is(1));
+        assertThat(objectUnderTest.idOf("A"), is(0));
+        assertThat(objectUnderTest.size(), is(2));
+    }
+
+    @Test
+    public void resolvesSymbolsOfIds() {
+        for (int i = 0; i < 5000; i++) {
+            assertThat(objectUnderTest.idOf("Class" + i), is(i));
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(objectUnderTest.symbolOf(i), is("Class" + i));
+            assertThat(objectUnderTest.lookUp("Class" + i), is(i));
+        }
+    }
+
+    @Test
+    public void returnsNegativeIdForUnknownSymbol() {
+        objectUnderTest.idOf("A");
+
+        assertThat(objectUnderTest.lookUp("B"), is(-1));
+    }
+
+    @Test
+    public void assignsOneIdPerSymbolIfUsedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = newArrayList();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(new Callable<int[]>() {
+                    @Override
+                    public int[] call() {
+                        int[] ids = new int[5000];
+                        for (int i = 0; i < ids.length; i++) {
+                            ids[i] = objectUnderTest.idOf("Class" + i);
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            int[] ids = results.get(0).get();
+            for (Future<int[]> result : results) {
+                assertThat(result.get(), is(ids));
+            }
+            assertThat(objectUnderTest.size(), is(5000));
+            for (int i = 0; i < ids.length; i++) {
+                assertThat(objectUnderTest.symbolOf(ids[i]), is("Class" + i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void failsToResolveUnknownId() {
+        objectUnderTest.symbolOf(0);
+    }
+
+}
@@ -0,0 +1,201 @@
+package de.is24.deadcode4j;
+
+import de.is24.deadcode4j.analyzer.AnalyzerAdapter;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.IOException;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static org.apache.commons.io.FileUtils.toFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class An_AnalysisCache {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+    private File cacheFile;
+    private File analyzedFile;
+    private Module module;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = new File(tempFolder.getRoot(), "cache/deadcode4j.cache");
+        analyzedFile = tempFolder.newFile("Foo.class");
+        FileUtils.write(analyzedFile, "content", "UTF-8");
+        module = givenModule("A");
+    }
+
+    @Test
+    public void replaysContributionOfUnchangedFile() {
+        analyzeInSeparateRun(new ReportingAnalyzer());
+
+        ReportingAnalyzer analyzer = new ReportingAnalyzer();
+        AnalyzedCode analyzedCode = analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(0));
+        assertThat(analyzedCode.getAnalyzedClasses(), contains("Foo"));
+        assertThat(analyzedCode.getCodeDependencies().get("Foo"), containsInAnyOrder("Bar", "Baz"));
+        assertThat(analyzedCode.getStagesWithExceptions(), contains(AnalysisStage.FILE_ANALYSIS));
+    }
+
+    @Test
+    public void replaysContributionOfFileWithSameContentButNewModificationTime() {
+        analyzeInSeparateRun(new ReportingAnalyzer());
+        assertThat(analyzedFile.setLastModified(analyzedFile.lastModified() - 60000), is(true));
+
+        ReportingAnalyzer analyzer = new ReportingAnalyzer();
+        analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(0));
+    }
+
+    @Test
+    public void analyzesChangedFile() throws IOException {
+        analyzeInSeparateRun(new ReportingAnalyzer());
+        FileUtils.write(analyzedFile, "changed content", "UTF-8");
+
+        ReportingAnalyzer analyzer = new ReportingAnalyzer();
+        analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(1));
+    }
+
+    @Test
+    public void analyzesFileOfAnotherModule() {
+        analyzeInSeparateRun(new ReportingAnalyzer());
+        module = givenModule("B");
+
+        ReportingAnalyzer analyzer = new ReportingAnalyzer();
+        analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(1));
+    }
+
+    @Test
+    public void analyzesFileAgainIfAnalyzerWasRebuilt() {
+        analyzeInSeparateRun(new ReportingAnalyzer());
+        File analyzerClass = toFile(ReportingAnalyzer.class.getResource("An_AnalysisCache$ReportingAnalyzer.class"));
+        long lastModified = analyzerClass.lastModified();
+        assertThat(analyzerClass.setLastModified(lastModified - 60000), is(true));
+        try {
+            ReportingAnalyzer analyzer = new ReportingAnalyzer();
+            analyzeInSeparateRun(analyzer);
+
+            assertThat(analyzer.numberOfCalls, is(1));
+        } finally {
+            assertThat(analyzerClass.setLastModified(lastModified), is(true));
+        }
+    }
+
+    @Test
+    public void providesCacheOfOriginalContextToAnalyzer() {
+        ReportingAnalyzer analyzer = new ReportingAnalyzer() {
+            @Override
+            public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+                analysisContext.getCache().put("key", "value");
+            }
+        };
+        AnalysisCache objectUnderTest = new AnalysisCache(cacheFile);
+        objectUnderTest.load();
+        AnalysisContext analysisContext = givenAnalysisContext(module);
+
+        objectUnderTest.analyze(analyzer, analysisContext, analyzedFile);
+
+        assertThat(analysisContext.getCache(), hasEntry((Object) "key", (Object) "value"));
+    }
+
+    @Test
+    public void alwaysCallsAnalyzerThatIsNotReplayable() {
+        NonReplayableAnalyzer firstAnalyzer = new NonReplayableAnalyzer();
+        analyzeInSeparateRun(firstAnalyzer);
+
+        NonReplayableAnalyzer analyzer = new NonReplayableAnalyzer();
+        analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(1));
+    }
+
+    @Test
+    public void doesNotCacheFailedAnalysis() {
+        AnalysisCache objectUnderTest = new AnalysisCache(cacheFile);
+        objectUnderTest.load();
+        try {
+            objectUnderTest.analyze(new FailingAnalyzer(), givenAnalysisContext(module), analyzedFile);
+        } catch (IllegalStateException expected) {
+            objectUnderTest.store();
+        }
+
+        ReportingAnalyzer analyzer = new ReportingAnalyzer();
+        analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(1));
+    }
+
+    @Test
+    public void startsFromScratchIfCacheFileIsCorrupt() throws IOException {
+        FileUtils.write(cacheFile, "corrupt", "UTF-8");
+
+        ReportingAnalyzer analyzer = new ReportingAnalyzer();
+        analyzeInSeparateRun(analyzer);
+
+        assertThat(analyzer.numberOfCalls, is(1));
+        assertThat(cacheFile.length(), is(not(7L)));
+    }
+
+    private AnalyzedCode analyzeInSeparateRun(Analyzer analyzer) {
+        AnalysisCache objectUnderTest = new AnalysisCache(cacheFile);
+        objectUnderTest.load();
+        AnalysisContext analysisContext = givenAnalysisContext(module);
+        objectUnderTest.analyze(analyzer, analysisContext, analyzedFile);
+        objectUnderTest.store();
+        return analysisContext.getAnalyzedCode();
+    }
+
+    @ReplayableAnalysis
+    private static class ReportingAnalyzer extends AnalyzerAdapter {
+        int numberOfCalls = 0;
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+            numberOfCalls++;
+            analysisContext.addAnalyzedClass("Foo");
+            analysisContext.addDependencies("Foo", "Bar", "Baz");
+            analysisContext.addException(AnalysisStage.FILE_ANALYSIS);
+        }
+
+        @Override
+        public String toString() {
+            return "ReportingAnalyzer";
+        }
+
+    }
+
+    private static class NonReplayableAnalyzer extends AnalyzerAdapter {
+        int numberOfCalls = 0;
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+            numberOfCalls++;
+        }
+
+    }
+
+    @ReplayableAnalysis
+    private static class FailingAnalyzer extends ReportingAnalyzer {
+
+        @Override
+        public void doAnalysis(@Nonnull AnalysisContext analysisContext, @Nonnull File file) {
+            throw new IllegalStateException("expected");
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package de.is24.deadcode4j;
+
+import de.is24.guava.NonNullFunction;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+public final class An_AnalysisContext {
+
+    private AnalysisContext objectUnderTest;
+
+    @Before
+    public void setUp() {
+        objectUnderTest = givenAnalysisContext(givenModule("A"));
+    }
+
+    @Test
+    public void createsCacheEntryOnlyOnceIfRequestedConcurrently() throws Exception {
+        final AtomicInteger numberOfCalls = new AtomicInteger();
+        final CountDownLatch supplierCalled = new CountDownLatch(1);
+        final CountDownLatch requestsStarted = new CountDownLatch(3);
+        final NonNullFunction<AnalysisContext, Object> supplier = new NonNullFunction<AnalysisContext, Object>() {
+            @Nonnull
+            @Override
+            public Object apply(@Nonnull AnalysisContext input) {
+                numberOfCalls.incrementAndGet();
+                supplierCalled.countDown();
+                try {
+                    requestsStarted.await(5, TimeUnit.SECONDS);
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Object();
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> entries = newArrayList();
+            entries.add(executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return objectUnderTest.getOrCreateCacheEntry("key", supplier);
+                }
+            }));
+            supplierCalled.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 3; i++) {
+                entries.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() {
+                        requestsStarted.countDown();
+                        return objectUnderTest.getOrCreateCacheEntry("key", supplier);
+                    }
+                }));
+            }
+
+            Object entry = entries.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> otherEntry : entries) {
+                assertThat(otherEntry.get(5, TimeUnit.SECONDS), is(sameInstance(entry)));
+            }
+            assertThat(numberOfCalls.get(), is(1));
+            assertThat(objectUnderTest.getCache().get("key"), is(sameInstance(entry)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void doesNotKeepEntryIfSupplierFails() {
+        try {
+            objectUnderTest.getOrCreateCacheEntry("key", new NonNullFunction<AnalysisContext, Object>() {
+                @Nonnull
+                @Override
+                public Object apply(@Nonnull AnalysisContext input) {
+                    throw new IllegalStateException("expected");
+                }
+            });
+            fail("Expected the supplier's exception to be passed on!");
+        } catch (IllegalStateException expected) {
+            assertThat(objectUnderTest.getCache().containsKey("key"), is(false));
+        }
+
+        Object entry = objectUnderTest.getOrCreateCacheEntry("key", new NonNullFunction<AnalysisContext, Object>() {
+            @Nonnull
+            @Override
+            public Object apply(@Nonnull AnalysisContext input) {
+                return "value";
+            }
+        });
+
+        assertThat(entry, is((Object) "value"));
+        assertThat(objectUnderTest.getCache().get("key"), is((Object) "value"));
+    }
+
+}
@@ -0,0 +1,67 @@
+package de.is24.deadcode4j;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class An_AnalyzedCode {
+
+    private AnalyzedCode objectUnderTest;
+
+    @Before
+    public void setUp() {
+        Map<String, Set<String>> codeDependencies = newHashMap();
+        codeDependencies.put("A", newHashSet("B", "C"));
+        codeDependencies.put("_Root_", newHashSet("A"));
+        objectUnderTest = new AnalyzedCode(
+                EnumSet.noneOf(AnalysisStage.class), newHashSet("A", "B", "D"), codeDependencies);
+    }
+
+    @Test
+    public void providesAnalyzedClasses() {
+        Set<String> analyzedClasses = objectUnderTest.getAnalyzedClasses();
+
+        assertThat(analyzedClasses, containsInAnyOrder("A", "B", "D"));
+        assertThat(analyzedClasses.contains("B"), is(true));
+        assertThat(analyzedClasses.contains("C"), is(false));
+        assertThat(analyzedClasses.contains("E"), is(false));
+    }
+
+    @Test
+    public void providesCodeDependencies() {
+        Map<String, Set<String>> codeDependencies = objectUnderTest.getCodeDependencies();
+
+        assertThat(codeDependencies.size(), is(2));
+        assertThat(codeDependencies.get("A"), containsInAnyOrder("B", "C"));
+        assertThat(codeDependencies, hasEntry(equalTo("_Root_"), contains("A")));
+        assertThat(codeDependencies.get("B"), is(nullValue()));
+        assertThat(codeDependencies.get("E"), is(nullValue()));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void failsToIterateBeyondTheLastDependency() {
+        Iterator<Map.Entry<String, Set<String>>> dependencies =
+                objectUnderTest.getCodeDependencies().entrySet().iterator();
+        dependencies.next();
+        dependencies.next();
+
+        assertThat(dependencies.hasNext(), is(false));
+        dependencies.next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void providesReadOnlyViews() {
+        objectUnderTest.getAnalyzedClasses().add("E");
+    }
+
+}
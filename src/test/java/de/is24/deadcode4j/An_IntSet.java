@@ -0,0 +1,62 @@
+package de.is24.deadcode4j;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public final class An_IntSet {
+
+    private IntSet objectUnderTest;
+
+    @Before
+    public void setUp() {
+        objectUnderTest = new IntSet();
+    }
+
+    @Test
+    public void addsEachValueOnlyOnce() {
+        assertThat(objectUnderTest.add(42), is(true));
+        assertThat(objectUnderTest.add(42), is(false));
+
+        assertThat(objectUnderTest.size(), is(1));
+        assertThat(objectUnderTest.contains(42), is(true));
+        assertThat(objectUnderTest.contains(23), is(false));
+        assertThat(objectUnderTest.contains(-1), is(false));
+    }
+
+    @Test
+    public void iteratesOverAllValues() {
+        Set<Integer> expectedValues = newHashSet();
+        for (int i = 0; i < 1000; i += 3) {
+            objectUnderTest.add(i);
+            expectedValues.add(i);
+        }
+
+        Set<Integer> values = newHashSet();
+        for (IntSet.IntIterator iterator = objectUnderTest.iterator(); iterator.hasNext(); ) {
+            values.add(iterator.next());
+        }
+
+        assertThat(values, is(expectedValues));
+        assertThat(objectUnderTest.size(), is(expectedValues.size()));
+    }
+
+    @Test
+    public void addsAllValuesOfAnotherSet() {
+        objectUnderTest.add(1);
+        IntSet otherSet = new IntSet();
+        otherSet.add(1);
+        otherSet.add(2);
+
+        objectUnderTest.addAll(otherSet);
+
+        assertThat(objectUnderTest.size(), is(2));
+        assertThat(objectUnderTest.contains(2), is(true));
+    }
+
+}
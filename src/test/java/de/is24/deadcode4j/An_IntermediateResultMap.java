@@ -106,4 +106,29 @@ public final class An_IntermediateResultMap {
         assertThat(mergedResult.getResults(), hasEntry(is("foo"), containsInAnyOrder("bar", "foo")));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void doesNotModifyCollectionsOfMergedResults() {
+        IntermediateResultMap<String, HashSet<String>> objectUnderTest =
+                givenIntermediateResultMap("foo", newHashSet("bar"));
+        IntermediateResultMap<String, HashSet<String>> parent = givenIntermediateResultMap("foo", newHashSet("foo"));
+
+        mergeParent(objectUnderTest, parent);
+
+        assertThat(objectUnderTest.getResults(), hasEntry(is("foo"), contains("bar")));
+        assertThat(parent.getResults(), hasEntry(is("foo"), contains("foo")));
+    }
+
+    @Test
+    public void returnsItselfIfMergedResultsAreAlreadyContained() {
+        Map<String, HashSet<String>> results = newHashMap();
+        results.put("foo", newHashSet("bar", "foo"));
+        results.put("bar", newHashSet("bar"));
+        IntermediateResultMap<String, HashSet<String>> objectUnderTest = IntermediateResults.resultMapFor(results);
+
+        IntermediateResultMap<String, HashSet<String>> mergedResult =
+                mergeSibling(objectUnderTest, givenIntermediateResultMap("foo", newHashSet("foo")));
+
+        assertThat(mergedResult, is(sameInstance(objectUnderTest)));
+    }
+
+}
@@ -12,6 +12,8 @@ import static de.is24.deadcode4j.IntermediateResults.resultSetFor;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 public final class An_IntermediateResultSet {
 
@@ -58,6 +60,16 @@ public final class An_IntermediateResultSet {
         assertThat(mergedResult.getResults(), hasItems("foo", "bar"));
     }
 
+    @Test
+    public void returnsItselfIfMergedResultsAreAlreadyContained() {
+        IntermediateResultSet<String> objectUnderTest = resultSetFor(newHashSet("foo", "bar"));
+
+        IntermediateResultSet<String> mergedResult =
+                mergeParent(objectUnderTest, givenIntermediateResultSet("bar"));
+
+        assertThat(mergedResult, is(sameInstance(objectUnderTest)));
+    }
+
     private IntermediateResultSet<String> givenIntermediateResultSet(String element) {
         return resultSetFor(newHashSet(element));
     }
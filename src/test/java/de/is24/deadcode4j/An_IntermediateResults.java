@@ -7,8 +7,11 @@ import org.junit.Test;
 
 import javax.annotation.Nonnull;
 import java.util.Map;
+import java.util.Set;
 
+import static com.google.common.collect.Sets.newHashSet;
 import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -117,6 +120,52 @@ public final class An_IntermediateResults {
         assertThat(intermediateResults, hasEntry(is(key), hasToString("ForB->(ForA)+ForC->(ForA+ForZ)+ForD+ForX->(ForY->(ForZ))")));
     }
 
+    @Test
+    public void recalculatesIntermediateResultsIfResultsOfRequiredModuleAreAdded() {
+        Object key = getClass();
+        AnalysisContext parentContext = AnalysisContextBuilder.givenAnalysisContext(givenModule("A"));
+        parentContext.getCache().put(key, new AnIntermediateResult("ForA"));
+        Module module = givenModule("C", givenModule("B", parentContext.getModule()));
+
+        Map<Object, IntermediateResult> intermediateResults = objectUnderTest.calculateIntermediateResultsFor(module);
+        assertThat(intermediateResults.size(), is(0));
+
+        objectUnderTest.add(parentContext);
+        intermediateResults = objectUnderTest.calculateIntermediateResultsFor(module);
+
+        assertThat(intermediateResults, hasEntry(is(key), hasToString("ForA")));
+    }
+
+    @Test(timeout = 10000)
+    @SuppressWarnings("unchecked")
+    public void calculatesIntermediateResultsOfDeepDiamondReactorEfficiently() {
+        Object key = getClass();
+        int depth = 64; // calculating each path separately would take 2^64 steps
+        Module top = givenModuleWithResult("top", key);
+        Set<String> expectedResults = newHashSet("top");
+        for (int level = 0; level < depth; level++) {
+            Module left = givenModuleWithResult("left" + level, key, top);
+            Module right = givenModuleWithResult("right" + level, key, top);
+            top = givenModuleWithResult("bottom" + level, key, left, right);
+            expectedResults.addAll(asList("left" + level, "right" + level, "bottom" + level));
+        }
+
+        Map<Object, IntermediateResult> intermediateResults = objectUnderTest.calculateIntermediateResultsFor(
+                givenModule("E", top));
+
+        IntermediateResults.IntermediateResultSet<String> resultSet =
+                (IntermediateResults.IntermediateResultSet<String>) intermediateResults.get(key);
+        assertThat(resultSet.getResults(), is(expectedResults));
+    }
+
+    private Module givenModuleWithResult(String moduleId, Object key, Module... requiredModules) {
+        AnalysisContext analysisContext = AnalysisContextBuilder.givenAnalysisContext(
+                givenModule(moduleId, requiredModules));
+        analysisContext.getCache().put(key, IntermediateResults.resultSetFor(newHashSet(moduleId)));
+        objectUnderTest.add(analysisContext);
+        return analysisContext.getModule();
+    }
+
     private static class AnIntermediateResult implements IntermediateResult {
         private final String string;
 
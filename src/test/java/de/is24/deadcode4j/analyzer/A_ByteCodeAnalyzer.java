@@ -5,6 +5,8 @@ import javassist.CtClass;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Collections;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
@@ -36,4 +38,27 @@ public final class A_ByteCodeAnalyzer extends AnAnalyzer<ByteCodeAnalyzer> {
         assertThat("Should analyze no class", analysisContext.getAnalyzedCode().getAnalyzedClasses(), hasSize(0));
         assertThatNoDependenciesAreReported();
     }
+
+    @Test
+    public void analyzesOnlyClassesReferringToRequiredConstants() {
+        objectUnderTest = new ByteCodeAnalyzer() {
+            @Override
+            protected Collection<String> getRequiredConstantPrefixes() {
+                return Collections.singleton("Lde/is24/deadcode4j/junit/Annot");
+            }
+
+            @Override
+            protected void analyzeClass(@Nonnull AnalysisContext analysisContext, @Nonnull CtClass clazz) {
+                analysisContext.addAnalyzedClass(clazz.getName());
+                analysisContext.addDependencies("_analyzed_", clazz.getName());
+            }
+        };
+
+        analyzeFile("AnnotatedClass.class");
+        analyzeFile("SingleClass.class");
+
+        assertThatClassesAreReported("AnnotatedClass", "SingleClass");
+        assertThatDependenciesAreReported("AnnotatedClass");
+    }
+
 }
@@ -0,0 +1,101 @@
+package de.is24.deadcode4j.analyzer;
+
+import org.junit.Test;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.IntermediateResults.resultSetFor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public final class A_ConstantHoldersAnalyzer extends AByteCodeAnalyzer<ConstantHoldersAnalyzer> {
+
+    @Override
+    protected ConstantHoldersAnalyzer createAnalyzer() {
+        return new ConstantHoldersAnalyzer();
+    }
+
+    @Test
+    public void providesNoIndexIfNoClassWasAnalyzed() {
+        assertThat(ConstantHolders.of(analysisContext), is(nullValue()));
+    }
+
+    @Test
+    public void indexesClassesDeclaringConstants() {
+        analyzeFile("de/is24/deadcode4j/analyzer/constants/Constants.class");
+        analyzeFile("de/is24/deadcode4j/analyzer/constants/Constants$Inner.class");
+        analyzeFile("de/is24/deadcode4j/analyzer/constants/Constants$More.class");
+
+        ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+        assertThat(constantHolders.contains("Constants"), is(true));
+        assertThat(constantHolders.contains("More"), is(true));
+        assertThat(constantHolders.contains("Inner"), is(false));
+    }
+
+    @Test
+    public void indexesClassesInheritingConstants() {
+        analyzeFile("de/is24/deadcode4j/analyzer/constants/ClassUsingConstantOfSuperclassInMethod.class");
+
+        ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+        assertThat(constantHolders.contains("ClassUsingConstantOfSuperclassInMethod"), is(true));
+    }
+
+    @Test
+    public void indexesEnums() {
+        analyzeFile("de/is24/deadcode4j/analyzer/constants/EnumUsingConstantInField.class");
+
+        assertThat(ConstantHolders.of(analysisContext).contains("EnumUsingConstantInField"), is(true));
+    }
+
+    @Test
+    public void ignoresClassesWithoutConstants() {
+        analyzeFile("A.class");
+
+        ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+        assertThat(constantHolders.contains("A"), is(false));
+        assertThat(constantHolders.areNamedIn("public class B { private A a; }"), is(false));
+    }
+
+    @Test
+    public void storesIndexAsIntermediateResults() {
+        analyzeFile("de/is24/deadcode4j/analyzer/constants/Constants.class");
+
+        assertThatIntermediateResultIsStored();
+    }
+
+    @Test
+    public void considersIntermediateResults() {
+        this.analysisContext = givenAnalysisContext(
+                this.analysisContext.getModule(),
+                this.objectUnderTest.getClass(),
+                resultSetFor(newHashSet("UpstreamConstants")));
+
+        analyzeFile("A.class");
+
+        ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+        assertThat(constantHolders.areNamedIn("return UpstreamConstants.FOO;"), is(true));
+        assertThat(constantHolders.areNamedIn("return \"UpstreamConstant\";"), is(false));
+    }
+
+    @Test
+    public void skipsCommentsAndLiterals() {
+        this.analysisContext = givenAnalysisContext(
+                this.analysisContext.getModule(),
+                this.objectUnderTest.getClass(),
+                resultSetFor(newHashSet("Constants")));
+
+        analyzeFile("A.class");
+
+        ConstantHolders constantHolders = ConstantHolders.of(analysisContext);
+        assertThat(constantHolders.areNamedIn("// uses Constants\nint a = 1;"), is(false));
+        assertThat(constantHolders.areNamedIn("/* uses\n Constants */ int a = 1;"), is(false));
+        assertThat(constantHolders.areNamedIn("String s = \"\\\" Constants\";"), is(false));
+        assertThat(constantHolders.areNamedIn("char c = '\\''; String s = \"Constants\";"), is(false));
+        assertThat(constantHolders.areNamedIn("// comment\nint a = Constants.FOO;"), is(true));
+        assertThat(constantHolders.areNamedIn("/* comment */ int a = Constants.FOO;"), is(true));
+        assertThat(constantHolders.areNamedIn("String s = \"\" + Constants.FOO;"), is(true));
+        assertThat(constantHolders.areNamedIn("// \\u000a int a = 1;"), is(true));
+    }
+
+}
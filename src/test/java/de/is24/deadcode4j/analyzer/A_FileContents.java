@@ -0,0 +1,77 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static org.apache.commons.io.FileUtils.writeByteArrayToFile;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public final class A_FileContents {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+    private AnalysisContext analysisContext;
+
+    @Before
+    public void setUpAnalysisContext() {
+        analysisContext = givenAnalysisContext(givenModule("A"));
+    }
+
+    @Test
+    public void providesTheContentOfAFile() throws IOException {
+        File file = tempFolder.newFile();
+        writeStringToFile(file, "Grüße", "UTF-8");
+
+        assertThat(FileContents.textOf(analysisContext, file, "UTF-8"), is("Grüße"));
+        assertThat(FileContents.textOf(analysisContext, file, "ISO-8859-1"), is("GrÃ¼Ã\u009Fe"));
+        assertThat(toByteArray(FileContents.openStream(analysisContext, file)), is("Grüße".getBytes("UTF-8")));
+    }
+
+    @Test
+    public void readsAFileOnlyOnce() throws IOException {
+        File file = tempFolder.newFile();
+        writeStringToFile(file, "first", "UTF-8");
+        FileContents.contentOf(analysisContext, file);
+
+        writeStringToFile(file, "second", "UTF-8");
+
+        assertThat(FileContents.textOf(analysisContext, file, "UTF-8"), is("first"));
+    }
+
+    @Test
+    public void providesAFreshBufferForEachCall() throws IOException {
+        File file = tempFolder.newFile();
+        writeStringToFile(file, "content", "UTF-8");
+        FileContents.contentOf(analysisContext, file).position(3);
+
+        assertThat(FileContents.contentOf(analysisContext, file).position(), is(0));
+        assertThat(FileContents.contentOf(analysisContext, file).isReadOnly(), is(true));
+    }
+
+    @Test
+    public void mapsLargeFiles() throws IOException {
+        File file = tempFolder.newFile();
+        byte[] content = new byte[(int) FileContents.MAPPING_THRESHOLD + 1];
+        Arrays.fill(content, (byte) 42);
+        writeByteArrayToFile(file, content);
+
+        ByteBuffer buffer = FileContents.contentOf(analysisContext, file);
+
+        assertThat(buffer.isDirect(), is(true));
+        assertThat(toByteArray(FileContents.openStream(analysisContext, file)), is(content));
+    }
+
+}
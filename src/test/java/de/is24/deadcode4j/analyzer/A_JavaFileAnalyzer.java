@@ -2,22 +2,29 @@ package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.AnalysisContext;
 import com.github.javaparser.ast.CompilationUnit;
+import de.is24.javaparser.ImportIndex;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.google.common.collect.Lists.newArrayList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 public final class A_JavaFileAnalyzer extends AnAnalyzer<JavaFileAnalyzer> {
 
     private AtomicBoolean didAnalyzeFile;
+    private List<ImportIndex> importIndices;
 
     @Before
     public void setUp() {
         this.didAnalyzeFile = new AtomicBoolean(false);
+        this.importIndices = newArrayList();
     }
 
     @Override
@@ -26,6 +33,7 @@ public final class A_JavaFileAnalyzer extends AnAnalyzer<JavaFileAnalyzer> {
             @Override
             protected void analyzeCompilationUnit(@Nonnull AnalysisContext analysisContext, @Nonnull CompilationUnit compilationUnit) {
                 didAnalyzeFile.set(true);
+                importIndices.add(getImportIndex(analysisContext, compilationUnit));
             }
         };
     }
@@ -44,4 +52,13 @@ public final class A_JavaFileAnalyzer extends AnAnalyzer<JavaFileAnalyzer> {
         assertThat(didAnalyzeFile.get(), is(false));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void doesNotKeepTheStateOfACompilationUnitAfterAnalyzingIt() {
+        analyzeFile("../../src/test/java/SingleClass.java");
+        analyzeFile("../../src/test/java/SingleClass.java");
+
+        assertThat(importIndices.size(), is(2));
+        assertThat(importIndices.get(1), is(not(sameInstance(importIndices.get(0)))));
+    }
+
+}
@@ -0,0 +1,128 @@
+package de.is24.deadcode4j.analyzer;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.junit.FileLoader;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+
+public final class A_JavaFileDispatcher extends AnAnalyzer<JavaFileDispatcher> {
+
+    @Test
+    public void dispatchesToAllAnalyzers() {
+        objectUnderTest = new JavaFileDispatcher(asList(new ReferenceToConstantsAnalyzer(), new TypeErasureAnalyzer()));
+
+        analyzeFile("../../src/test/java/ClassWithTypeArgument.java");
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/constants/ClassUsingConstantInMethod.java");
+
+        assertThatDependenciesAreReportedFor("ClassWithTypeArgument", "TypeParameterClass");
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.constants.ClassUsingConstantInMethod",
+                "de.is24.deadcode4j.analyzer.constants.Constants");
+    }
+
+    @Test
+    public void skipsFilesNoAnalyzerIsInterestedIn() {
+        objectUnderTest = new JavaFileDispatcher(asList(new ReferenceToConstantsAnalyzer(), new TypeErasureAnalyzer()));
+        indexConstantHolders("A.class");
+
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/constants/ClassUsingConstantInMethod.java");
+
+        assertThatNoDependenciesAreReported();
+    }
+
+    @Test
+    public void analyzesFilesReferringToAnIndexedConstantHolder() {
+        objectUnderTest = new JavaFileDispatcher(asList(new ReferenceToConstantsAnalyzer(), new TypeErasureAnalyzer()));
+        indexConstantHolders("de/is24/deadcode4j/analyzer/constants/Constants.class");
+
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/constants/ClassUsingConstantInMethod.java");
+
+        assertThatDependenciesAreReportedFor("de.is24.deadcode4j.analyzer.constants.ClassUsingConstantInMethod",
+                "de.is24.deadcode4j.analyzer.constants.Constants");
+    }
+
+    @Test
+    public void skipsTheChildrenOfANodeOnlyForTheCallbacksDecliningThem() {
+        objectUnderTest = new JavaFileDispatcher(asList(
+                new TypeRecordingAnalyzer("declining", false), new TypeRecordingAnalyzer("descending", true)));
+
+        analyzeFile("../../src/test/java/ClassWithTypeArgument.java");
+
+        assertThatDependenciesAreReportedFor("declining", "ArrayList");
+        assertThatDependenciesAreReportedFor("descending", "ArrayList", "TypeParameterClass");
+    }
+
+    @Test
+    public void visitsTheDeclaringPartsOnlyForTheCallbacksAskingForThem() {
+        objectUnderTest = new JavaFileDispatcher(asList(
+                new NameRecordingAnalyzer("code", false), new NameRecordingAnalyzer("declarations", true)));
+
+        analyzeFile("../../src/test/java/ClassWithTypeArgument.java");
+
+        assertThatDependenciesAreReportedFor("declarations", "java", "SuppressWarnings");
+        assertThat(analysisContext.getAnalyzedCode().getCodeDependencies(), not(hasKey("code")));
+    }
+
+    private void indexConstantHolders(String fileName) {
+        new ConstantHoldersAnalyzer().doAnalysis(analysisContext, FileLoader.getFile(fileName));
+    }
+
+    private static class TypeRecordingAnalyzer extends JavaNodeAnalyzer {
+        private final String depender;
+        private final boolean descending;
+
+        public TypeRecordingAnalyzer(String depender, boolean descending) {
+            this.depender = depender;
+            this.descending = descending;
+        }
+
+        @Nonnull
+        @Override
+        protected JavaNodeCallbacks createCallbacksFor(@Nonnull final AnalysisContext analysisContext,
+                                                       @Nonnull CompilationUnit compilationUnit) {
+            return new JavaNodeCallbacks() {
+                @Override
+                public boolean visit(@Nonnull ClassOrInterfaceType n, @Nonnull LexicalScope scope) {
+                    analysisContext.addDependencies(depender, n.getName());
+                    return descending;
+                }
+            };
+        }
+    }
+
+    private static class NameRecordingAnalyzer extends JavaNodeAnalyzer {
+        private final String depender;
+        private final boolean visitsDeclarations;
+
+        public NameRecordingAnalyzer(String depender, boolean visitsDeclarations) {
+            this.depender = depender;
+            this.visitsDeclarations = visitsDeclarations;
+        }
+
+        @Nonnull
+        @Override
+        protected JavaNodeCallbacks createCallbacksFor(@Nonnull final AnalysisContext analysisContext,
+                                                       @Nonnull CompilationUnit compilationUnit) {
+            return new JavaNodeCallbacks() {
+                @Override
+                public boolean visitsDeclarations() {
+                    return visitsDeclarations;
+                }
+
+                @Override
+                public void visit(@Nonnull NameExpr n, @Nonnull LexicalScope scope) {
+                    analysisContext.addDependencies(depender, n.getName());
+                }
+            };
+        }
+    }
+
+}
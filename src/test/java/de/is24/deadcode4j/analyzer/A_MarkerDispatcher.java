@@ -0,0 +1,56 @@
+package de.is24.deadcode4j.analyzer;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+
+public final class A_MarkerDispatcher extends AnAnalyzer<MarkerDispatcher> {
+
+    @Test
+    public void reportsTheMarkersOfAllAnalyzers() {
+        objectUnderTest = new MarkerDispatcher(asList(
+                new AnnotationsAnalyzer("annotation", "java.lang.Deprecated") {
+                },
+                new InterfacesAnalyzer("interface", "java.io.Serializable") {
+                },
+                new SuperClassAnalyzer("superclass", "javax.servlet.GenericServlet") {
+                },
+                new InterfacesAnalyzer("unrelatedInterface", "java.lang.Cloneable") {
+                }));
+
+        analyzeFile("DeadServlet.class");
+        analyzeFile("SingleClass.class");
+
+        assertThatClassesAreReported("DeadServlet", "SingleClass");
+        assertThatDependenciesAreReportedFor("annotation", "DeadServlet");
+        assertThatDependenciesAreReportedFor("interface", "DeadServlet");
+        assertThatDependenciesAreReportedFor("superclass", "DeadServlet");
+        assertThatDependenciesAreReported("DeadServlet", "DeadServlet", "DeadServlet");
+    }
+
+    @Test
+    public void reportsAnnotationsInheritedFromSuperclasses() {
+        objectUnderTest = new MarkerDispatcher(asList(
+                new AnnotationsAnalyzer("inherited", "de.is24.deadcode4j.junit.Annotation") {
+                },
+                new SuperClassAnalyzer("superclass", "javax.servlet.GenericServlet") {
+                }));
+
+        analyzeFile("SubClassOfAnnotatedClass.class");
+
+        assertThatDependenciesAreReportedFor("inherited", "SubClassOfAnnotatedClass");
+        assertThatDependenciesAreReported("SubClassOfAnnotatedClass");
+    }
+
+    @Test
+    public void reportsNothingIfNoMarkerIsFoundInTheClassPath() {
+        objectUnderTest = new MarkerDispatcher(asList(new InterfacesAnalyzer("unknown", "de.is24.Unknown") {
+        }));
+
+        analyzeFile("SingleClass.class");
+
+        assertThatClassesAreReported();
+        assertThatNoDependenciesAreReported();
+    }
+
+}
@@ -1,6 +1,7 @@
 package de.is24.deadcode4j.analyzer;
 
 import de.is24.deadcode4j.analyzer.constants.ClassWithInnerClassNamedLikePotentialTarget;
+import de.is24.deadcode4j.junit.FileLoader;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -580,6 +581,38 @@ public final class A_ReferenceToConstantsAnalyzer extends AnAnalyzer<ReferenceTo
                 "de.is24.deadcode4j.analyzer.constants.Superclass");
     }
 
+    @Test
+    public void doesNotResolveReferencesNotNamingAnIndexedConstantHolder() {
+        indexConstantHolders("A.class");
+
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/constants/ClassUsingConstantInField.java");
+    }
+
+    @Test
+    public void resolvesReferencesNamingAnIndexedConstantHolder() {
+        indexConstantHolders("de/is24/deadcode4j/analyzer/constants/Constants.class");
+
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/constants/ClassUsingConstantInField.java");
+        triggerFinishAnalysisEvent();
+
+        assertDependencyToConstantsExists("de.is24.deadcode4j.analyzer.constants.ClassUsingConstantInField");
+    }
+
+    @Test
+    public void resolvesReferencesToConstantsInheritedFromAnIndexedConstantHolder() {
+        indexConstantHolders("de/is24/deadcode4j/analyzer/constants/ReferenceToInheritedConstant.class");
+
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/constants/ReferenceToInheritedConstant.java");
+        triggerFinishAnalysisEvent();
+
+        assertDependencyExists("de.is24.deadcode4j.analyzer.constants.ReferenceToInheritedConstant",
+                "de.is24.deadcode4j.analyzer.constants.Superclass");
+    }
+
+    private void indexConstantHolders(String fileName) {
+        new ConstantHoldersAnalyzer().doAnalysis(analysisContext, FileLoader.getFile(fileName));
+    }
+
     private void triggerFinishAnalysisEvent() {
         objectUnderTest.finishAnalysis(analysisContext);
     }
@@ -62,6 +62,24 @@ public final class A_TypeErasureAnalyzer extends AnAnalyzer<TypeErasureAnalyzer>
                 "de.is24.deadcode4j.junit.SomeInterface$InnerType");
     }
 
+    @Test
+    public void resolvesSameQualifierDependingOnTypeContext() {
+        analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/typeerasure/ClassWithSameQualifierInDifferentTypeContexts.java");
+
+        assertThatDependenciesAreReportedFor(
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts",
+                "java.util.Map$Entry");
+        assertThatDependenciesAreReportedFor(
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts$1",
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts$Nested$Entry");
+        assertThatDependenciesAreReportedFor(
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts$1Local",
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts$Other$Entry");
+        assertThatDependenciesAreReportedFor(
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts$Nested",
+                "de.is24.deadcode4j.analyzer.typeerasure.ClassWithSameQualifierInDifferentTypeContexts$Nested$Entry");
+    }
+
     @Test
     public void recognizesAnonymousClasses() {
         analyzeFile("../../src/test/java/de/is24/deadcode4j/analyzer/typeerasure/ClassWithAnonymousClasses.java");
@@ -0,0 +1,99 @@
+package de.is24.deadcode4j.analyzer;
+
+import de.is24.deadcode4j.AnalysisContext;
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.annotation.Nonnull;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.fail;
+
+public final class A_XmlDispatcher extends AnAnalyzer<XmlDispatcher> {
+
+    private static final String XML_FILE = "de/is24/deadcode4j/analyzer/some.xml";
+
+    @Test
+    public void dispatchesToAllResponsibleAnalyzers() {
+        SimpleXmlAnalyzer elementAnalyzer = new SimpleXmlAnalyzer("element", ".xml", null) {
+        };
+        elementAnalyzer.registerClassElement("elementWithClass");
+        SimpleXmlAnalyzer attributeAnalyzer = new SimpleXmlAnalyzer("attribute", ".xml", "root") {
+        };
+        attributeAnalyzer.registerClassAttribute("element", "attributeWithClass");
+        objectUnderTest = new XmlDispatcher(asList(elementAnalyzer, attributeAnalyzer));
+
+        analyzeFile(XML_FILE);
+
+        assertThatDependenciesAreReportedFor("element", "de.is24.deadcode4j.ClassInElement");
+        assertThatDependenciesAreReportedFor("attribute", "de.is24.deadcode4j.ClassInAttribute");
+    }
+
+    @Test
+    public void doesNotDispatchToAnalyzersExpectingAnotherRootElement() {
+        SimpleXmlAnalyzer elementAnalyzer = new SimpleXmlAnalyzer("element", ".xml", null) {
+        };
+        elementAnalyzer.registerClassElement("elementWithClass");
+        objectUnderTest = new XmlDispatcher(asList(elementAnalyzer, new FailingXmlAnalyzer(".xml", "acme")));
+
+        analyzeFile(XML_FILE);
+
+        assertThatDependenciesAreReported("de.is24.deadcode4j.ClassInElement");
+    }
+
+    @Test
+    public void doesNotDispatchToAnalyzersNotResponsibleForTheFile() {
+        SimpleXmlAnalyzer elementAnalyzer = new SimpleXmlAnalyzer("element", ".xml", null) {
+        };
+        elementAnalyzer.registerClassElement("elementWithClass");
+        objectUnderTest = new XmlDispatcher(asList(elementAnalyzer, new FailingXmlAnalyzer(".foo", null)));
+
+        analyzeFile(XML_FILE);
+
+        assertThatDependenciesAreReported("de.is24.deadcode4j.ClassInElement");
+    }
+
+    @Test
+    public void keepsDispatchingIfOneHandlerStopsParsing() {
+        XmlAnalyzer stoppingAnalyzer = new XmlAnalyzer(".xml") {
+            @Nonnull
+            @Override
+            protected DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext) {
+                return new DefaultHandler() {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes)
+                            throws StopParsing {
+                        throw new StopParsing();
+                    }
+                };
+            }
+        };
+        SimpleXmlAnalyzer elementAnalyzer = new SimpleXmlAnalyzer("element", ".xml", null) {
+        };
+        elementAnalyzer.registerClassElement("anotherElementWithClass");
+        objectUnderTest = new XmlDispatcher(asList(stoppingAnalyzer, elementAnalyzer));
+
+        analyzeFile(XML_FILE);
+
+        assertThatDependenciesAreReported(
+                "de.is24.deadcode4j.FirstClassInAnotherElement",
+                "de.is24.deadcode4j.SecondClassInAnotherElement");
+    }
+
+    private static class FailingXmlAnalyzer extends XmlAnalyzer {
+
+        FailingXmlAnalyzer(String endOfFileName, String rootElement) {
+            super(endOfFileName, rootElement);
+        }
+
+        @Nonnull
+        @Override
+        protected DefaultHandler createHandlerFor(@Nonnull AnalysisContext analysisContext) {
+            fail("Should NOT have dispatched to " + this + "!");
+            return new DefaultHandler();
+        }
+
+    }
+
+}
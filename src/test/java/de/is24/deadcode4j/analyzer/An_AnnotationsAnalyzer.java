@@ -28,6 +28,17 @@ public final class An_AnnotationsAnalyzer extends AByteCodeAnalyzer<AnnotationsA
         assertThatDependenciesAreReported("ClassAnnotatedWithAnnotatedAnnotation");
     }
 
+    @Test
+    public void sharesMetaAnnotationsWithOtherAnalyzers() {
+        analyzeFile("ClassAnnotatedWithAnnotatedAnnotation.class");
+        objectUnderTest = new AnnotationsAnalyzer("anotherJunit", "de.is24.deadcode4j.junit.Annotation") {
+        };
+        analyzeFile("ClassAnnotatedWithAnnotatedAnnotation.class");
+
+        assertThatDependenciesAreReportedFor("junit", "ClassAnnotatedWithAnnotatedAnnotation");
+        assertThatDependenciesAreReportedFor("anotherJunit", "ClassAnnotatedWithAnnotatedAnnotation");
+    }
+
     @Test
     public void reportsSubClassOfClassBeingAnnotatedWithAnnotationMarkedAsInheritedAsBeingUsed() {
         analyzeFile("SubClassOfAnnotatedClass.class");
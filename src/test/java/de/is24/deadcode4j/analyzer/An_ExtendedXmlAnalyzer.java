@@ -229,6 +229,83 @@ public final class An_ExtendedXmlAnalyzer extends AnAnalyzer<ExtendedXmlAnalyzer
         assertThatNoDependenciesAreReported();
     }
 
+    @Test
+    public void reportsTheClassesFoundForOverlappingPaths() {
+        objectUnderTest.anyElementNamed("bean").anyElementNamed("property").registerAttributeAsClass("value");
+        objectUnderTest.anyElementNamed("bean").anyElementNamed("property").anyElementNamed("value").registerTextAsClass();
+        objectUnderTest.anyElementNamed("value").registerTextAsClass();
+
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+
+        assertThatDependenciesAreReported(
+                "de.is24.deadcode4j.PropertyOfInnerBean",
+                "de.is24.deadcode4j.PropertyOfOuterBean",
+                "de.is24.deadcode4j.ValueOfInnerBean",
+                "de.is24.deadcode4j.ValueOfList",
+                "de.is24.deadcode4j.ValueOfOuterBean");
+    }
+
+    @Test
+    public void reportsTheClassFoundForAnElementNestedInAnElementOfTheSameName() {
+        objectUnderTest.anyElementNamed("bean").anyElementNamed("bean").registerAttributeAsClass("class");
+
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+
+        assertThatDependenciesAreReported("de.is24.deadcode4j.InnerBean");
+    }
+
+    @Test
+    public void reportsTheClassesFoundForThePathWithinEachOfTheNestedElements() {
+        objectUnderTest.anyElementNamed("bean").anyElementNamed("property").anyElementNamed("value").registerTextAsClass();
+        objectUnderTest.anyElementNamed("bean").anyElementNamed("bean").anyElementNamed("property").registerAttributeAsClass("value");
+
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+
+        assertThatDependenciesAreReported(
+                "de.is24.deadcode4j.PropertyOfInnerBean",
+                "de.is24.deadcode4j.ValueOfInnerBean",
+                "de.is24.deadcode4j.ValueOfOuterBean");
+    }
+
+    @Test
+    public void reportsTheClassFoundForAPathHavingASpecificAttributeValueForAnIntermediateElement() {
+        objectUnderTest.anyElementNamed("bean").withAttributeValue("scope", "singleton")
+                .anyElementNamed("property").anyElementNamed("value").registerTextAsClass();
+
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+
+        assertThatDependenciesAreReported("de.is24.deadcode4j.ValueOfInnerBean");
+    }
+
+    @Test
+    public void distinguishesPathsDifferingOnlyInTheAttributeRestrictionsOfAnIntermediateElement() {
+        objectUnderTest.anyElementNamed("bean").withAttributeValue("scope", "prototype")
+                .anyElementNamed("property").registerAttributeAsClass("value");
+        objectUnderTest.anyElementNamed("bean").withAttributeValue("scope", "singleton")
+                .anyElementNamed("property").anyElementNamed("value").registerTextAsClass();
+        objectUnderTest.anyElementNamed("bean").withAttributeValue("scope", "request")
+                .anyElementNamed("property").registerAttributeAsClass("name");
+
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+
+        assertThatDependenciesAreReported(
+                "de.is24.deadcode4j.PropertyOfOuterBean",
+                "de.is24.deadcode4j.ValueOfInnerBean");
+    }
+
+    @Test
+    public void considersPathsRegisteredAfterAFileWasAnalyzed() {
+        objectUnderTest.anyElementNamed("list").anyElementNamed("value").registerTextAsClass();
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+        assertThatDependenciesAreReported("de.is24.deadcode4j.ValueOfList");
+
+        objectUnderTest.anyElementNamed("bean").anyElementNamed("bean").registerAttributeAsClass("class");
+        initAnalysisContext();
+        analyzeFile("de/is24/deadcode4j/analyzer/nested.xml");
+
+        assertThatDependenciesAreReported("de.is24.deadcode4j.InnerBean", "de.is24.deadcode4j.ValueOfList");
+    }
+
     @Test
     public void reportsResultOfRegisteredDependeeExtractor() {
         objectUnderTest.anyElementNamed("restrictedElement").withAttributeValue("locked", "false").registerDependeeExtractor(new ExtendedXmlAnalyzer.DependeeExtractor() {
@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
@@ -93,6 +94,17 @@ public class An_XmlAnalyzer extends AnAnalyzer<XmlAnalyzer> {
         }
     }
 
+    @Test
+    public void appendsCharactersWithoutLeadingAndTrailingWhitespace() {
+        StringBuilder buffer = new StringBuilder("foo");
+        char[] chars = "xx \n\tde.is24.Bar \t\r\nxx".toCharArray();
+
+        XmlAnalyzer.appendTrimmed(buffer, chars, 2, chars.length - 4);
+        XmlAnalyzer.appendTrimmed(buffer, chars, 2, 3);
+
+        assertThat(buffer.toString(), is("foode.is24.Bar"));
+    }
+
     @Test(expected = RuntimeException.class)
     public void handlesSaxExceptionInConstructor() throws ParserConfigurationException, SAXException {
         SAXParserFactory saxFactoryMock = mock(SAXParserFactory.class);
@@ -0,0 +1,49 @@
+package de.is24.deadcode4j.analyzer;
+
+import org.junit.Test;
+
+import javax.xml.parsers.SAXParser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class An_XmlParserPool {
+
+    @Test
+    public void providesNamespaceAwareParsers() {
+        XmlParserPool objectUnderTest = new XmlParserPool(1);
+
+        assertThat(objectUnderTest.borrow().isNamespaceAware(), is(true));
+    }
+
+    @Test
+    public void reusesReleasedParser() {
+        XmlParserPool objectUnderTest = new XmlParserPool(1);
+        SAXParser parser = objectUnderTest.borrow();
+        objectUnderTest.release(parser);
+
+        assertThat(objectUnderTest.borrow(), is(sameInstance(parser)));
+    }
+
+    @Test
+    public void providesDistinctParsersToConcurrentBorrowers() {
+        XmlParserPool objectUnderTest = new XmlParserPool(2);
+
+        assertThat(objectUnderTest.borrow(), is(not(sameInstance(objectUnderTest.borrow()))));
+    }
+
+    @Test
+    public void keepsNoMoreThanTheMaximumNumberOfIdleParsers() {
+        XmlParserPool objectUnderTest = new XmlParserPool(2);
+        SAXParser first = objectUnderTest.borrow();
+        SAXParser second = objectUnderTest.borrow();
+        SAXParser third = objectUnderTest.borrow();
+
+        objectUnderTest.release(first);
+        objectUnderTest.release(second);
+        objectUnderTest.release(third);
+
+        assertThat(objectUnderTest.getNumberOfIdleParsers(), is(2));
+    }
+
+}
@@ -0,0 +1,153 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import de.is24.deadcode4j.junit.FileLoader;
+import javassist.ClassPath;
+import javassist.NotFoundException;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_ClassPathIndex {
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+    private ClassPathIndex objectUnderTest;
+
+    @Before
+    public void setUp() {
+        objectUnderTest = new ClassPathIndex();
+    }
+
+    @After
+    public void tearDown() {
+        objectUnderTest.close();
+    }
+
+    @Test
+    public void providesClassesOfDirectory() throws NotFoundException, IOException {
+        ClassPath classPath = objectUnderTest.createClassPathFor(asList(FileLoader.getFile(".")));
+
+        InputStream classFile = classPath.openClassfile("ClassWithInnerClass$InnerClass");
+        assertThat(classFile, is(notNullValue()));
+        classFile.close();
+        assertThat(classPath.find("ClassWithInnerClass$InnerClass").getProtocol(), is("file"));
+    }
+
+    @Test
+    public void providesClassesOfJar() throws NotFoundException, IOException {
+        File jar = givenJarContaining("a/B.class", "jar");
+        ClassPath classPath = objectUnderTest.createClassPathFor(asList(jar));
+
+        assertThat(readClassFile(classPath, "a.B"), is("jar"));
+        assertThat(classPath.find("a.B").toString(), allOf(startsWith("jar:file:"), endsWith(".jar!/a/B.class")));
+    }
+
+    @Test
+    public void providesNothingForUnknownClass() throws NotFoundException {
+        File jar = givenJarContaining("a/B.class", "jar");
+        ClassPath classPath = objectUnderTest.createClassPathFor(asList(jar, new File("does/not/exist")));
+
+        assertThat(classPath.openClassfile("a.C"), is(nullValue()));
+        assertThat(classPath.find("a.C"), is(nullValue()));
+    }
+
+    @Test
+    public void providesClassOfFirstClassPathEntryOfEachView() throws NotFoundException, IOException {
+        File firstDirectory = givenDirectoryContaining("a/B.class", "first");
+        File secondDirectory = givenDirectoryContaining("a/B.class", "second");
+        File jar = givenJarContaining("a/B.class", "jar");
+
+        ClassPath firstView = objectUnderTest.createClassPathFor(asList(firstDirectory, secondDirectory, jar));
+        ClassPath secondView = objectUnderTest.createClassPathFor(asList(secondDirectory, firstDirectory));
+        ClassPath thirdView = objectUnderTest.createClassPathFor(asList(jar, firstDirectory));
+
+        assertThat(readClassFile(firstView, "a.B"), is("first"));
+        assertThat(readClassFile(secondView, "a.B"), is("second"));
+        assertThat(readClassFile(thirdView, "a.B"), is("jar"));
+    }
+
+    @Test
+    public void providesOnlyClassesOfItsClassPathEntries() throws NotFoundException {
+        File firstDirectory = givenDirectoryContaining("a/B.class", "first");
+        File secondDirectory = givenDirectoryContaining("a/C.class", "second");
+
+        objectUnderTest.createClassPathFor(asList(firstDirectory, secondDirectory));
+        ClassPath classPath = objectUnderTest.createClassPathFor(asList(firstDirectory));
+
+        assertThat(classPath.openClassfile("a.C"), is(nullValue()));
+    }
+
+    @Test
+    public void skipsClassPathEntriesThatAreNoArchives() throws NotFoundException, IOException {
+        File pom = tempFolder.newFile("dependency.pom");
+        FileUtils.write(pom, "<project/>", "UTF-8");
+        File corruptJar = tempFolder.newFile("corrupt.jar");
+        FileUtils.write(corruptJar, "no zip", "UTF-8");
+        File jar = givenJarContaining("a/B.class", "jar");
+
+        ClassPath classPath = objectUnderTest.createClassPathFor(asList(pom, corruptJar, jar));
+
+        assertThat(readClassFile(classPath, "a.B"), is("jar"));
+        assertThat(classPath.openClassfile("a.C"), is(nullValue()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void cannotBeUsedAfterBeingClosed() {
+        objectUnderTest.close();
+
+        objectUnderTest.createClassPathFor(asList(FileLoader.getFile(".")));
+    }
+
+    private File givenDirectoryContaining(String path, String content) {
+        try {
+            File directory = tempFolder.newFolder();
+            FileUtils.write(new File(directory, path), content, "UTF-8");
+            return directory;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to set up directory!", e);
+        }
+    }
+
+    private File givenJarContaining(String path, String content) {
+        try {
+            File jar = tempFolder.newFile("classes.jar");
+            ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(jar));
+            try {
+                zipOutputStream.putNextEntry(new ZipEntry(path));
+                zipOutputStream.write(content.getBytes("UTF-8"));
+                zipOutputStream.closeEntry();
+            } finally {
+                zipOutputStream.close();
+            }
+            return jar;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to set up jar!", e);
+        }
+    }
+
+    private String readClassFile(ClassPath classPath, String className) throws NotFoundException, IOException {
+        InputStream classFile = classPath.openClassfile(className);
+        assertThat(classFile, is(notNullValue()));
+        try {
+            return IOUtils.toString(classFile, "UTF-8");
+        } finally {
+            classFile.close();
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package de.is24.deadcode4j.analyzer.javassist;
+
+import de.is24.deadcode4j.AnalysisContext;
+import de.is24.deadcode4j.junit.FileLoader;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static de.is24.deadcode4j.AnalysisContextBuilder.givenAnalysisContext;
+import static de.is24.deadcode4j.ModuleBuilder.givenModule;
+import static de.is24.deadcode4j.analyzer.javassist.ClassPoolAccessor.classPoolAccessorFor;
+import static de.is24.deadcode4j.analyzer.javassist.TypeHierarchy.typeHierarchyFor;
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class A_TypeHierarchy {
+
+    private AnalysisContext analysisContext;
+    private TypeHierarchy objectUnderTest;
+
+    @Before
+    public void setUp() {
+        analysisContext = givenAnalysisContext(givenModule("A", FileLoader.getFile(".")));
+        objectUnderTest = typeHierarchyFor(analysisContext);
+    }
+
+    @Test
+    public void isSharedWithinAnAnalysisContext() {
+        assertThat(typeHierarchyFor(analysisContext), is(sameInstance(objectUnderTest)));
+    }
+
+    @Test
+    public void retrievesAllImplementedInterfaces() {
+        CtClass clazz = getCtClass("SubClassOfClassImplementingExternalizable");
+
+        assertThat(objectUnderTest.getAllImplementedInterfaces(clazz),
+                containsInAnyOrder("java.io.Externalizable", "java.io.Serializable"));
+        assertThat(objectUnderTest.implementsInterface(clazz, "java.io.Serializable"), is(true));
+        assertThat(objectUnderTest.implementsInterface(clazz, "java.lang.Cloneable"), is(false));
+        assertThat(objectUnderTest.implementsAnyOf(clazz, asList("java.lang.Cloneable", "java.io.Externalizable")),
+                is(true));
+    }
+
+    @Test
+    public void retrievesAllSuperclasses() {
+        CtClass clazz = getCtClass("SubClassOfClassImplementingExternalizable");
+
+        assertThat(objectUnderTest.getSuperclassesOf(clazz),
+                contains("ClassImplementingExternalizable", "java.lang.Object"));
+        assertThat(objectUnderTest.extendsAnyOf(clazz, asList("A", "ClassImplementingExternalizable")), is(true));
+        assertThat(objectUnderTest.extendsAnyOf(clazz, asList("A", "SubClassOfClassImplementingExternalizable")),
+                is(false));
+    }
+
+    @Test
+    public void returnsTheSameResultsForAlreadyIndexedClasses() {
+        CtClass clazz = getCtClass("SubClassOfClassImplementingExternalizable");
+        objectUnderTest.getAllImplementedInterfaces(getCtClass("ClassImplementingExternalizable"));
+
+        assertThat(objectUnderTest.getAllImplementedInterfaces(clazz),
+                containsInAnyOrder("java.io.Externalizable", "java.io.Serializable"));
+        assertThat(objectUnderTest.getAllImplementedInterfaces(clazz),
+                containsInAnyOrder("java.io.Externalizable", "java.io.Serializable"));
+    }
+
+    @Test
+    public void handlesClassLoadingIssuesSilently() throws NotFoundException {
+        ClassPool classPoolWithoutSpringData = new ClassPool(false);
+        classPoolWithoutSpringData.appendClassPath(FileLoader.getFile(".").getAbsolutePath());
+        CtClass clazz = classPoolWithoutSpringData.get("de.is24.deadcode4j.analyzer.customrepositories.FooRepository");
+
+        assertThat(objectUnderTest.getAllImplementedInterfaces(clazz),
+                containsInAnyOrder("de.is24.deadcode4j.analyzer.customrepositories.FooRepositoryCustom"));
+    }
+
+    private CtClass getCtClass(String className) {
+        return classPoolAccessorFor(analysisContext).getClassPool().getOrNull(className);
+    }
+
+}
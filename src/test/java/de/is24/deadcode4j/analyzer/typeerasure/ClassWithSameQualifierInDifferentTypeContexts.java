@@ -0,0 +1,31 @@
+package de.is24.deadcode4j.analyzer.typeerasure;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+@SuppressWarnings("UnusedDeclaration")
+public class ClassWithSameQualifierInDifferentTypeContexts {
+    private List<Entry> importedEntries;
+    private Nested anonymous = new Nested() {
+        private List<Entry> inheritedEntries;
+    };
+
+    public void method() {
+        class Local extends Other {
+            private List<Entry> localEntries;
+        }
+    }
+
+    public static class Nested {
+        private List<Entry> nestedEntries;
+
+        public static class Entry {
+        }
+    }
+
+    public static class Other {
+        public static class Entry {
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package de.is24.guava;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.cache.LoadingCache;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -70,6 +71,26 @@ public final class A_SequentialLoadingCacheTest {
         assertThat(result.get(), is(2));
     }
 
+    @Test
+    public void cachesOneValuePerThread() throws InterruptedException {
+        final LoadingCache<Object, Optional<Integer>> threadConfinedCache =
+                SequentialLoadingCache.createThreadConfinedSingleValueCache(sequenceFunction);
+        threadConfinedCache.getUnchecked("foo");
+
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                threadConfinedCache.getUnchecked("bar");
+            }
+        };
+        thread.start();
+        thread.join();
+        Optional<Integer> result = threadConfinedCache.getUnchecked("foo");
+
+        assertThat(result.isPresent(), is(true));
+        assertThat(result.get(), is(0));
+    }
+
     private static class SequenceFunction implements Function<Object, Optional<Integer>> {
         public int sequence = 0;
         @Nullable
@@ -0,0 +1,69 @@
+package de.is24.javaparser;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class An_ImportIndex {
+
+    private static CompilationUnit parse(String code) throws ParseException {
+        return JavaParser.parse(new StringReader(code), false);
+    }
+
+    private static String namesOf(List<ImportDeclaration> imports) {
+        StringBuilder buffy = new StringBuilder();
+        for (ImportDeclaration importDeclaration : imports) {
+            buffy.append(importDeclaration.getName()).append(importDeclaration.isAsterisk() ? ".*" : "").append(';');
+        }
+        return buffy.toString();
+    }
+
+    @Test
+    public void indexesSingleImportsByTheirLastQualifier() throws ParseException {
+        ImportIndex objectUnderTest = new ImportIndex(parse("import java.util.List;\n" +
+                "import static java.util.Collections.emptyList;\n" +
+                "import java.awt.List;\n" +
+                "class Foo {}"));
+
+        assertThat(namesOf(objectUnderTest.getSingleImportsOf("List")), is("java.util.List;java.awt.List;"));
+        assertThat(namesOf(objectUnderTest.getSingleImportsOf("emptyList")), is("java.util.Collections.emptyList;"));
+        assertThat(objectUnderTest.getSingleImportsOf("Map"), is(empty()));
+    }
+
+    @Test
+    public void listsAsteriskImportsSeparately() throws ParseException {
+        ImportIndex objectUnderTest = new ImportIndex(parse("import java.util.*;\n" +
+                "import java.util.Map;\n" +
+                "import static java.util.Collections.*;\n" +
+                "class Foo {}"));
+
+        assertThat(namesOf(objectUnderTest.getAsteriskImports()), is("java.util.*;java.util.Collections.*;"));
+        assertThat(objectUnderTest.getSingleImportsOf("util"), is(empty()));
+    }
+
+    @Test
+    public void handlesCompilationUnitWithoutImports() throws ParseException {
+        ImportIndex objectUnderTest = new ImportIndex(parse("class Foo {}"));
+
+        assertThat(objectUnderTest.getAsteriskImports(), is(empty()));
+        assertThat(objectUnderTest.getSingleImportsOf("Foo"), is(empty()));
+    }
+
+    @Test
+    public void recognizesItsCompilationUnit() throws ParseException {
+        CompilationUnit compilationUnit = parse("class Foo {}");
+        ImportIndex objectUnderTest = new ImportIndex(compilationUnit);
+
+        assertThat(objectUnderTest.isIndexOf(compilationUnit), is(true));
+        assertThat(objectUnderTest.isIndexOf(parse("class Foo {}")), is(false));
+    }
+
+}
@@ -0,0 +1,71 @@
+package de.is24.javassist;
+
+import de.is24.deadcode4j.junit.FileLoader;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public final class An_EvictingClassPool {
+
+    private EvictingClassPool objectUnderTest;
+
+    @Before
+    public void setUp() throws NotFoundException {
+        objectUnderTest = new EvictingClassPool(false, 2);
+        objectUnderTest.appendClassPath(FileLoader.getFile(".").getAbsolutePath());
+    }
+
+    @Test
+    public void countsHitsAndMisses() {
+        CtClass clazz = objectUnderTest.getOrNull("SingleClass");
+        CtClass cachedClazz = objectUnderTest.getOrNull("SingleClass");
+        objectUnderTest.getOrNull("DoesNotExist");
+
+        assertThat(cachedClazz, is(sameInstance(clazz)));
+        assertThat(objectUnderTest.getHitCount(), is(1L));
+        assertThat(objectUnderTest.getMissCount(), is(2L));
+        assertThat(objectUnderTest.getEvictionCount(), is(0L));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedClass() {
+        CtClass singleClass = objectUnderTest.getOrNull("SingleClass");
+        CtClass classWithInnerClass = objectUnderTest.getOrNull("ClassWithInnerClass");
+        objectUnderTest.getOrNull("SingleClass");
+
+        objectUnderTest.getOrNull("ClassWithInnerClass$InnerClass");
+
+        assertThat(objectUnderTest.getEvictionCount(), is(1L));
+        assertThat(objectUnderTest.getOrNull("SingleClass"), is(sameInstance(singleClass)));
+        CtClass reloadedClass = objectUnderTest.getOrNull("ClassWithInnerClass");
+        assertThat(reloadedClass, is(notNullValue()));
+        assertThat(reloadedClass, is(not(sameInstance(classWithInnerClass))));
+    }
+
+    @Test
+    public void evictsClassesCreatedFromStreams() throws NotFoundException, IOException, CannotCompileException {
+        ClassPool sourcePool = new ClassPool(false);
+        sourcePool.appendClassPath(FileLoader.getFile(".").getAbsolutePath());
+
+        for (String className : new String[]{"SingleClass", "ClassWithInnerClass", "ClassWithInnerClass$InnerClass"}) {
+            objectUnderTest.makeClass(new ByteArrayInputStream(sourcePool.get(className).toBytecode()));
+        }
+
+        assertThat(objectUnderTest.getEvictionCount(), is(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void requiresPositiveMaximumSize() {
+        new EvictingClassPool(false, 0);
+    }
+
+}